@@ -1,3 +1,5 @@
+import java.util.Properties
+
 plugins {
     java
     id("org.springframework.boot") version "3.4.4"
@@ -21,6 +23,15 @@ repositories {
 
 extra["springCloudVersion"] = "2024.0.1"
 
+// JMH-бенчмарки горячих путей запроса: ./gradlew jmh (запуск) и jmhCheck (бюджет аллокаций)
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencyManagement {
     imports {
         mavenBom("org.springframework.cloud:spring-cloud-dependencies:${property("springCloudVersion")}")
@@ -42,6 +53,8 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-jdbc")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.springframework.boot:spring-boot-starter-data-redis")
+    implementation("org.apache.commons:commons-pool2")
 
     // Feign (REST Clients)
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign")
@@ -72,12 +85,124 @@ dependencies {
 
     //Actuator
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
+    // Caffeine
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.zonky.test:embedded-postgres:2.2.2")
+    testImplementation("org.hdrhistogram:HdrHistogram:2.2.2")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // JMH
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhImplementation"("org.springframework:spring-test")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Unit tests only; DB-backed tests and benchmarks run via their own tasks
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("postgres", "benchmark", "loadtest")
+    }
+}
+
+val integrationTest by tasks.registering(Test::class) {
+    description = "Runs tests tagged 'postgres' against an embedded PostgreSQL."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("postgres")
+        excludeTags("benchmark", "loadtest")
+    }
+}
+
+val benchmarkTest by tasks.registering(Test::class) {
+    description = "Runs throughput benchmarks tagged 'benchmark' against an embedded PostgreSQL."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+// ./gradlew loadTest -Ploadtest.rps=300 -Ploadtest.duration=PT60S -Ploadtest.mix=presets:40,create:25,list:25,update:10
+val loadTest by tasks.registering(Test::class) {
+    description = "Drives an open-model HTTP load against the app on an embedded PostgreSQL and writes HDR latency reports."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("loadtest")
+    }
+    val reportDir = layout.buildDirectory.dir("reports/loadtest")
+    outputs.dir(reportDir)
+    outputs.upToDateWhen { false }
+    systemProperty("loadtest.reportDir", reportDir.get().asFile.absolutePath)
+    providers.gradlePropertiesPrefixedBy("loadtest.").get().forEach { (key, value) -> systemProperty(key, value) }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+val jmhResults = layout.buildDirectory.file("reports/jmh/results.json")
+
+val jmhRun by tasks.registering(JavaExec::class) {
+    description = "Runs JMH benchmarks with the GC profiler. Filter with -Pjmh.includes=<regex>."
+    group = "benchmark"
+    classpath = jmh.runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    outputs.file(jmhResults)
+    outputs.upToDateWhen { false }
+    doFirst { jmhResults.get().asFile.parentFile.mkdirs() }
+    args(
+        (findProperty("jmh.includes") as String?) ?: ".*Benchmark.*",
+        "-prof", "gc",
+        "-rf", "json",
+        "-rff", jmhResults.get().asFile.absolutePath
+    )
+}
+
+tasks.register("jmh") {
+    description = "Alias for jmhRun."
+    group = "benchmark"
+    dependsOn(jmhRun)
+}
+
+// Падает, если gc.alloc.rate.norm какого-либо бенчмарка превысил бюджет из src/jmh/resources/alloc-budget.properties
+tasks.register("jmhCheck") {
+    description = "Runs JMH and fails when a benchmark allocates more bytes/op than its budget."
+    group = "verification"
+    dependsOn(jmhRun)
+    val budgetFile = file("src/jmh/resources/alloc-budget.properties")
+    inputs.file(budgetFile)
+    doLast {
+        val budgets = Properties().apply { budgetFile.inputStream().use { load(it) } }
+        @Suppress("UNCHECKED_CAST")
+        val results = groovy.json.JsonSlurper().parse(jmhResults.get().asFile) as List<Map<String, Any?>>
+        val failures = mutableListOf<String>()
+        for (result in results) {
+            val name = result["benchmark"] as String
+            val budget = budgets.getProperty(name)?.toDouble() ?: continue
+            val secondary = (result["secondaryMetrics"] as Map<*, *>)["gc.alloc.rate.norm"] as Map<*, *>? ?: continue
+            val allocated = (secondary["score"] as Number).toDouble()
+            val line = "%s: %.1f B/op (budget %.1f)".format(name, allocated, budget)
+            logger.lifecycle(line)
+            if (allocated > budget) failures += line
+        }
+        if (failures.isNotEmpty()) {
+            throw GradleException("Allocation budget exceeded:\n" + failures.joinToString("\n"))
+        }
+    }
+}
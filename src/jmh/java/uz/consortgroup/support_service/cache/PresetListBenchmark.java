@@ -0,0 +1,78 @@
+package uz.consortgroup.support_service.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uz.consortgroup.core.api.v1.dto.support.response.IssuePresetResponse;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// GET /presets: готовый список из PresetSnapshot против сборки IssuePresetResponse из сущностей на каждый запрос
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresetListBenchmark {
+
+    private List<SupportIssuePreset> entities;
+    private List<SupportIssuePreset> mentorActive;
+    private PresetSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>();
+        for (UserRole role : UserRole.values()) {
+            for (int i = 0; i < 12; i++) {
+                entities.add(SupportIssuePreset.builder()
+                        .id(UUID.randomUUID()).role(role).text(role + " preset " + i).sortOrder(i).active(i % 4 != 3).build());
+            }
+        }
+        mentorActive = entities.stream().filter(p -> p.getRole() == UserRole.MENTOR && p.isActive()).toList();
+        snapshot = new PresetSnapshot(repository(entities), new NoOpSharedPresetCache());
+        snapshot.refresh();
+    }
+
+    @Benchmark
+    public List<IssuePresetResponse> snapshotLookup() {
+        return snapshot.activeFor(UserRole.MENTOR);
+    }
+
+    @Benchmark
+    public List<IssuePresetResponse> buildFromEntities() {
+        return mentorActive.stream().map(p -> new IssuePresetResponse(p.getId(), p.getText())).toList();
+    }
+
+    @Benchmark
+    public PresetSnapshot rebuildSnapshot() {
+        snapshot.refresh();
+        return snapshot;
+    }
+
+    private static SupportIssuePresetRepository repository(List<SupportIssuePreset> presets) {
+        return (SupportIssuePresetRepository) Proxy.newProxyInstance(
+                SupportIssuePresetRepository.class.getClassLoader(),
+                new Class<?>[]{SupportIssuePresetRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAllByOrderByRoleAscSortOrderAsc")) {
+                        return presets;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
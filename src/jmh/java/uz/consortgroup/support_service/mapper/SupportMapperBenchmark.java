@@ -0,0 +1,82 @@
+package uz.consortgroup.support_service.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.support.response.SupportTicketResponse;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.entity.SupportTicket;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SupportMapperBenchmark {
+
+    private final SupportMapper mapper = new SupportMapperImpl();
+
+    private SupportTicket presetTicket;
+    private SupportTicket customTicket;
+    private List<SupportTicket> page;
+
+    @Setup
+    public void setUp() {
+        SupportIssuePreset preset = SupportIssuePreset.builder()
+                .id(UUID.randomUUID()).role(UserRole.MENTOR).text("Не сохраняется курс").sortOrder(1).active(true).build();
+        presetTicket = ticket(SupportIssueType.PRESET, preset, null);
+        customTicket = ticket(SupportIssueType.CUSTOM, null, "Не работает загрузка файлов");
+        page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            page.add(i % 2 == 0 ? presetTicket : customTicket);
+        }
+    }
+
+    @Benchmark
+    public SupportTicketResponse toDtoPreset() {
+        return mapper.toDto(presetTicket);
+    }
+
+    @Benchmark
+    public SupportTicketResponse toDtoCustom() {
+        return mapper.toDto(customTicket);
+    }
+
+    // Страница админского списка по умолчанию (size=20)
+    @Benchmark
+    public List<SupportTicketResponse> toDtoPage() {
+        return page.stream().map(mapper::toDto).toList();
+    }
+
+    private static SupportTicket ticket(SupportIssueType type, SupportIssuePreset preset, String comment) {
+        Instant now = Instant.now();
+        return SupportTicket.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .role(UserRole.MENTOR)
+                .issueType(type)
+                .selectedIssue(preset)
+                .comment(comment)
+                .status(SupportTicketStatus.NEW)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
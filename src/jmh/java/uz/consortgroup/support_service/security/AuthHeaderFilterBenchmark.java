@@ -0,0 +1,93 @@
+package uz.consortgroup.support_service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uz.consortgroup.support_service.config.IdentityCacheProperties;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Аллокации MockHttpServletRequest.getHeader входят в результат как постоянная база
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthHeaderFilterBenchmark {
+
+    private static final String MANY_ROLES = "student, mentor;HR ADMIN,UNKNOWN";
+
+    private final AuthHeaderFilter filter = new AuthHeaderFilter(new IdentityCache(new IdentityCacheProperties(), new SimpleMeterRegistry()));
+    private final AuthHeaderFilter uncachedFilter = new AuthHeaderFilter(new IdentityCache(disabledCache(), new SimpleMeterRegistry()));
+    private final FilterChain chain = (req, res) -> { };
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private MockHttpServletRequest singleRole;
+    private MockHttpServletRequest manyRoles;
+    private MockHttpServletRequest anonymous;
+
+    @Setup
+    public void setUp() {
+        singleRole = request("MENTOR");
+        manyRoles = request(MANY_ROLES);
+        anonymous = new MockHttpServletRequest("GET", "/api/v1/support/presets");
+    }
+
+    @Benchmark
+    public Object singleRole() throws Exception {
+        filter.doFilterInternal(singleRole, response, chain);
+        return singleRole.getAttribute(AuthHeaderFilter.ATTR_USER_ROLES);
+    }
+
+    @Benchmark
+    public Object manyRoles() throws Exception {
+        filter.doFilterInternal(manyRoles, response, chain);
+        return manyRoles.getAttribute(AuthHeaderFilter.ATTR_USER_ROLES);
+    }
+
+    // Повторный вызов тех же заголовков без IdentityCache: UUID и роли разбираются каждый раз
+    @Benchmark
+    public Object singleRoleUncached() throws Exception {
+        uncachedFilter.doFilterInternal(singleRole, response, chain);
+        return singleRole.getAttribute(AuthHeaderFilter.ATTR_USER_ROLES);
+    }
+
+    // Только разбор заголовка, без накладных расходов MockHttpServletRequest
+    @Benchmark
+    public RoleSet parseManyRoles() {
+        return RoleSet.parse(MANY_ROLES);
+    }
+
+    @Benchmark
+    public Object anonymous() throws Exception {
+        filter.doFilterInternal(anonymous, response, chain);
+        return anonymous.getAttribute(AuthHeaderFilter.ATTR_USER_ID);
+    }
+
+    private static IdentityCacheProperties disabledCache() {
+        IdentityCacheProperties properties = new IdentityCacheProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String roles) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/support/tickets");
+        request.addHeader(AuthHeaders.AUTH_VALIDATED, "true");
+        request.addHeader(AuthHeaders.USER_ID, UUID.randomUUID().toString());
+        request.addHeader(AuthHeaders.ROLES, roles);
+        return request;
+    }
+}
@@ -0,0 +1,49 @@
+package uz.consortgroup.support_service.validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SupportTicketValidatorBenchmark {
+
+    // normalize* не обращаются к SupportIssuePresetService
+    private final SupportTicketValidator validator = new SupportTicketValidator(null);
+
+    private final String trimmed = "Не получается загрузить видео в урок, выдаёт ошибку 413";
+    private final String padded = "   " + trimmed + "   \n";
+    private final String blank = "    ";
+
+    @Benchmark
+    public String commentAlreadyTrimmed() {
+        return validator.normalizeCommentOrThrow(trimmed);
+    }
+
+    @Benchmark
+    public String commentPadded() {
+        return validator.normalizeCommentOrThrow(padded);
+    }
+
+    @Benchmark
+    public String optionalCommentBlank() {
+        return validator.normalizeOptionalComment(blank);
+    }
+
+    @Benchmark
+    public String optionalCommentPadded() {
+        return validator.normalizeOptionalComment(padded);
+    }
+}
@@ -0,0 +1,14 @@
+package uz.consortgroup.support_service.cache;
+
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+
+import java.util.UUID;
+
+public record CachedPreset(UUID id, UserRole role, String text, int sortOrder, boolean active) {
+
+    public static CachedPreset from(SupportIssuePreset preset) {
+        return new CachedPreset(preset.getId(), preset.getRole(), preset.getText(),
+                preset.getSortOrder() == null ? 0 : preset.getSortOrder(), preset.isActive());
+    }
+}
@@ -0,0 +1,30 @@
+package uz.consortgroup.support_service.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "support.presets.cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class NoOpSharedPresetCache implements SharedPresetCache {
+
+    @Override
+    public Optional<List<CachedPreset>> getAll() {
+        return Optional.empty();
+    }
+
+    @Override
+    public void putAll(List<CachedPreset> presets) {
+    }
+
+    @Override
+    public void evict(UUID presetId) {
+    }
+
+    @Override
+    public void publishInvalidation(UUID presetId) {
+    }
+}
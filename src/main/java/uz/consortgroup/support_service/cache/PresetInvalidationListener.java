@@ -0,0 +1,30 @@
+package uz.consortgroup.support_service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "support.presets.cache.redis.enabled", havingValue = "true")
+public class PresetInvalidationListener implements MessageListener {
+
+    private final PresetSnapshot presetSnapshot;
+    private final RedisSharedPresetCache redisCache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (payload.startsWith(redisCache.nodeId() + "|")) {
+            return;
+        }
+        log.info("Preset invalidation received: payload={}", payload);
+        presetSnapshot.invalidate();
+    }
+}
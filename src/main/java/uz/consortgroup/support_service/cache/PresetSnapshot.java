@@ -0,0 +1,111 @@
+package uz.consortgroup.support_service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import uz.consortgroup.core.api.v1.dto.support.response.IssuePresetResponse;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PresetSnapshot {
+
+    private final SupportIssuePresetRepository repository;
+    private final SharedPresetCache sharedCache;
+
+    // Не synchronized: под блокировкой идут запросы в БД и Redis, а монитор пиннит виртуальный поток к носителю
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile State state;
+
+    public List<IssuePresetResponse> activeFor(UserRole role) {
+        return current().activeByRole().getOrDefault(role, List.of());
+    }
+
+    public Optional<CachedPreset> find(UUID presetId) {
+        return Optional.ofNullable(current().byId().get(presetId));
+    }
+
+    public void invalidate() {
+        lock.lock();
+        try {
+            state = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPresetsChanged(PresetsChangedEvent event) {
+        log.debug("Presets changed: presetId={}, rebuilding snapshot", event.presetId());
+        sharedCache.evict(event.presetId());
+        refresh();
+        sharedCache.publishInvalidation(event.presetId());
+    }
+
+    public void refresh() {
+        lock.lock();
+        try {
+            List<CachedPreset> presets = repository.findAllByOrderByRoleAscSortOrderAsc().stream()
+                    .map(CachedPreset::from)
+                    .toList();
+            sharedCache.putAll(presets);
+            publish(presets);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private State current() {
+        State s = state;
+        return s != null ? s : load();
+    }
+
+    private State load() {
+        lock.lock();
+        try {
+            if (state == null) {
+                sharedCache.getAll().ifPresentOrElse(this::publish, this::refresh);
+            }
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publish(List<CachedPreset> presets) {
+        Map<UserRole, List<IssuePresetResponse>> activeByRole = new EnumMap<>(UserRole.class);
+        Map<UUID, CachedPreset> byId = new HashMap<>();
+        for (CachedPreset p : presets) {
+            byId.put(p.id(), p);
+            if (p.active()) {
+                activeByRole.computeIfAbsent(p.role(), r -> new ArrayList<>())
+                        .add(new IssuePresetResponse(p.id(), p.text()));
+            }
+        }
+        activeByRole.replaceAll((role, list) -> List.copyOf(list));
+
+        state = new State(Collections.unmodifiableMap(activeByRole), Map.copyOf(byId));
+        log.info("Preset snapshot rebuilt: presets={}, roles={}", byId.size(), activeByRole.keySet());
+    }
+
+    private record State(Map<UserRole, List<IssuePresetResponse>> activeByRole, Map<UUID, CachedPreset> byId) {
+    }
+}
@@ -0,0 +1,6 @@
+package uz.consortgroup.support_service.cache;
+
+import java.util.UUID;
+
+public record PresetsChangedEvent(UUID presetId) {
+}
@@ -0,0 +1,90 @@
+package uz.consortgroup.support_service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "support.presets.cache.redis.enabled", havingValue = "true")
+public class RedisSharedPresetCache implements SharedPresetCache {
+
+    public static final String CHANNEL = "support:presets:invalidate";
+    static final String ALL_KEY = "support:presets:all";
+
+    private static final TypeReference<List<CachedPreset>> LIST_TYPE = new TypeReference<>() {};
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisSharedPresetCache(StringRedisTemplate redis,
+                                  ObjectMapper objectMapper,
+                                  @Value("${support.presets.cache.redis.ttl:PT1H}") Duration ttl) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public Optional<List<CachedPreset>> getAll() {
+        return read(ALL_KEY, LIST_TYPE);
+    }
+
+    @Override
+    public void putAll(List<CachedPreset> presets) {
+        write(ALL_KEY, presets);
+    }
+
+    @Override
+    public void evict(UUID presetId) {
+        try {
+            redis.delete(ALL_KEY);
+        } catch (DataAccessException e) {
+            log.warn("Redis evict failed: presetId={}, error={}", presetId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void publishInvalidation(UUID presetId) {
+        try {
+            redis.convertAndSend(CHANNEL, nodeId + "|" + presetId);
+        } catch (DataAccessException e) {
+            log.warn("Redis invalidation publish failed: presetId={}, error={}", presetId, e.getMessage());
+        }
+    }
+
+    private <T> Optional<T> read(String key, TypeReference<T> type) {
+        try {
+            String json = redis.opsForValue().get(key);
+            return json == null ? Optional.empty() : Optional.of(objectMapper.readValue(json, type));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Redis read failed: key={}, error={}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void write(String key, Object value) {
+        try {
+            redis.opsForValue().set(key, objectMapper.writeValueAsString(value), ttl);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Redis write failed: key={}, error={}", key, e.getMessage());
+        }
+    }
+}
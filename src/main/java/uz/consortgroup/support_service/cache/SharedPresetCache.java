@@ -0,0 +1,12 @@
+package uz.consortgroup.support_service.cache;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SharedPresetCache {
+    Optional<List<CachedPreset>> getAll();
+    void putAll(List<CachedPreset> presets);
+    void evict(UUID presetId);
+    void publishInvalidation(UUID presetId);
+}
@@ -0,0 +1,114 @@
+package uz.consortgroup.support_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Семафор перед пулом: при виртуальных потоках запросов намного больше, чем соединений,
+// и ждать они должны здесь (дешёвая парковка, без пиннинга), а не висеть connectionTimeout в Hikari
+public class AdmissionLimitedDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutNanos;
+
+    private volatile Counter rejected;
+    private volatile Timer waitTimer;
+
+    public AdmissionLimitedDataSource(DataSource target, DbAdmissionProperties properties) {
+        super(target);
+        this.maxPermits = properties.getPermits();
+        this.permits = new Semaphore(properties.getPermits(), true);
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("support.db.admission.in_use", this, ds -> ds.maxPermits - ds.permits.availablePermits())
+                .description("Connections currently admitted past the limiter")
+                .register(registry);
+        Gauge.builder("support.db.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database admission permit")
+                .register(registry);
+        this.rejected = registry.counter("support.db.admission.rejected");
+        this.waitTimer = registry.timer("support.db.admission.wait");
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database admission permit", e);
+        }
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            Counter counter = rejected;
+            if (counter != null) {
+                counter.increment();
+            }
+            throw new SQLTransientConnectionException("Database admission limit reached");
+        }
+    }
+
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    boolean close = "close".equals(method.getName()) && method.getParameterCount() == 0;
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (close && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
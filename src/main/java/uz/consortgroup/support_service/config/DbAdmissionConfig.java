@@ -0,0 +1,37 @@
+package uz.consortgroup.support_service.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "support.db.admission", name = "enabled", havingValue = "true")
+public class DbAdmissionConfig {
+
+    @Bean
+    static BeanPostProcessor admissionLimitedDataSourcePostProcessor(ObjectProvider<DbAdmissionProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionLimitedDataSource)) {
+                    return new AdmissionLimitedDataSource(dataSource, properties.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder admissionLimitedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof AdmissionLimitedDataSource limited) {
+                limited.bindTo(registry);
+            }
+        };
+    }
+}
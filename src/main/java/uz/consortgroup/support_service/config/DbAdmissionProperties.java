@@ -0,0 +1,17 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.db.admission")
+public class DbAdmissionProperties {
+    private boolean enabled = false;
+    // Держать равным spring.datasource.hikari.maximum-pool-size
+    private int permits = 10;
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,33 @@
+package uz.consortgroup.support_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import uz.consortgroup.support_service.idempotency.IdempotencyStore;
+import uz.consortgroup.support_service.idempotency.LocalIdempotencyStore;
+import uz.consortgroup.support_service.idempotency.RedisIdempotencyStore;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "support.tickets.idempotency.mode", havingValue = "local", matchIfMissing = true)
+    public IdempotencyStore localIdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        return local(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "support.tickets.idempotency.mode", havingValue = "redis")
+    public IdempotencyStore redisIdempotencyStore(StringRedisTemplate redis, ObjectMapper objectMapper,
+                                                  IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        return new RedisIdempotencyStore(redis, objectMapper, properties.getRedisKeyPrefix(), properties.getTtl(),
+                local(properties, meterRegistry));
+    }
+
+    private static LocalIdempotencyStore local(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        return new LocalIdempotencyStore(properties.getMaxEntries(), properties.getTtl(), meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.tickets.idempotency")
+public class IdempotencyProperties {
+
+    public enum Mode { LOCAL, REDIS }
+
+    private boolean enabled = true;
+    private Mode mode = Mode.LOCAL;
+    // Сколько клиент может повторять запрос с тем же ключом и получать исходный ответ
+    private Duration ttl = Duration.ofHours(24);
+    // Redis-режим: сколько держится маркер выполняющегося запроса и сколько дубль ждёт его ответ до 409
+    private Duration inFlightTimeout = Duration.ofSeconds(30);
+    private Duration pollInterval = Duration.ofMillis(100);
+    // Локальный режим: предел записей в памяти (LRU)
+    private int maxEntries = 100_000;
+    private String redisKeyPrefix = "support:idempotency:";
+}
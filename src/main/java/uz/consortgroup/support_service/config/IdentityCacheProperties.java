@@ -0,0 +1,20 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.auth.identity-cache")
+public class IdentityCacheProperties {
+    private boolean enabled = true;
+    // Жёсткий предел по оценке занимаемой памяти (вес записи ~ длина заголовков + накладные расходы)
+    private DataSize maxSize = DataSize.ofMegabytes(4);
+    private Duration ttl = Duration.ofMinutes(10);
+    // Заголовки длиннее не кэшируются — одна запись не может занять больше ~2 КБ
+    private int maxHeaderLength = 512;
+}
@@ -0,0 +1,18 @@
+package uz.consortgroup.support_service.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uz.consortgroup.support_service.outbox.LoggingOutboxSink;
+import uz.consortgroup.support_service.outbox.OutboxSink;
+
+@Configuration
+public class OutboxConfig {
+
+    // Брокерная реализация подключается собственным бином OutboxSink
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink loggingOutboxSink() {
+        return new LoggingOutboxSink();
+    }
+}
@@ -0,0 +1,23 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.outbox")
+public class OutboxProperties {
+    // Запись событий в outbox вместе с тикетом
+    private boolean enabled = true;
+    private Relay relay = new Relay();
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private boolean enabled = true;
+        private int batchSize = 200;
+        // Полные пачки выбираются подряд без паузы, но не больше этого числа за один запуск
+        private int maxBatchesPerRun = 50;
+    }
+}
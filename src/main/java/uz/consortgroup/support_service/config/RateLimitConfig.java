@@ -0,0 +1,25 @@
+package uz.consortgroup.support_service.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import uz.consortgroup.support_service.ratelimit.LocalRateLimiter;
+import uz.consortgroup.support_service.ratelimit.RateLimiter;
+import uz.consortgroup.support_service.ratelimit.RedisRateLimiter;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "support.tickets.rate-limit.mode", havingValue = "local", matchIfMissing = true)
+    public RateLimiter localRateLimiter(TicketRateLimitProperties properties) {
+        return new LocalRateLimiter(properties.getMaxTrackedUsers());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "support.tickets.rate-limit.mode", havingValue = "redis")
+    public RateLimiter redisRateLimiter(StringRedisTemplate redis, TicketRateLimitProperties properties) {
+        return new RedisRateLimiter(redis, properties.getRedisKeyPrefix(), new LocalRateLimiter(properties.getMaxTrackedUsers()));
+    }
+}
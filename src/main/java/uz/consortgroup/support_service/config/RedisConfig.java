@@ -0,0 +1,24 @@
+package uz.consortgroup.support_service.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import uz.consortgroup.support_service.cache.PresetInvalidationListener;
+import uz.consortgroup.support_service.cache.RedisSharedPresetCache;
+
+@Configuration
+@ConditionalOnProperty(name = "support.presets.cache.redis.enabled", havingValue = "true")
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer presetInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                     PresetInvalidationListener listener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(listener, new ChannelTopic(RedisSharedPresetCache.CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,24 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.tickets.archive")
+public class TicketArchiveProperties {
+    private boolean enabled = false;
+    private List<SupportTicketStatus> statuses = List.of(SupportTicketStatus.CLOSED);
+    // Возраст считается от updated_at — т.е. от момента закрытия
+    private Duration olderThan = Duration.ofDays(180);
+    private Path directory = Path.of("archive", "tickets");
+    private int chunkSize = 1_000;
+    private int fetchSize = 250;
+    private int maxChunksPerRun = 100;
+}
@@ -0,0 +1,22 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.tickets.coalescing")
+public class TicketCoalescingProperties {
+
+    // PRESET — один инцидент на пресет для всех пользователей; USER_PRESET — повторы одного пользователя
+    public enum Key { PRESET, USER_PRESET }
+
+    private boolean enabled = false;
+    private Key key = Key.PRESET;
+    // Скользящее окно: инцидент открыт, пока повторы приходят чаще, чем раз в window
+    private Duration window = Duration.ofMinutes(10);
+    private int maxOpenIncidents = 10_000;
+}
@@ -0,0 +1,19 @@
+package uz.consortgroup.support_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uz.consortgroup.support_service.service.ingestion.FileTicketDeadLetter;
+import uz.consortgroup.support_service.service.ingestion.TicketDeadLetter;
+
+@Configuration
+public class TicketIngestionConfig {
+
+    // Хранилище надёжнее локального файла (таблица в другой БД, топик) подключается собственным бином TicketDeadLetter
+    @Bean
+    @ConditionalOnMissingBean(TicketDeadLetter.class)
+    public TicketDeadLetter fileTicketDeadLetter(TicketIngestionProperties properties, ObjectMapper objectMapper) {
+        return new FileTicketDeadLetter(properties.getDeadLetterFile(), objectMapper);
+    }
+}
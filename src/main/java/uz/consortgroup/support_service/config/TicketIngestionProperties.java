@@ -0,0 +1,26 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.tickets.ingestion")
+public class TicketIngestionProperties {
+
+    // SYNC — тикет записан до ответа 201. BEST_EFFORT_QUEUE — 201 после постановки в очередь в памяти:
+    // строки, которые не удалось записать, и остаток очереди при остановке уходят в dead letter,
+    // а при падении процесса содержимое очереди теряется
+    public enum Mode { SYNC, BEST_EFFORT_QUEUE }
+
+    private Mode mode = Mode.SYNC;
+    private int queueCapacity = 10_000;
+    private int batchSize = 200;
+    private Duration linger = Duration.ofMillis(50);
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+    private Path deadLetterFile = Path.of("dead-letter", "support-tickets.jsonl");
+}
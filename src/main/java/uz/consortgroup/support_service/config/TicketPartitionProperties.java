@@ -0,0 +1,16 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.tickets.partitions")
+public class TicketPartitionProperties {
+    private boolean enabled = true;
+    private int monthsAhead = 3;
+    // 0 — ничего не отсоединять
+    private int retentionMonths = 24;
+    private String archiveSchema = "support_archive";
+}
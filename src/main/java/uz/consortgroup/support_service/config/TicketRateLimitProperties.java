@@ -0,0 +1,43 @@
+package uz.consortgroup.support_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import uz.consortgroup.support_service.ratelimit.TokenBucketSpec;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "support.tickets.rate-limit")
+public class TicketRateLimitProperties {
+
+    public enum Mode { LOCAL, REDIS }
+
+    private boolean enabled = true;
+    private Mode mode = Mode.LOCAL;
+    private Bucket perUser = new Bucket(5, 0.2);
+    private Bucket global = new Bucket(200, 100);
+    // Тикеты в пачках одного пользователя; ёмкость не меньше MAX_BATCH_SIZE, иначе крупные пачки недопустимы
+    private Bucket batchItems = new Bucket(500, 0.5);
+    // Локальный режим: сколько пользовательских бакетов держать в памяти (LRU)
+    private int maxTrackedUsers = 100_000;
+    private String redisKeyPrefix = "support:ratelimit:";
+
+    @Getter
+    @Setter
+    public static class Bucket {
+        private int capacity;
+        private double refillPerSecond;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public TokenBucketSpec toSpec() {
+            return new TokenBucketSpec(capacity, refillPerSecond);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package uz.consortgroup.support_service.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -10,16 +11,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -30,7 +34,15 @@ import uz.consortgroup.core.api.v1.dto.support.request.UpdateTicketStatusRequest
 import uz.consortgroup.core.api.v1.dto.support.response.IssuePresetResponse;
 import uz.consortgroup.core.api.v1.dto.support.response.SupportTicketResponse;
 import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
+import uz.consortgroup.support_service.dto.AdminTicketResponse;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateRequest;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateResponse;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.TicketStatusCountsResponse;
+import uz.consortgroup.support_service.dto.UserTicketResponse;
 import uz.consortgroup.support_service.handler.ErrorResponse;
+import uz.consortgroup.support_service.idempotency.TicketIdempotency;
+import uz.consortgroup.support_service.ratelimit.TicketRateLimiter;
 import uz.consortgroup.support_service.service.SupportIssuePresetService;
 import uz.consortgroup.support_service.service.SupportTicketService;
 import uz.consortgroup.support_service.service.super_admin.SupportTicketSuperAdminService;
@@ -39,6 +51,7 @@ import java.util.List;
 import java.util.UUID;
 
 @RestController
+@Validated
 @RequestMapping("/api/v1/support")
 @RequiredArgsConstructor
 @Tag(name = "Support", description = "API для работы с поддержкой")
@@ -48,6 +61,8 @@ public class SupportController {
     private final SupportTicketService supportTicketService;
     private final SupportIssuePresetService supportIssuePresetService;
     private final SupportTicketSuperAdminService supportTicketSuperAdminService;
+    private final TicketRateLimiter ticketRateLimiter;
+    private final TicketIdempotency ticketIdempotency;
 
     @GetMapping("/presets")
     @ResponseStatus(HttpStatus.OK)
@@ -94,6 +109,10 @@ public class SupportController {
                             }
                     )
             ),
+            parameters = {
+                    @Parameter(name = TicketIdempotency.HEADER, in = ParameterIn.HEADER,
+                            description = "Ключ идемпотентности (до 255 символов). Повтор с тем же ключом возвращает исходный ответ без создания дубля")
+            },
             responses = {
                     @ApiResponse(responseCode = "201", description = "Создано",
                             content = @Content(schema = @Schema(implementation = TicketCreatedResponse.class),
@@ -107,19 +126,107 @@ public class SupportController {
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "401", description = "Unauthorized",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "409", description = "Запрос с этим Idempotency-Key ещё выполняется",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "422", description = "Idempotency-Key уже использован с другим телом запроса",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "429", description = "Too Many Requests",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    public TicketCreatedResponse createTicket(@Valid @RequestBody CreateTicketRequestDto body,
+                                              @RequestHeader(name = TicketIdempotency.HEADER, required = false) String idempotencyKey) {
+        return ticketIdempotency.execute(idempotencyKey, "create", body, () -> {
+            ticketRateLimiter.checkCreate();
+            return supportTicketService.createTicket(body);
+        });
+    }
+
+    @PostMapping("/tickets/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(
+            summary = "Создать несколько тикетов одним запросом",
+            description = "Создаёт до 500 заявок в одной транзакции (пакетная вставка). " +
+                    "Правила для каждого элемента те же, что и для одиночного создания; при ошибке в любом элементе не сохраняется ничего. " +
+                    "Для лимита частоты пачка — один запрос; число тикетов ограничивает отдельный бакет тикетов в пачках пользователя.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            array = @ArraySchema(schema = @Schema(implementation = CreateTicketRequestDto.class)),
+                            examples = @ExampleObject(value = """
+                                    [
+                                      { "selectedIssueId": "f25f659c-53bc-4260-a977-07470d97e8e2" },
+                                      { "comment": "Не получается сохранить курс" }
+                                    ]
+                                    """)
+                    )
+            ),
+            parameters = {
+                    @Parameter(name = TicketIdempotency.HEADER, in = ParameterIn.HEADER,
+                            description = "Ключ идемпотентности (до 255 символов). Повтор с тем же ключом возвращает исходный ответ без создания дубля")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Создано",
+                            content = @Content(schema = @Schema(implementation = TicketCreatedResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad Request",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "409", description = "Запрос с этим Idempotency-Key ещё выполняется",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "422", description = "Idempotency-Key уже использован с другим телом запроса",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "429", description = "Too Many Requests",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "500", description = "Internal Server Error",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             }
     )
-    public TicketCreatedResponse createTicket(@Valid @RequestBody CreateTicketRequestDto body) {
-        return supportTicketService.createTicket(body);
+    public TicketCreatedResponse createTickets(@RequestBody List<@Valid @NotNull CreateTicketRequestDto> body,
+                                               @RequestHeader(name = TicketIdempotency.HEADER, required = false) String idempotencyKey) {
+        return ticketIdempotency.execute(idempotencyKey, "batch", body, () -> {
+            ticketRateLimiter.checkCreateBatch(body.size());
+            return supportTicketService.createTickets(body);
+        });
+    }
+
+    @GetMapping("/tickets/my")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Мои тикеты",
+            description = "История тикетов текущего пользователя от новых к старым, keyset-пагинация по (createdAt, id). " +
+                    "Текст комментария не возвращается. Для следующей страницы передайте nextCursor из предыдущего ответа.",
+            parameters = {
+                    @Parameter(name = "cursor", description = "Непрозрачный курсор из nextCursor"),
+                    @Parameter(name = "size", description = "Размер страницы (1..100)",
+                            schema = @Schema(type = "integer", defaultValue = "20"))
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = CursorSlice.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad Request",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    public CursorSlice<UserTicketResponse> listMyTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return supportTicketService.listMyTickets(cursor, size);
     }
 
     @GetMapping("/tickets")
     @ResponseStatus(HttpStatus.OK)
     @Operation(
             summary = "Список тикетов (для Супер-Админа)",
-            description = "Возвращает страницу тикетов. Доступно фильтрование по статусу. Требует роль SUPER_ADMIN.",
+            description = "Возвращает страницу тикетов вместе с текстом выбранного пресета. Доступно фильтрование по статусу. " +
+                    "Требует роль SUPER_ADMIN.",
             parameters = {
                     @Parameter(name = "status", description = "Фильтр по статусу",
                             schema = @Schema(implementation = SupportTicketStatus.class))
@@ -127,7 +234,7 @@ public class SupportController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "OK",
                             content = @Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = SupportTicketResponse.class))),
+                                    schema = @Schema(implementation = AdminTicketResponse.class))),
                     @ApiResponse(responseCode = "401", description = "Unauthorized",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "403", description = "Forbidden",
@@ -136,21 +243,118 @@ public class SupportController {
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             }
     )
-    public Page<SupportTicketResponse> listTickets(
+    public Page<AdminTicketResponse> listTickets(
             @RequestParam(required = false) SupportTicketStatus status,
             @ParameterObject Pageable pageable
     ) {
         return supportTicketSuperAdminService.listTickets(status, pageable);
     }
 
+    @GetMapping("/tickets/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Список тикетов по курсору (для Супер-Админа)",
+            description = "Keyset-пагинация от новых к старым по (createdAt, id) без подсчёта общего количества. Требует роль SUPER_ADMIN. " +
+                    "Для следующей страницы передайте nextCursor из предыдущего ответа.",
+            parameters = {
+                    @Parameter(name = "status", description = "Фильтр по статусу",
+                            schema = @Schema(implementation = SupportTicketStatus.class)),
+                    @Parameter(name = "cursor", description = "Непрозрачный курсор из nextCursor"),
+                    @Parameter(name = "size", description = "Размер страницы (1..100)",
+                            schema = @Schema(type = "integer", defaultValue = "20"))
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = CursorSlice.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad Request",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "403", description = "Forbidden",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    public CursorSlice<AdminTicketResponse> listTicketsByCursor(
+            @RequestParam(required = false) SupportTicketStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return supportTicketSuperAdminService.listTicketsByCursor(status, cursor, size);
+    }
+
+    @GetMapping("/tickets/counters")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Количество тикетов по статусам (для Супер-Админа)",
+            description = "Счётчики для дашборда из памяти сервиса, без подсчёта по таблице. Сверяются с БД периодически: " +
+                    "изменения с других инстансов видны после следующей сверки (reconciledAt). Требует роль SUPER_ADMIN.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = TicketStatusCountsResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "403", description = "Forbidden",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    public TicketStatusCountsResponse countTicketsByStatus() {
+        return supportTicketSuperAdminService.countByStatus();
+    }
+
+    @PutMapping("/tickets/status")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Массово обновить статус тикетов (для Супер-Админа)",
+            description = "Меняет статус одним UPDATE: либо по списку ticketIds (до 500), либо по фильтру currentStatus " +
+                    "и, опционально, selectedIssueId. Тикеты, уже находящиеся в целевом статусе, не изменяются. " +
+                    "По фильтру за один вызов обновляется до 500 тикетов; при hasMore=true повторите запрос.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = BulkStatusUpdateRequest.class),
+                            examples = {
+                                    @ExampleObject(name = "По списку id", value = """
+                                        { "status": "CLOSED", "ticketIds": ["2f1c7a4e-0b7d-4a8e-9d7a-3c1f0e5b6a21"] }
+                                        """),
+                                    @ExampleObject(name = "По фильтру", value = """
+                                        { "status": "CLOSED", "currentStatus": "NEW", "selectedIssueId": "6b0e3f52-8a3c-4d6e-b1f4-2a9c7d5e8f10" }
+                                        """)
+                            }
+                    )
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = BulkStatusUpdateResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad Request",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "403", description = "Forbidden",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            }
+    )
+    public BulkStatusUpdateResponse updateStatuses(@RequestBody BulkStatusUpdateRequest body) {
+        return supportTicketSuperAdminService.updateStatuses(body);
+    }
+
     @PutMapping("/tickets/{ticketId}")
     @ResponseStatus(HttpStatus.OK)
     @Operation(
             summary = "Обновить статус тикета (для Супер-Админа)",
-            description = "Меняет статус указанного тикета и возвращает обновлённую модель",
+            description = "Меняет статус указанного тикета одним UPDATE и возвращает обновлённую модель. " +
+                    "Если передан expectedStatus, статус меняется только при совпадении текущего, иначе 409 Conflict — " +
+                    "так параллельные изменения другого администратора не перезаписываются молча.",
             parameters = {
                     @Parameter(name = "ticketId", description = "ID тикета", required = true,
-                            schema = @Schema(format = "uuid"))
+                            schema = @Schema(format = "uuid")),
+                    @Parameter(name = "expectedStatus", description = "Ожидаемый текущий статус тикета",
+                            schema = @Schema(implementation = SupportTicketStatus.class))
             },
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     required = true,
@@ -172,12 +376,15 @@ public class SupportController {
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "404", description = "Not Found",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "409", description = "Conflict",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "500", description = "Internal Server Error",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             }
     )
     public SupportTicketResponse updateStatus(@PathVariable UUID ticketId,
+                                              @RequestParam(required = false) SupportTicketStatus expectedStatus,
                                               @RequestBody UpdateTicketStatusRequestDto body) {
-        return supportTicketSuperAdminService.updateStatus(ticketId, body.getStatus());
+        return supportTicketSuperAdminService.updateStatus(ticketId, body.getStatus(), expectedStatus);
     }
 }
@@ -0,0 +1,23 @@
+package uz.consortgroup.support_service.dto;
+
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Строка админского списка тикетов: поля SupportTicketResponse плюс текст пресета,
+// собирается одним запросом (left join пресета) без загрузки сущностей
+public record AdminTicketResponse(
+        UUID id,
+        UUID userId,
+        UserRole role,
+        SupportIssueType issueType,
+        UUID selectedIssueId,
+        String selectedIssueText,
+        String comment,
+        SupportTicketStatus status,
+        Instant createdAt,
+        Instant updatedAt) {
+}
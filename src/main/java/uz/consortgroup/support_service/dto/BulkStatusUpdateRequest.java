@@ -0,0 +1,14 @@
+package uz.consortgroup.support_service.dto;
+
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+// Либо явный список ticketIds, либо фильтр: currentStatus (обязателен) и, опционально, selectedIssueId
+public record BulkStatusUpdateRequest(
+        SupportTicketStatus status,
+        List<UUID> ticketIds,
+        SupportTicketStatus currentStatus,
+        UUID selectedIssueId) {
+}
@@ -0,0 +1,7 @@
+package uz.consortgroup.support_service.dto;
+
+// hasMore: по фильтру обновлено ровно максимальное число строк — повторите запрос, чтобы продолжить
+public record BulkStatusUpdateResponse(
+        int updated,
+        boolean hasMore) {
+}
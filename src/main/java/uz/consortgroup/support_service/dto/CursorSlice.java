@@ -0,0 +1,10 @@
+package uz.consortgroup.support_service.dto;
+
+import java.util.List;
+
+public record CursorSlice<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+}
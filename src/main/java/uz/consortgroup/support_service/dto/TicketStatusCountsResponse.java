@@ -0,0 +1,13 @@
+package uz.consortgroup.support_service.dto;
+
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+// reconciledAt: время последней сверки с БД — записи других инстансов видны не раньше следующей
+public record TicketStatusCountsResponse(
+        Map<SupportTicketStatus, Long> counts,
+        long total,
+        Instant reconciledAt) {
+}
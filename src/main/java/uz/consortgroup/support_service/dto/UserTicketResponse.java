@@ -0,0 +1,17 @@
+package uz.consortgroup.support_service.dto;
+
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Строка истории тикетов пользователя; все поля читаются из idx_support_tickets_user_history
+public record UserTicketResponse(
+        UUID id,
+        SupportIssueType issueType,
+        UUID selectedIssueId,
+        SupportTicketStatus status,
+        Instant createdAt,
+        Instant updatedAt) {
+}
@@ -65,6 +65,13 @@ public class SupportTicket {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    // Сколько повторных обращений свёрнуто в этот тикет (TicketCoalescer); меняется только bulk-update
+    @Column(name = "duplicate_count", nullable = false)
+    private int duplicateCount;
+
+    @Column(name = "last_duplicate_at")
+    private Instant lastDuplicateAt;
+
     @PrePersist
     public void prePersist() {
         Instant now = Instant.now();
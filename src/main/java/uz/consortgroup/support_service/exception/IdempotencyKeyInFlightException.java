@@ -0,0 +1,7 @@
+package uz.consortgroup.support_service.exception;
+
+public class IdempotencyKeyInFlightException extends RuntimeException {
+    public IdempotencyKeyInFlightException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package uz.consortgroup.support_service.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
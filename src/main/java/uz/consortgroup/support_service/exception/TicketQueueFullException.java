@@ -0,0 +1,7 @@
+package uz.consortgroup.support_service.exception;
+
+public class TicketQueueFullException extends RuntimeException {
+    public TicketQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package uz.consortgroup.support_service.exception;
+
+public class TicketStatusConflictException extends RuntimeException {
+    public TicketStatusConflictException(String message) {
+        super(message);
+    }
+}
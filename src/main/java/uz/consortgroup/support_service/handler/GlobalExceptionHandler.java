@@ -1,37 +1,53 @@
 package uz.consortgroup.support_service.handler;
 
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import uz.consortgroup.support_service.exception.IdempotencyKeyInFlightException;
+import uz.consortgroup.support_service.exception.IdempotencyKeyReusedException;
 import uz.consortgroup.support_service.exception.PresetNotFoundExecption;
+import uz.consortgroup.support_service.exception.RateLimitExceededException;
 import uz.consortgroup.support_service.exception.TicketNotFoundException;
+import uz.consortgroup.support_service.exception.TicketQueueFullException;
+import uz.consortgroup.support_service.exception.TicketStatusConflictException;
 import uz.consortgroup.support_service.exception.UnauthorizedException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 @Slf4j
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final SupportMetrics supportMetrics;
+
     @ExceptionHandler({ MethodArgumentTypeMismatchException.class, ConversionFailedException.class })
     public ResponseEntity<ErrorResponse> handleTypeMismatch(Exception ex) {
         String msg = "Invalid request parameter";
         if (ex instanceof MethodArgumentTypeMismatchException e) {
             msg = "Invalid value for '" + e.getName() + "': " + e.getValue();
         }
+        supportMetrics.error(ex, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad request", msg));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        supportMetrics.error(ex, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad request", ex.getMessage()));
     }
@@ -39,6 +55,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneralException(Exception ex) {
         log.error("Unexpected exception: ", ex);
+        supportMetrics.error(ex, HttpStatus.INTERNAL_SERVER_ERROR.value());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal server error", "Произошла непредвиденная ошибка"));
     }
@@ -46,6 +63,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorResponse> handleIllegalStateException(IllegalStateException ex) {
         log.error("IllegalStateException: ", ex);
+        supportMetrics.error(ex, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Illegal state", ex.getMessage()));
     }
@@ -53,6 +71,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ErrorResponse> handleUnauthorizedException(UnauthorizedException ex) {
         log.error("UnauthorizedException: ", ex);
+        supportMetrics.error(ex, HttpStatus.UNAUTHORIZED.value());
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), "Unauthorized", ex.getMessage()));
     }
@@ -60,6 +79,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(PresetNotFoundExecption.class)
     public ResponseEntity<ErrorResponse> handlePresetNotFoundExecption(PresetNotFoundExecption ex) {
         log.error("PresetNotFoundException: ", ex);
+        supportMetrics.error(ex, HttpStatus.NOT_FOUND.value());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Preset not found", ex.getMessage()));
     }
@@ -73,6 +93,22 @@ public class GlobalExceptionHandler {
                 .collect(Collectors.toList());
 
         log.error("Validation error: {}", errors);
+        supportMetrics.error(ex, HttpStatus.BAD_REQUEST.value());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Validation failed", String.join("; ", errors)));
+    }
+
+    // Ограничения на параметрах метода (@Validated-контроллер), например элементы пачки тикетов
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex) {
+        List<String> errors = ex.getConstraintViolations()
+                .stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+
+        log.error("Validation error: {}", errors);
+        supportMetrics.error(ex, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Validation failed", String.join("; ", errors)));
     }
@@ -80,7 +116,56 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(TicketNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleTicketNotFoundException(TicketNotFoundException ex) {
         log.error("TicketNotFoundException: ", ex);
+        supportMetrics.error(ex, HttpStatus.NOT_FOUND.value());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Ticket not found", ex.getMessage()));
     }
+
+    @ExceptionHandler(TicketStatusConflictException.class)
+    public ResponseEntity<ErrorResponse> handleTicketStatusConflictException(TicketStatusConflictException ex) {
+        log.warn("TicketStatusConflictException: {}", ex.getMessage());
+        supportMetrics.error(ex, HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(HttpStatus.CONFLICT.value(), "Ticket status conflict", ex.getMessage()));
+    }
+
+    @ExceptionHandler(TicketQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleTicketQueueFullException(TicketQueueFullException ex) {
+        log.warn("TicketQueueFullException: {}", ex.getMessage());
+        supportMetrics.error(ex, HttpStatus.TOO_MANY_REQUESTS.value());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests", ex.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        supportMetrics.error(ex, HttpStatus.UNPROCESSABLE_ENTITY.value());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY.value(), "Idempotency key reused", ex.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyInFlightException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInFlightException(IdempotencyKeyInFlightException ex) {
+        supportMetrics.error(ex, HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(HttpStatus.CONFLICT.value(), "Idempotency key in flight", ex.getMessage()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException ex) {
+        supportMetrics.error(ex, HttpStatus.TOO_MANY_REQUESTS.value());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests", ex.getMessage()));
+    }
+
+    @ExceptionHandler({ CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class })
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(Exception ex) {
+        log.warn("Database connection unavailable: {}", ex.getMessage());
+        supportMetrics.error(ex, HttpStatus.SERVICE_UNAVAILABLE.value());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service unavailable", "Database is busy, retry later"));
+    }
 }
\ No newline at end of file
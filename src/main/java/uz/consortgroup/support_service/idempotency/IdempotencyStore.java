@@ -0,0 +1,18 @@
+package uz.consortgroup.support_service.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface IdempotencyStore {
+    // Только сохранённый ответ; ключ, захваченный выполняющимся запросом, даёт empty
+    Optional<IdempotentResult> get(String key);
+
+    // Захват ключа маркером in-flight на время lease: false — ключ уже захвачен или у него есть ответ
+    boolean tryClaim(String key, String owner, Duration lease);
+
+    // Сохраняет ответ поверх маркера
+    void put(String key, IdempotentResult result);
+
+    // Снимает маркер owner после ошибки, чтобы повтор выполнился заново
+    void release(String key, String owner);
+}
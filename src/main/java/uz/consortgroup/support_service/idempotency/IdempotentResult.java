@@ -0,0 +1,7 @@
+package uz.consortgroup.support_service.idempotency;
+
+import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
+
+// fingerprint — SHA-256 канонического JSON тела запроса: тот же ключ с другим телом не должен получить чужой ответ
+public record IdempotentResult(String fingerprint, TicketCreatedResponse response) {
+}
@@ -0,0 +1,43 @@
+package uz.consortgroup.support_service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Захват ключа не нужен: одновременные дубли внутри инстанса уже сводит TicketIdempotency
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotentResult> cache;
+
+    public LocalIdempotencyStore(int maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tickets.idempotency");
+    }
+
+    @Override
+    public Optional<IdempotentResult> get(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    @Override
+    public boolean tryClaim(String key, String owner, Duration lease) {
+        return true;
+    }
+
+    @Override
+    public void put(String key, IdempotentResult result) {
+        cache.put(key, result);
+    }
+
+    @Override
+    public void release(String key, String owner) {
+    }
+}
@@ -0,0 +1,94 @@
+package uz.consortgroup.support_service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+// Ответы видны всем инстансам: повтор, пришедший через балансировщик на другой узел, тоже отдаётся из кэша.
+// Выполнение захватывает ключ через SET NX PX, поэтому одновременный дубль на другом узле не выполняется
+// второй раз, а ждёт ответ. При ошибке Redis работаем с локальным хранилищем — повтор на тот же узел
+// всё ещё не создаст дубль
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    static final String IN_FLIGHT_PREFIX = "in-flight:";
+    static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/idempotency_release.lua"), Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final IdempotencyStore fallback;
+
+    public RedisIdempotencyStore(StringRedisTemplate redis, ObjectMapper objectMapper, String keyPrefix,
+                                 Duration ttl, IdempotencyStore fallback) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Optional<IdempotentResult> get(String key) {
+        String json;
+        try {
+            json = redis.opsForValue().get(keyPrefix + key);
+        } catch (DataAccessException e) {
+            log.warn("Redis idempotency read failed, using local store: error={}", e.getMessage());
+            return fallback.get(key);
+        }
+        if (json == null) {
+            return fallback.get(key);
+        }
+        if (json.startsWith(IN_FLIGHT_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(json, IdempotentResult.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Corrupted idempotency entry ignored: key={}, error={}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean tryClaim(String key, String owner, Duration lease) {
+        try {
+            return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(keyPrefix + key, IN_FLIGHT_PREFIX + owner, lease));
+        } catch (DataAccessException e) {
+            log.warn("Redis idempotency claim failed, using local store: error={}", e.getMessage());
+            return fallback.tryClaim(key, owner, lease);
+        }
+    }
+
+    @Override
+    public void put(String key, IdempotentResult result) {
+        try {
+            redis.opsForValue().set(keyPrefix + key, objectMapper.writeValueAsString(result), ttl);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Redis idempotency write failed, using local store: error={}", e.getMessage());
+            fallback.put(key, result);
+        }
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        try {
+            redis.execute(RELEASE_SCRIPT, List.of(keyPrefix + key), IN_FLIGHT_PREFIX + owner);
+        } catch (DataAccessException e) {
+            // маркер истечёт сам через lease
+            log.warn("Redis idempotency release failed: key={}, error={}", key, e.getMessage());
+            fallback.release(key, owner);
+        }
+    }
+}
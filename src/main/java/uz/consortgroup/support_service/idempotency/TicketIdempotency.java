@@ -0,0 +1,163 @@
+package uz.consortgroup.support_service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
+import uz.consortgroup.support_service.config.IdempotencyProperties;
+import uz.consortgroup.support_service.exception.IdempotencyKeyInFlightException;
+import uz.consortgroup.support_service.exception.IdempotencyKeyReusedException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.security.AuthContext;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+// Обработка заголовка Idempotency-Key для создания тикетов. Ключ действует в пределах пользователя и операции.
+// Первый запрос выполняется и его ответ сохраняется; повторы получают сохранённый ответ без обращения к БД.
+// Одновременные дубли (клиент не дождался ответа и повторил) ждут уже идущее выполнение, а не запускают своё:
+// на этом инстансе — через inFlight, на другом — через захват ключа в хранилище и опрос до появления ответа.
+// Ошибки не сохраняются — повтор после 4xx/5xx выполняется заново
+@Slf4j
+@Component
+public class TicketIdempotency {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final AuthContext authContext;
+    private final SupportMetrics supportMetrics;
+    private final ObjectMapper canonicalMapper;
+    private final boolean enabled;
+    private final Duration inFlightTimeout;
+    private final Duration pollInterval;
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResult>> inFlight = new ConcurrentHashMap<>();
+
+    public TicketIdempotency(IdempotencyStore store,
+                             AuthContext authContext,
+                             SupportMetrics supportMetrics,
+                             ObjectMapper objectMapper,
+                             IdempotencyProperties properties) {
+        this.store = store;
+        this.authContext = authContext;
+        this.supportMetrics = supportMetrics;
+        // Поля и ключи map по алфавиту: отпечаток не зависит от порядка объявления полей в версии сервиса
+        this.canonicalMapper = objectMapper.copy().setConfig(objectMapper.getSerializationConfig()
+                .with(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS));
+        this.enabled = properties.isEnabled();
+        this.inFlightTimeout = properties.getInFlightTimeout();
+        this.pollInterval = properties.getPollInterval();
+    }
+
+    public TicketCreatedResponse execute(String idempotencyKey, String operation, Object request,
+                                         Supplier<TicketCreatedResponse> action) {
+        if (!enabled || idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1.." + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = operation + ":" + authContext.getCurrentUserId() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        CompletableFuture<IdempotentResult> own = new CompletableFuture<>();
+        CompletableFuture<IdempotentResult> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            supportMetrics.idempotency("coalesced");
+            return verified(await(running), fingerprint, idempotencyKey);
+        }
+
+        try {
+            IdempotentResult result = claimOrAwait(key, fingerprint, action);
+            own.complete(result);
+            return verified(result, fingerprint, idempotencyKey);
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    // Выполняет только тот, кто захватил ключ. Остальные опрашивают хранилище: ответ появится после put,
+    // а если владелец получил ошибку или упал, маркер снимется (release или истечение lease) и ключ захватит следующий
+    private IdempotentResult claimOrAwait(String key, String fingerprint, Supplier<TicketCreatedResponse> action) {
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + inFlightTimeout.toNanos();
+        boolean waited = false;
+        while (true) {
+            Optional<IdempotentResult> stored = store.get(key);
+            if (stored.isPresent()) {
+                supportMetrics.idempotency(waited ? "coalesced" : "replayed");
+                return stored.get();
+            }
+            if (store.tryClaim(key, owner, inFlightTimeout)) {
+                IdempotentResult result;
+                try {
+                    result = new IdempotentResult(fingerprint, action.get());
+                } catch (RuntimeException e) {
+                    store.release(key, owner);
+                    throw e;
+                }
+                store.put(key, result);
+                supportMetrics.idempotency("executed");
+                return result;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IdempotencyKeyInFlightException(HEADER + " is already being processed, retry later");
+            }
+            waited = true;
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyInFlightException(HEADER + " is already being processed, retry later");
+            }
+        }
+    }
+
+    // Сравнивается с отпечатком, сохранённым другим инстансом или до рестарта, поэтому не hashCode:
+    // он не стабилен между JVM и легко даёт коллизию для разных тел
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonicalMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint idempotent request", e);
+        }
+    }
+
+    private static IdempotentResult await(CompletableFuture<IdempotentResult> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static TicketCreatedResponse verified(IdempotentResult result, String fingerprint, String idempotencyKey) {
+        if (!result.fingerprint().equals(fingerprint)) {
+            log.warn("Idempotency key reused with a different request body: key={}", idempotencyKey);
+            throw new IdempotencyKeyReusedException(HEADER + " was already used with a different request");
+        }
+        return result.response();
+    }
+}
@@ -0,0 +1,118 @@
+package uz.consortgroup.support_service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+
+import java.util.function.Supplier;
+
+// Имена и теги метрик сервиса. Теги только из перечислений (role, issueType, status) и имени класса
+// исключения — кардинальность ограничена, id пользователей и тикетов в теги не попадают
+@Component
+@RequiredArgsConstructor
+public class SupportMetrics {
+
+    public static final String TICKET_CREATE = "support.tickets.create";
+    public static final String TICKETS_SUBMITTED = "support.tickets.submitted";
+    public static final String TICKET_LIST = "support.tickets.list";
+    public static final String TICKET_HISTORY = "support.tickets.history";
+    public static final String TICKET_COUNTERS = "support.tickets.counters";
+    public static final String TICKET_STATUS_UPDATE = "support.tickets.status.update";
+    public static final String TICKET_STATUS_BULK_UPDATE = "support.tickets.status.bulk_update";
+    public static final String TICKET_STATUS_CHANGED = "support.tickets.status.changed";
+    public static final String PRESETS_ACTIVE = "support.presets.active";
+    public static final String PRESETS_ADMIN = "support.presets.admin";
+    public static final String ERRORS = "support.errors";
+    public static final String RATE_LIMITED = "support.tickets.rate_limited";
+    public static final String IDEMPOTENCY = "support.tickets.idempotency";
+    public static final String TICKETS_COALESCED = "support.tickets.coalesced";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    // Время операции с тегами outcome=success|error и exception=<SimpleName>|none
+    public <T> T time(String name, Tags tags, Supplier<T> operation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        String exception = NONE;
+        try {
+            T result = operation.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    public void time(String name, Tags tags, Runnable operation) {
+        time(name, tags, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    // Внутри транзакции счётчик растёт только после коммита: откатившаяся вставка не считается созданным тикетом
+    public void ticketsCreated(SupportIssueType issueType, UserRole role, int count) {
+        Runnable increment = () -> meterRegistry.counter(TICKETS_SUBMITTED, "issueType", issueType.name(), "role", role.name())
+                .increment(count);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment.run();
+            }
+        });
+    }
+
+    public void ticketStatusChanged(SupportTicketStatus from, SupportTicketStatus to) {
+        meterRegistry.counter(TICKET_STATUS_CHANGED, "from", from == null ? NONE : from.name(), "to", to.name()).increment();
+    }
+
+    public void ticketCoalesced(SupportIssueType issueType) {
+        meterRegistry.counter(TICKETS_COALESCED, "issueType", issueType.name()).increment();
+    }
+
+    public void rateLimited(String scope) {
+        meterRegistry.counter(RATE_LIMITED, "scope", scope).increment();
+    }
+
+    // result=executed|replayed|coalesced
+    public void idempotency(String result) {
+        meterRegistry.counter(IDEMPOTENCY, "result", result).increment();
+    }
+
+    public void error(Exception exception, int status) {
+        meterRegistry.counter(ERRORS, "exception", exception.getClass().getSimpleName(), "status", String.valueOf(status)).increment();
+    }
+
+    public static Tag role(UserRole role) {
+        return Tag.of("role", role == null ? NONE : role.name());
+    }
+
+    public static Tag status(SupportTicketStatus status) {
+        return Tag.of("status", status == null ? "ALL" : status.name());
+    }
+
+    public static Tag operation(String operation) {
+        return Tag.of("operation", operation);
+    }
+}
@@ -0,0 +1,18 @@
+package uz.consortgroup.support_service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+// Sink по умолчанию, пока нет брокера: события только пишутся в лог
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.info("Outbox event: id={}, type={}, key={}, payload={}",
+                    message.id(), message.type(), message.key(), message.payload());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package uz.consortgroup.support_service.outbox;
+
+public enum OutboxEventType {
+    TICKET_CREATED,
+    TICKET_STATUS_CHANGED
+}
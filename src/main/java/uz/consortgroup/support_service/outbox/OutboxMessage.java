@@ -0,0 +1,9 @@
+package uz.consortgroup.support_service.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// id монотонно растёт и уникален — потребители дедуплицируют по нему (доставка at-least-once).
+// key — id тикета: в Kafka-подобном брокере события одного тикета попадают в одну партицию
+public record OutboxMessage(long id, OutboxEventType type, UUID key, String payload, Instant createdAt) {
+}
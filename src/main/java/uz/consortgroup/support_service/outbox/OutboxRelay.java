@@ -0,0 +1,108 @@
+package uz.consortgroup.support_service.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.support_service.config.OutboxProperties;
+import uz.consortgroup.support_service.repository.TicketOutboxRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Перекладывает события из outbox в OutboxSink. Пачка блокируется (SKIP LOCKED), публикуется и удаляется
+// в одной транзакции: при сбое sink или коммита строки остаются и уходят повторно — at-least-once.
+// Порядок гарантирован только в пределах одного релея; между инстансами потребитель упорядочивает по id
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "support.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final TicketOutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties.Relay properties;
+    private final Counter published;
+    private final Counter failed;
+    private final Timer deliveryLag;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(TicketOutboxRepository outboxRepository,
+                       OutboxSink sink,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.getRelay();
+
+        this.published = meterRegistry.counter("support.outbox.published");
+        this.failed = meterRegistry.counter("support.outbox.failed");
+        this.deliveryLag = Timer.builder("support.outbox.delivery.lag")
+                .description("Time from writing an event to the outbox until the sink accepted it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("support.outbox.lag", lagMillis, v -> v.get() / 1000.0)
+                .description("Age of the oldest event still waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${support.outbox.relay.poll-interval:PT0.5S}")
+    public void scheduledRun() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Outbox relay failed, batch will be retried: error={}", e.getMessage());
+        } finally {
+            refreshLag(Instant.now());
+        }
+    }
+
+    public int relay() {
+        int total = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            int sent = transactionTemplate.execute(status -> relayBatch());
+            total += sent;
+            if (sent < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    void refreshLag(Instant now) {
+        lagMillis.set(outboxRepository.findOldestCreatedAt()
+                .map(oldest -> Math.max(0, Duration.between(oldest, now).toMillis()))
+                .orElse(0L));
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> batch = outboxRepository.lockBatch(properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        sink.publish(batch);
+
+        Instant now = Instant.now();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            ids.add(message.id());
+            deliveryLag.record(Duration.between(message.createdAt(), now));
+        }
+        outboxRepository.deleteAll(ids);
+        published.increment(batch.size());
+        log.debug("Outbox batch published: size={}, lastId={}", batch.size(), ids.get(ids.size() - 1));
+        return batch.size();
+    }
+}
@@ -0,0 +1,9 @@
+package uz.consortgroup.support_service.outbox;
+
+import java.util.List;
+
+public interface OutboxSink {
+    // Должен вернуться только когда брокер подтвердил все сообщения (для Kafka — дождаться futures при acks=all);
+    // исключение — пачка остаётся в outbox и будет отправлена повторно целиком
+    void publish(List<OutboxMessage> messages);
+}
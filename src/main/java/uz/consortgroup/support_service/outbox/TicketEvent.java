@@ -0,0 +1,20 @@
+package uz.consortgroup.support_service.outbox;
+
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Тело события в outbox (JSON). previousStatus заполнен только для TICKET_STATUS_CHANGED
+public record TicketEvent(OutboxEventType type,
+                          UUID ticketId,
+                          UUID userId,
+                          UserRole role,
+                          SupportIssueType issueType,
+                          UUID selectedIssueId,
+                          SupportTicketStatus status,
+                          SupportTicketStatus previousStatus,
+                          Instant occurredAt) {
+}
@@ -0,0 +1,89 @@
+package uz.consortgroup.support_service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.config.OutboxProperties;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketStatusRepository;
+import uz.consortgroup.support_service.repository.TicketOutboxRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Запись событий жизненного цикла тикета в outbox. Вызывается внутри транзакции, которая сохраняет тикет:
+// событие фиксируется тогда и только тогда, когда фиксируется изменение. Публикацией занимается OutboxRelay,
+// поэтому запрос платит только за один INSERT
+@Component
+public class TicketOutbox {
+
+    private final TicketOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public TicketOutbox(TicketOutboxRepository outboxRepository, ObjectMapper objectMapper, OutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+    }
+
+    public void ticketCreated(SupportTicket ticket) {
+        ticketsCreated(List.of(ticket));
+    }
+
+    public void ticketsCreated(List<SupportTicket> tickets) {
+        if (!enabled || tickets.isEmpty()) {
+            return;
+        }
+        List<TicketOutboxRepository.Entry> entries = new ArrayList<>(tickets.size());
+        for (SupportTicket ticket : tickets) {
+            entries.add(entry(OutboxEventType.TICKET_CREATED, ticket, null, ticket.getCreatedAt()));
+        }
+        outboxRepository.insertAll(entries);
+    }
+
+    public void ticketStatusChanged(SupportTicketStatusRepository.Transition transition, Instant occurredAt) {
+        if (transition.previousStatus() == transition.status()) {
+            return;
+        }
+        ticketStatusesChanged(List.of(transition), occurredAt);
+    }
+
+    // Переходы из set-based UPDATE ... RETURNING: одна пачка INSERT на весь bulk-запрос.
+    // occurredAt — тот же момент, что записан в updated_at, а не время вставки в outbox
+    public void ticketStatusesChanged(List<SupportTicketStatusRepository.Transition> transitions, Instant occurredAt) {
+        if (!enabled || transitions.isEmpty()) {
+            return;
+        }
+        List<TicketOutboxRepository.Entry> entries = new ArrayList<>(transitions.size());
+        for (SupportTicketStatusRepository.Transition t : transitions) {
+            entries.add(entry(new TicketEvent(OutboxEventType.TICKET_STATUS_CHANGED, t.id(), t.userId(), t.role(),
+                    t.issueType(), t.selectedIssueId(), t.status(), t.previousStatus(), occurredAt)));
+        }
+        outboxRepository.insertAll(entries);
+    }
+
+    private TicketOutboxRepository.Entry entry(OutboxEventType type, SupportTicket ticket,
+                                               SupportTicketStatus previous, Instant occurredAt) {
+        return entry(new TicketEvent(
+                type,
+                ticket.getId(),
+                ticket.getUserId(),
+                ticket.getRole(),
+                ticket.getIssueType(),
+                ticket.getSelectedIssue() == null ? null : ticket.getSelectedIssue().getId(),
+                ticket.getStatus(),
+                previous,
+                occurredAt));
+    }
+
+    private TicketOutboxRepository.Entry entry(TicketEvent event) {
+        try {
+            return new TicketOutboxRepository.Entry(event.type(), event.ticketId(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize ticket event: ticketId=" + event.ticketId(), e);
+        }
+    }
+}
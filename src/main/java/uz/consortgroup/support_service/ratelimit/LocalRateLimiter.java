@@ -0,0 +1,99 @@
+package uz.consortgroup.support_service.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// Бакеты в памяти процесса, разбитые на полосы (stripes) со своей блокировкой: запросы разных
+// пользователей почти не конкурируют. В каждой полосе LRU с лимитом — вытесненный бакет при
+// следующем обращении создаётся полным, это допустимая неточность ради ограниченной памяти
+public class LocalRateLimiter implements RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongSupplier nanoClock;
+
+    public LocalRateLimiter(int maxKeys) {
+        this(maxKeys, System::nanoTime);
+    }
+
+    LocalRateLimiter(int maxKeys, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        int perStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public long tryAcquire(String key, TokenBucketSpec spec, int permits) {
+        Stripe stripe = stripe(key);
+        long now = nanoClock.getAsLong();
+        synchronized (stripe) {
+            return stripe.bucket(key, spec, now).tryTake(spec, now, permits);
+        }
+    }
+
+    @Override
+    public void release(String key, TokenBucketSpec spec, int permits) {
+        Stripe stripe = stripe(key);
+        long now = nanoClock.getAsLong();
+        synchronized (stripe) {
+            stripe.bucket(key, spec, now).give(spec, now, permits);
+        }
+    }
+
+    private Stripe stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        private long tryTake(TokenBucketSpec spec, long now, int permits) {
+            refill(spec, now);
+            if (tokens >= permits) {
+                tokens -= permits;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((permits - tokens) / spec.refillPerSecond() * 1000));
+        }
+
+        private void give(TokenBucketSpec spec, long now, int permits) {
+            refill(spec, now);
+            tokens = Math.min(spec.capacity(), tokens + permits);
+        }
+
+        private void refill(TokenBucketSpec spec, long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(spec.capacity(), tokens + (now - refilledAt) / 1e9 * spec.refillPerSecond());
+                refilledAt = now;
+            }
+        }
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxEntries) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        private Bucket bucket(String key, TokenBucketSpec spec, long now) {
+            return buckets.computeIfAbsent(key, k -> new Bucket(spec.capacity(), now));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package uz.consortgroup.support_service.ratelimit;
+
+public interface RateLimiter {
+    // 0 — токены взяты; иначе сколько миллисекунд ждать, пока их накопится permits
+    long tryAcquire(String key, TokenBucketSpec spec, int permits);
+
+    // Возврат взятых токенов, если запрос отклонил следующий бакет; бакет не наполняется выше capacity
+    void release(String key, TokenBucketSpec spec, int permits);
+}
@@ -0,0 +1,54 @@
+package uz.consortgroup.support_service.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+// Общие для всех инстансов бакеты в Redis: один EVALSHA на проверку, атомарно на стороне сервера.
+// Если Redis недоступен — деградируем до локальных бакетов, а не пропускаем всё подряд
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    static final RedisScript<Long> SCRIPT = RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), Long.class);
+
+    private final StringRedisTemplate redis;
+    private final String keyPrefix;
+    private final RateLimiter fallback;
+
+    public RedisRateLimiter(StringRedisTemplate redis, String keyPrefix, RateLimiter fallback) {
+        this.redis = redis;
+        this.keyPrefix = keyPrefix;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public long tryAcquire(String key, TokenBucketSpec spec, int permits) {
+        try {
+            return execute(key, spec, permits);
+        } catch (DataAccessException e) {
+            log.warn("Redis rate limiter unavailable, using local buckets: key={}, error={}", key, e.getMessage());
+            return fallback.tryAcquire(key, spec, permits);
+        }
+    }
+
+    // Тот же скрипт с отрицательным числом токенов
+    @Override
+    public void release(String key, TokenBucketSpec spec, int permits) {
+        try {
+            execute(key, spec, -permits);
+        } catch (DataAccessException e) {
+            log.warn("Redis rate limiter unavailable, releasing to local buckets: key={}, error={}", key, e.getMessage());
+            fallback.release(key, spec, permits);
+        }
+    }
+
+    private long execute(String key, TokenBucketSpec spec, int permits) {
+        Long wait = redis.execute(SCRIPT, List.of(keyPrefix + key),
+                String.valueOf(spec.capacity()), String.valueOf(spec.refillPerSecond() / 1000), String.valueOf(permits));
+        return wait == null ? 0 : wait;
+    }
+}
@@ -0,0 +1,99 @@
+package uz.consortgroup.support_service.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.support_service.config.TicketRateLimitProperties;
+import uz.consortgroup.support_service.exception.RateLimitExceededException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.security.AuthContext;
+
+import java.util.UUID;
+
+// Проверка вызывается из контроллера до сервиса: отказ не открывает транзакцию и не берёт соединение
+@Slf4j
+@Component
+public class TicketRateLimiter {
+
+    static final String GLOBAL_KEY = "tickets:global";
+    static final String USER_KEY_PREFIX = "tickets:user:";
+    static final String BATCH_KEY_PREFIX = "tickets:batch:";
+
+    private final RateLimiter rateLimiter;
+    private final AuthContext authContext;
+    private final SupportMetrics supportMetrics;
+    private final boolean enabled;
+    private final TokenBucketSpec perUser;
+    private final TokenBucketSpec global;
+    private final TokenBucketSpec batchItems;
+
+    public TicketRateLimiter(RateLimiter rateLimiter,
+                             AuthContext authContext,
+                             SupportMetrics supportMetrics,
+                             TicketRateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.authContext = authContext;
+        this.supportMetrics = supportMetrics;
+        this.enabled = properties.isEnabled();
+        this.perUser = properties.getPerUser().toSpec();
+        this.global = properties.getGlobal().toSpec();
+        this.batchItems = properties.getBatchItems().toSpec();
+    }
+
+    // Сначала лимит пользователя, чтобы один клиент не выбирал общий бакет; если общий бакет отказал,
+    // токен пользователя возвращается — запрос ничего не создал
+    public void checkCreate() {
+        if (!enabled) {
+            return;
+        }
+        UUID userId = authContext.getCurrentUserId();
+        String userKey = USER_KEY_PREFIX + userId;
+
+        long userWait = rateLimiter.tryAcquire(userKey, perUser, 1);
+        if (userWait > 0) {
+            reject("user", userWait, userId);
+        }
+        long globalWait = rateLimiter.tryAcquire(GLOBAL_KEY, global, 1);
+        if (globalWait > 0) {
+            rateLimiter.release(userKey, perUser, 1);
+            reject("global", globalWait, userId);
+        }
+    }
+
+    // Пачка — один запрос для бакета пользователя и общего бакета, а объём списывается из отдельного бакета
+    // тикетов в пачках: с ёмкостью бакета запросов (5) любая пачка больше 5 элементов получала бы 400.
+    // При отказе следующего бакета всё уже взятое возвращается
+    public void checkCreateBatch(int tickets) {
+        if (!enabled || tickets < 1) {
+            return;
+        }
+        if (tickets > batchItems.capacity()) {
+            throw new IllegalArgumentException("Batch size must be <= " + batchItems.capacity() + " while rate limiting is enabled");
+        }
+        UUID userId = authContext.getCurrentUserId();
+        String userKey = USER_KEY_PREFIX + userId;
+        String batchKey = BATCH_KEY_PREFIX + userId;
+
+        long userWait = rateLimiter.tryAcquire(userKey, perUser, 1);
+        if (userWait > 0) {
+            reject("user", userWait, userId);
+        }
+        long batchWait = rateLimiter.tryAcquire(batchKey, batchItems, tickets);
+        if (batchWait > 0) {
+            rateLimiter.release(userKey, perUser, 1);
+            reject("batch", batchWait, userId);
+        }
+        long globalWait = rateLimiter.tryAcquire(GLOBAL_KEY, global, 1);
+        if (globalWait > 0) {
+            rateLimiter.release(batchKey, batchItems, tickets);
+            rateLimiter.release(userKey, perUser, 1);
+            reject("global", globalWait, userId);
+        }
+    }
+
+    private void reject(String scope, long waitMillis, UUID userId) {
+        supportMetrics.rateLimited(scope);
+        long retryAfter = Math.max(1, (waitMillis + 999) / 1000);
+        log.warn("Ticket creation rate limited: scope={}, userId={}, retryAfter={}s", scope, userId, retryAfter);
+        throw new RateLimitExceededException("Too many ticket submissions, retry in " + retryAfter + "s", retryAfter);
+    }
+}
@@ -0,0 +1,13 @@
+package uz.consortgroup.support_service.ratelimit;
+
+public record TokenBucketSpec(int capacity, double refillPerSecond) {
+
+    public TokenBucketSpec {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Bucket capacity must be >= 1");
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Bucket refill rate must be > 0");
+        }
+    }
+}
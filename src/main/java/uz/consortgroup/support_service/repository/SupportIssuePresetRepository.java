@@ -10,7 +10,6 @@ import java.util.UUID;
 
 @Repository
 public interface SupportIssuePresetRepository extends JpaRepository<SupportIssuePreset, UUID> {
-    boolean existsByRoleAndTextIgnoreCase(UserRole role, String text);
     List<SupportIssuePreset> findAllByRoleAndActiveTrueOrderBySortOrderAsc(UserRole role);
     List<SupportIssuePreset> findAllByRoleOrderBySortOrderAsc(UserRole role);
     List<SupportIssuePreset> findAllByOrderByRoleAscSortOrderAsc();
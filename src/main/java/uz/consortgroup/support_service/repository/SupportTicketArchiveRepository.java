@@ -0,0 +1,85 @@
+package uz.consortgroup.support_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class SupportTicketArchiveRepository {
+
+    // created_at < cutoff избыточно (updated_at >= created_at), но отсекает свежие партиции
+    private static final String SELECT_ARCHIVABLE_SQL = """
+            SELECT id, user_id, role, issue_type, selected_issue_id, comment, status, created_at, updated_at,
+                   duplicate_count
+            FROM support_schema.support_tickets
+            WHERE status = ANY(?) AND created_at < ? AND updated_at < ?
+            ORDER BY created_at, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM support_schema.support_tickets
+            WHERE id = ANY(?) AND created_at < ?
+            """;
+
+    private static final String OLDEST_ARCHIVABLE_SQL = """
+            SELECT min(updated_at)
+            FROM support_schema.support_tickets
+            WHERE status = ANY(?) AND created_at < ? AND updated_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Строки читаются серверным курсором порциями по fetchSize и сразу отдаются в handler,
+    // поэтому должно вызываться внутри транзакции (PgJDBC стримит только при autocommit=false)
+    public void streamArchivable(List<SupportTicketStatus> statuses, Instant cutoff, int limit, int fetchSize,
+                                 RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_ARCHIVABLE_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setArray(1, con.createArrayOf("varchar", statuses.stream().map(Enum::name).toArray()));
+            ps.setObject(2, utc(cutoff));
+            ps.setObject(3, utc(cutoff));
+            ps.setInt(4, limit);
+            return ps;
+        }, handler);
+    }
+
+    public int deleteArchived(List<UUID> ids, Instant cutoff) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(DELETE_SQL);
+            Array array = con.createArrayOf("uuid", ids.toArray());
+            ps.setArray(1, array);
+            ps.setObject(2, utc(cutoff));
+            return ps;
+        });
+    }
+
+    public Optional<Instant> findOldestArchivableUpdatedAt(List<SupportTicketStatus> statuses, Instant cutoff) {
+        OffsetDateTime oldest = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(OLDEST_ARCHIVABLE_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", statuses.stream().map(Enum::name).toArray()));
+            ps.setObject(2, utc(cutoff));
+            ps.setObject(3, utc(cutoff));
+            return ps;
+        }, rs -> rs.next() ? rs.getObject(1, OffsetDateTime.class) : null);
+        return Optional.ofNullable(oldest).map(OffsetDateTime::toInstant);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
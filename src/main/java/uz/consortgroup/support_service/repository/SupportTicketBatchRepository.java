@@ -0,0 +1,48 @@
+package uz.consortgroup.support_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uz.consortgroup.support_service.entity.SupportTicket;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class SupportTicketBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO support_schema.support_tickets
+                (id, user_id, role, issue_type, selected_issue_id, comment, status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int[] insertAll(List<SupportTicket> tickets) {
+        return jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SupportTicket t = tickets.get(i);
+                ps.setObject(1, t.getId());
+                ps.setObject(2, t.getUserId());
+                ps.setString(3, t.getRole().name());
+                ps.setString(4, t.getIssueType().name());
+                ps.setObject(5, t.getSelectedIssue() == null ? null : t.getSelectedIssue().getId());
+                ps.setString(6, t.getComment());
+                ps.setString(7, t.getStatus().name());
+                ps.setObject(8, t.getCreatedAt().atOffset(ZoneOffset.UTC));
+                ps.setObject(9, t.getUpdatedAt().atOffset(ZoneOffset.UTC));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return tickets.size();
+            }
+        });
+    }
+}
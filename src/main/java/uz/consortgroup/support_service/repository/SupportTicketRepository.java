@@ -1,13 +1,108 @@
 package uz.consortgroup.support_service.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.dto.AdminTicketResponse;
+import uz.consortgroup.support_service.dto.UserTicketResponse;
 import uz.consortgroup.support_service.entity.SupportTicket;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public interface SupportTicketRepository extends JpaRepository<SupportTicket, UUID> {
-    Page<SupportTicket> findAllByStatus(SupportTicketStatus status, Pageable pageable);
+
+    interface StatusCount {
+        SupportTicketStatus getStatus();
+        long getCount();
+    }
+
+    // Админский список: DTO-проекция с left join пресета — сущности не гидрируются (нет снапшотов для
+    // dirty checking), текст пресета приходит в той же строке вместо N+1 на ленивом selectedIssue
+    String ADMIN_VIEW = """
+            select new uz.consortgroup.support_service.dto.AdminTicketResponse(
+                t.id, t.userId, t.role, t.issueType, p.id, p.text, t.comment, t.status, t.createdAt, t.updatedAt)
+            from SupportTicket t left join t.selectedIssue p
+            """;
+
+    @Query(value = ADMIN_VIEW, countQuery = "select count(t) from SupportTicket t")
+    Page<AdminTicketResponse> findAdminView(Pageable pageable);
+
+    @Query(value = ADMIN_VIEW + "where t.status = :status",
+            countQuery = "select count(t) from SupportTicket t where t.status = :status")
+    Page<AdminTicketResponse> findAdminViewByStatus(@Param("status") SupportTicketStatus status, Pageable pageable);
+
+    @Query(ADMIN_VIEW + "order by t.createdAt desc, t.id desc")
+    List<AdminTicketResponse> findAdminViewLatest(Limit limit);
+
+    @Query(ADMIN_VIEW + "where t.status = :status order by t.createdAt desc, t.id desc")
+    List<AdminTicketResponse> findAdminViewLatestByStatus(@Param("status") SupportTicketStatus status, Limit limit);
+
+    // Отдельное t.createdAt <= :createdAt избыточно для результата, но по row-comparison
+    // PostgreSQL не отсекает партиции — а по простому диапазону отсекает все более новые месяцы
+    @Query(ADMIN_VIEW + """
+            where t.createdAt <= :createdAt and (t.createdAt, t.id) < (:createdAt, :id)
+            order by t.createdAt desc, t.id desc
+            """)
+    List<AdminTicketResponse> findAdminViewBefore(@Param("createdAt") Instant createdAt,
+                                                  @Param("id") UUID id,
+                                                  Limit limit);
+
+    @Query(ADMIN_VIEW + """
+            where t.status = :status and t.createdAt <= :createdAt and (t.createdAt, t.id) < (:createdAt, :id)
+            order by t.createdAt desc, t.id desc
+            """)
+    List<AdminTicketResponse> findAdminViewBeforeByStatus(@Param("status") SupportTicketStatus status,
+                                                          @Param("createdAt") Instant createdAt,
+                                                          @Param("id") UUID id,
+                                                          Limit limit);
+
+    // История пользователя: constructor-проекция без гидрации сущностей, selectedIssue.id берётся из FK-колонки
+    // без join. Все колонки есть в idx_support_tickets_user_history, поэтому план — Index Only Scan
+    @Query("""
+            select new uz.consortgroup.support_service.dto.UserTicketResponse(
+                t.id, t.issueType, t.selectedIssue.id, t.status, t.createdAt, t.updatedAt)
+            from SupportTicket t
+            where t.userId = :userId
+            order by t.createdAt desc, t.id desc
+            """)
+    List<UserTicketResponse> findUserTickets(@Param("userId") UUID userId, Limit limit);
+
+    @Query("""
+            select new uz.consortgroup.support_service.dto.UserTicketResponse(
+                t.id, t.issueType, t.selectedIssue.id, t.status, t.createdAt, t.updatedAt)
+            from SupportTicket t
+            where t.userId = :userId and t.createdAt <= :createdAt and (t.createdAt, t.id) < (:createdAt, :id)
+            order by t.createdAt desc, t.id desc
+            """)
+    List<UserTicketResponse> findUserTicketsBefore(@Param("userId") UUID userId,
+                                                   @Param("createdAt") Instant createdAt,
+                                                   @Param("id") UUID id,
+                                                   Limit limit);
+
+    // Сверка TicketStatusCounters: полный проход по idx_support_tickets_status_created_at раз в
+    // reconcile-interval вместо count(*) на каждый опрос дашборда
+    @Query("select t.status as status, count(t) as count from SupportTicket t group by t.status")
+    List<StatusCount> countByStatus();
+
+    // Обновление по полному PK (id, created_at) — затрагивает одну партицию; закрытый инцидент не продлевается.
+    // Своя транзакция: createTicket вызывает свёртку вне транзакции запроса
+    @Transactional
+    @Modifying
+    @Query("""
+            update SupportTicket t
+            set t.duplicateCount = t.duplicateCount + 1, t.lastDuplicateAt = :now
+            where t.id = :id and t.createdAt = :createdAt and t.status <> :closed
+            """)
+    int incrementDuplicates(@Param("id") UUID id,
+                            @Param("createdAt") Instant createdAt,
+                            @Param("now") Instant now,
+                            @Param("closed") SupportTicketStatus closed);
 }
@@ -0,0 +1,153 @@
+package uz.consortgroup.support_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Смена статуса одним UPDATE ... RETURNING вместо findById + save. Подзапрос блокирует строки (FOR UPDATE,
+// в порядке id — без взаимных блокировок между параллельными bulk-обновлениями) и отдаёт прежний статус
+// для событий outbox; bulk-обновление не трогает тикеты, уже находящиеся в целевом статусе
+@Repository
+@RequiredArgsConstructor
+public class SupportTicketStatusRepository {
+
+    private static final String UPDATE_SQL = """
+            UPDATE support_schema.support_tickets t
+            SET status = ?, updated_at = ?
+            FROM (
+                SELECT id, created_at, status
+                FROM support_schema.support_tickets
+                WHERE %s AND status <> ?
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE
+            ) old
+            WHERE t.id = old.id AND t.created_at = old.created_at
+            RETURNING t.id, t.user_id, t.role, t.issue_type, t.selected_issue_id, t.status, old.status AS previous_status
+            """;
+
+    // Один тикет: UPDATE ... RETURNING отдаёт строку для ответа, поэтому отдельный SELECT не нужен.
+    // Условие на old.status — оптимистичная проверка: после FOR UPDATE подзапрос видит последнюю
+    // закоммиченную версию строки, так что параллельно изменённый статус даёт 0 строк, а не перезапись.
+    // Повторная установка того же статуса не сдвигает updated_at
+    private static final String UPDATE_ONE_SQL = """
+            UPDATE support_schema.support_tickets t
+            SET status = ?, updated_at = CASE WHEN old.status = ? THEN t.updated_at ELSE ? END
+            FROM (
+                SELECT id, created_at, status
+                FROM support_schema.support_tickets
+                WHERE id = ?
+                FOR UPDATE
+            ) old
+            WHERE t.id = old.id AND t.created_at = old.created_at%s
+            RETURNING t.id, t.user_id, t.role, t.issue_type, t.selected_issue_id, t.comment, t.status,
+                      t.created_at, t.updated_at, old.status AS previous_status
+            """;
+
+    private static final String UPDATE_ONE_UNCONDITIONAL_SQL = UPDATE_ONE_SQL.formatted("");
+    private static final String UPDATE_ONE_EXPECTED_SQL = UPDATE_ONE_SQL.formatted(" AND old.status = ?");
+
+    private static final String SELECT_STATUS_SQL = """
+            SELECT status FROM support_schema.support_tickets WHERE id = ?
+            """;
+
+    private static final String UPDATE_BY_IDS_SQL = UPDATE_SQL.formatted("id = ANY(?)");
+    private static final String UPDATE_BY_STATUS_SQL = UPDATE_SQL.formatted("status = ?");
+    private static final String UPDATE_BY_STATUS_AND_PRESET_SQL = UPDATE_SQL.formatted("status = ? AND selected_issue_id = ?");
+
+    private static final RowMapper<Transition> TRANSITION_MAPPER = (rs, n) -> new Transition(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            UserRole.valueOf(rs.getString("role")),
+            SupportIssueType.valueOf(rs.getString("issue_type")),
+            rs.getObject("selected_issue_id", UUID.class),
+            SupportTicketStatus.valueOf(rs.getString("status")),
+            SupportTicketStatus.valueOf(rs.getString("previous_status")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Transition(UUID id,
+                             UUID userId,
+                             UserRole role,
+                             SupportIssueType issueType,
+                             UUID selectedIssueId,
+                             SupportTicketStatus status,
+                             SupportTicketStatus previousStatus) {
+    }
+
+    public record UpdatedTicket(Transition transition, String comment, Instant createdAt, Instant updatedAt) {
+    }
+
+    // expected == null — без проверки текущего статуса; пусто, если тикета нет или его статус уже не expected
+    public Optional<UpdatedTicket> updateStatus(UUID id, SupportTicketStatus status, SupportTicketStatus expected, Instant now) {
+        List<UpdatedTicket> rows = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(expected == null ? UPDATE_ONE_UNCONDITIONAL_SQL : UPDATE_ONE_EXPECTED_SQL);
+            ps.setString(1, status.name());
+            ps.setString(2, status.name());
+            ps.setObject(3, utc(now));
+            ps.setObject(4, id);
+            if (expected != null) {
+                ps.setString(5, expected.name());
+            }
+            return ps;
+        }, (rs, n) -> new UpdatedTicket(
+                TRANSITION_MAPPER.mapRow(rs, n),
+                rs.getString("comment"),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                rs.getObject("updated_at", OffsetDateTime.class).toInstant()));
+        return rows.stream().findFirst();
+    }
+
+    public Optional<SupportTicketStatus> findStatus(UUID id) {
+        return jdbcTemplate.query(SELECT_STATUS_SQL, rs -> rs.next()
+                ? Optional.of(SupportTicketStatus.valueOf(rs.getString(1)))
+                : Optional.empty(), id);
+    }
+
+    public List<Transition> updateStatusByIds(List<UUID> ids, SupportTicketStatus status, Instant now) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(UPDATE_BY_IDS_SQL);
+            ps.setString(1, status.name());
+            ps.setObject(2, utc(now));
+            ps.setArray(3, con.createArrayOf("uuid", ids.toArray()));
+            ps.setString(4, status.name());
+            ps.setInt(5, ids.size());
+            return ps;
+        }, TRANSITION_MAPPER);
+    }
+
+    // Не больше limit строк за вызов; повтор с тем же фильтром продолжает с оставшихся
+    public List<Transition> updateStatusByFilter(SupportTicketStatus current, UUID selectedIssueId,
+                                                 SupportTicketStatus status, Instant now, int limit) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    selectedIssueId == null ? UPDATE_BY_STATUS_SQL : UPDATE_BY_STATUS_AND_PRESET_SQL);
+            int i = 1;
+            ps.setString(i++, status.name());
+            ps.setObject(i++, utc(now));
+            ps.setString(i++, current.name());
+            if (selectedIssueId != null) {
+                ps.setObject(i++, selectedIssueId);
+            }
+            ps.setString(i++, status.name());
+            ps.setInt(i, limit);
+            return ps;
+        }, TRANSITION_MAPPER);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,99 @@
+package uz.consortgroup.support_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uz.consortgroup.support_service.outbox.OutboxEventType;
+import uz.consortgroup.support_service.outbox.OutboxMessage;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class TicketOutboxRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO support_schema.ticket_outbox (event_type, aggregate_id, payload)
+            VALUES (?, ?, ?)
+            """;
+
+    // SKIP LOCKED: несколько релеев (по одному на инстанс) разбирают непересекающиеся пачки без ожидания
+    private static final String LOCK_BATCH_SQL = """
+            SELECT id, event_type, aggregate_id, payload, created_at
+            FROM support_schema.ticket_outbox
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM support_schema.ticket_outbox
+            WHERE id = ANY(?)
+            """;
+
+    private static final String OLDEST_SQL = """
+            SELECT created_at
+            FROM support_schema.ticket_outbox
+            ORDER BY id
+            LIMIT 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Entry(OutboxEventType type, UUID aggregateId, String payload) {
+    }
+
+    public void insertAll(List<Entry> entries) {
+        if (entries.size() == 1) {
+            Entry e = entries.get(0);
+            jdbcTemplate.update(INSERT_SQL, e.type().name(), e.aggregateId(), e.payload());
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Entry e = entries.get(i);
+                ps.setString(1, e.type().name());
+                ps.setObject(2, e.aggregateId());
+                ps.setString(3, e.payload());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    // Должно вызываться в транзакции: блокировки держатся до удаления опубликованных строк
+    public List<OutboxMessage> lockBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH_SQL, (rs, n) -> new OutboxMessage(
+                rs.getLong("id"),
+                OutboxEventType.valueOf(rs.getString("event_type")),
+                rs.getObject("aggregate_id", UUID.class),
+                rs.getString("payload"),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant()), limit);
+    }
+
+    public int deleteAll(List<Long> ids) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(DELETE_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    // Голова очереди по PK — без сканирования всей таблицы
+    public Optional<Instant> findOldestCreatedAt() {
+        return jdbcTemplate.query(OLDEST_SQL, rs -> rs.next()
+                ? Optional.of(rs.getObject(1, OffsetDateTime.class).toInstant())
+                : Optional.empty());
+    }
+}
@@ -22,16 +22,12 @@ class AuthContextImpl implements AuthContext {
         throw new UnauthorizedException("User is not authenticated");
     }
 
+    // Роли всегда разбирает AuthHeaderFilter; заголовок здесь не читается
     @Override
     public UserRole getCurrentUserRole() {
-        String rolesHeader = request.getHeader(AuthHeaders.ROLES);
-        if (rolesHeader != null && !rolesHeader.isBlank()) {
-            String first = rolesHeader.split(",")[0].trim();
-            try {
-                return UserRole.valueOf(first);
-            } catch (IllegalArgumentException ignored) {
-            }
+        if (request.getAttribute(AuthHeaderFilter.ATTR_USER_ROLES) instanceof RoleSet roles && roles.primary() != null) {
+            return roles.primary();
         }
         throw new UnauthorizedException("User role is missing");
     }
-}
\ No newline at end of file
+}
@@ -10,5 +10,9 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthenticatedUser {
     private final UUID userId;
-    private final UserRole role;
-}
\ No newline at end of file
+    private final RoleSet roles;
+
+    public UserRole getRole() {
+        return roles.primary();
+    }
+}
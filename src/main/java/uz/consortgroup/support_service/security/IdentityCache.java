@@ -0,0 +1,84 @@
+package uz.consortgroup.support_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.support_service.config.IdentityCacheProperties;
+
+import java.util.Objects;
+import java.util.UUID;
+
+// Разобранные идентичности по сырым заголовкам шлюза. Ключ — значение X-User-Id, в записи хранится
+// X-User-Roles, из которого она получена: при смене ролей запись перезаписывается. Поиск по ключу-строке
+// из запроса без составного ключа, поэтому попадание ничего не аллоцирует.
+@Component
+public class IdentityCache {
+
+    // Узел Caffeine, два String, запись, AuthenticatedUser и UUID
+    static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final IdentityCacheProperties properties;
+    private final Cache<String, Entry> cache;
+
+    public IdentityCache(IdentityCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String userId, Entry entry) -> weigh(userId, entry.rolesHeader()))
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.identity");
+    }
+
+    // null, если X-User-Id не UUID
+    public AuthenticatedUser resolve(String userIdHeader, String rolesHeader) {
+        if (!properties.isEnabled() || !cacheable(userIdHeader, rolesHeader)) {
+            return parse(userIdHeader, rolesHeader);
+        }
+
+        Entry cached = cache.getIfPresent(userIdHeader);
+        if (cached != null && Objects.equals(cached.rolesHeader(), rolesHeader)) {
+            return cached.user();
+        }
+
+        AuthenticatedUser user = parse(userIdHeader, rolesHeader);
+        if (user != null) {
+            cache.put(userIdHeader, new Entry(rolesHeader, user));
+        }
+        return user;
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private boolean cacheable(String userIdHeader, String rolesHeader) {
+        int max = properties.getMaxHeaderLength();
+        return userIdHeader.length() <= max && (rolesHeader == null || rolesHeader.length() <= max);
+    }
+
+    private static AuthenticatedUser parse(String userIdHeader, String rolesHeader) {
+        UUID userId;
+        try {
+            userId = UUID.fromString(userIdHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, RoleSet.parse(rolesHeader));
+    }
+
+    static int weigh(String userIdHeader, String rolesHeader) {
+        int chars = userIdHeader.length() + (rolesHeader == null ? 0 : rolesHeader.length());
+        return ENTRY_OVERHEAD_BYTES + 2 * chars;
+    }
+
+    private record Entry(String rolesHeader, AuthenticatedUser user) {
+    }
+}
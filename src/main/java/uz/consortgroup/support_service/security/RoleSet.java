@@ -0,0 +1,187 @@
+package uz.consortgroup.support_service.security;
+
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+
+// Роли пользователя из X-User-Roles: битовая маска по ordinal + роль текущего запроса (primary).
+// Все комбинации (mask, primary) предвычислены, поэтому parse() на горячем пути ничего не аллоцирует
+public final class RoleSet {
+
+    private static final UserRole[] ROLES = UserRole.values();
+
+    // INSTANCES[0][mask] — без primary, INSTANCES[primary.ordinal() + 1][mask]; primary всегда входит в mask
+    private static final RoleSet[][] INSTANCES = new RoleSet[ROLES.length + 1][1 << ROLES.length];
+
+    // Имена ролей, сгруппированные по длине: токен сравнивается только с ролями той же длины
+    private static final UserRole[][] BY_LENGTH;
+
+    static {
+        if (ROLES.length > Integer.SIZE - 1) {
+            throw new IllegalStateException("Too many roles for an int mask: " + ROLES.length);
+        }
+        for (int mask = 0; mask < (1 << ROLES.length); mask++) {
+            INSTANCES[0][mask] = new RoleSet(mask, null);
+            for (UserRole primary : ROLES) {
+                if ((mask & (1 << primary.ordinal())) != 0) {
+                    INSTANCES[primary.ordinal() + 1][mask] = new RoleSet(mask, primary);
+                }
+            }
+        }
+
+        int maxLength = 0;
+        for (UserRole role : ROLES) {
+            maxLength = Math.max(maxLength, role.name().length());
+        }
+        BY_LENGTH = new UserRole[maxLength + 1][];
+        for (int len = 0; len <= maxLength; len++) {
+            int n = len;
+            BY_LENGTH[len] = Arrays.stream(ROLES).filter(r -> r.name().length() == n).toArray(UserRole[]::new);
+        }
+    }
+
+    public static final RoleSet EMPTY = INSTANCES[0][0];
+
+    private final int mask;
+    private final UserRole primary;
+
+    private RoleSet(int mask, UserRole primary) {
+        this.mask = mask;
+        this.primary = primary;
+    }
+
+    // Правила прежнего разбора без изменений. Маска — как в AuthHeaderFilter: split("[,;\\s]+"), trim(),
+    // toUpperCase(Locale.ROOT), неизвестные роли пропускаются. primary — как в AuthContextImpl: первый токен
+    // до ',', trim(), точное совпадение с именем роли; иначе null
+    public static RoleSet parse(String header) {
+        if (header == null) {
+            return EMPTY;
+        }
+        int mask = 0;
+        int length = header.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && isDelimiter(header.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !isDelimiter(header.charAt(i))) {
+                i++;
+            }
+            UserRole role = lookup(header, start, i);
+            if (role != null) {
+                mask |= 1 << role.ordinal();
+            }
+        }
+        UserRole primary = primary(header);
+        return INSTANCES[primary == null ? 0 : primary.ordinal() + 1][mask];
+    }
+
+    public static RoleSet of(UserRole primary, UserRole... others) {
+        int mask = 1 << primary.ordinal();
+        for (UserRole role : others) {
+            mask |= 1 << role.ordinal();
+        }
+        return INSTANCES[primary.ordinal() + 1][mask];
+    }
+
+    public boolean contains(UserRole role) {
+        return (mask & (1 << role.ordinal())) != 0;
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    // Роль из первого токена заголовка; null, если он не является точным именем роли
+    public UserRole primary() {
+        return primary;
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    public EnumSet<UserRole> toEnumSet() {
+        EnumSet<UserRole> set = EnumSet.noneOf(UserRole.class);
+        for (UserRole role : ROLES) {
+            if (contains(role)) {
+                set.add(role);
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public String toString() {
+        return "RoleSet" + toEnumSet() + (primary == null ? "" : "(primary=" + primary + ")");
+    }
+
+    private static UserRole primary(String header) {
+        int end = header.indexOf(',');
+        if (end < 0) {
+            end = header.length();
+        }
+        int start = 0;
+        while (start < end && header.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && header.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0 || length >= BY_LENGTH.length) {
+            return null;
+        }
+        for (UserRole role : BY_LENGTH[length]) {
+            if (header.startsWith(role.name(), start)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    private static UserRole lookup(String header, int start, int end) {
+        while (start < end && header.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && header.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0) {
+            return null;
+        }
+        for (int i = start; i < end; i++) {
+            if (header.charAt(i) > 0x7F) {
+                return lookupUpperCased(header.substring(start, end));
+            }
+        }
+        if (length >= BY_LENGTH.length) {
+            return null;
+        }
+        // Для ASCII сравнение без учёта регистра совпадает с toUpperCase(Locale.ROOT)
+        for (UserRole role : BY_LENGTH[length]) {
+            if (header.regionMatches(true, start, role.name(), 0, length)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    // Вне ASCII toUpperCase меняет и длину (ß -> SS, ﬆ -> ST), поэтому редкий случай разбирается как раньше
+    private static UserRole lookupUpperCased(String token) {
+        try {
+            return UserRole.valueOf(token.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // \s без UNICODE_CHARACTER_CLASS — только ASCII-пробелы
+    private static boolean isDelimiter(char c) {
+        return c == ',' || c == ';' || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
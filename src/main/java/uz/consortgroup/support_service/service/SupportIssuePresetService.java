@@ -1,6 +1,7 @@
 package uz.consortgroup.support_service.service;
 
 import uz.consortgroup.core.api.v1.dto.support.response.IssuePresetResponse;
+import uz.consortgroup.support_service.cache.CachedPreset;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
 
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 public interface SupportIssuePresetService {
-    Optional<SupportIssuePreset> findSelectedIssueId(UUID selectedIssueId);
+    Optional<CachedPreset> findIndexedPreset(UUID presetId);
+    SupportIssuePreset getPresetReference(UUID presetId);
     List<IssuePresetResponse> getActivePresetsForCurrentUserRole();
 }
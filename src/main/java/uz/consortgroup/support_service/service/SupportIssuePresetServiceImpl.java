@@ -1,11 +1,15 @@
 package uz.consortgroup.support_service.service;
 
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import uz.consortgroup.core.api.v1.dto.support.response.IssuePresetResponse;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.cache.CachedPreset;
+import uz.consortgroup.support_service.cache.PresetSnapshot;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
 import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
 import uz.consortgroup.support_service.security.AuthContext;
 
@@ -19,24 +23,28 @@ import java.util.UUID;
 public class SupportIssuePresetServiceImpl implements SupportIssuePresetService {
 
     private final SupportIssuePresetRepository supportIssuePresetRepository;
+    private final PresetSnapshot presetSnapshot;
     private final AuthContext authContext;
+    private final SupportMetrics supportMetrics;
 
     @Override
-    public Optional<SupportIssuePreset> findSelectedIssueId(UUID selectedIssueId) {
-        log.info("Find selected issue id: {}", selectedIssueId);
-        return supportIssuePresetRepository.findById(selectedIssueId);
+    public Optional<CachedPreset> findIndexedPreset(UUID presetId) {
+        return presetSnapshot.find(presetId);
+    }
+
+    @Override
+    public SupportIssuePreset getPresetReference(UUID presetId) {
+        return supportIssuePresetRepository.getReferenceById(presetId);
     }
 
     @Override
     public List<IssuePresetResponse> getActivePresetsForCurrentUserRole() {
         UserRole role = authContext.getCurrentUserRole();
 
-        List<SupportIssuePreset> list =
-                supportIssuePresetRepository.findAllByRoleAndActiveTrueOrderBySortOrderAsc(role);
+        List<IssuePresetResponse> list = supportMetrics.time(SupportMetrics.PRESETS_ACTIVE, Tags.of(SupportMetrics.role(role)),
+                () -> presetSnapshot.activeFor(role));
 
-        log.info("Loaded {} presets for role={}", list.size(), role);
-        return list.stream()
-                .map(p -> new IssuePresetResponse(p.getId(), p.getText()))
-                .toList();
+        log.debug("Served {} presets for role={} from snapshot", list.size(), role);
+        return list;
     }
 }
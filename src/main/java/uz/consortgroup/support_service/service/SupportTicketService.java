@@ -2,7 +2,13 @@ package uz.consortgroup.support_service.service;
 
 import uz.consortgroup.core.api.v1.dto.support.request.CreateTicketRequestDto;
 import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.UserTicketResponse;
+
+import java.util.List;
 
 public interface SupportTicketService {
     TicketCreatedResponse createTicket(CreateTicketRequestDto createTicketRequestDto);
+    TicketCreatedResponse createTickets(List<CreateTicketRequestDto> createTicketRequestDtos);
+    CursorSlice<UserTicketResponse> listMyTickets(String cursor, int size);
 }
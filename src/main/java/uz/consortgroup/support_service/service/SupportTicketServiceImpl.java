@@ -1,21 +1,33 @@
 package uz.consortgroup.support_service.service;
 
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.TicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.request.CreateTicketRequestDto;
 import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.UserTicketResponse;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
 import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.outbox.TicketOutbox;
 import uz.consortgroup.support_service.repository.SupportTicketRepository;
 import uz.consortgroup.support_service.security.AuthContext;
+import uz.consortgroup.support_service.service.coalescing.TicketCoalescer;
+import uz.consortgroup.support_service.service.counters.TicketStatusCounters;
+import uz.consortgroup.support_service.service.ingestion.TicketIngestionQueue;
 import uz.consortgroup.support_service.validator.SupportTicketValidator;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -23,21 +35,131 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SupportTicketServiceImpl implements SupportTicketService {
 
+    static final int MAX_BATCH_SIZE = 500;
+    static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final SupportTicketRepository supportTicketRepository;
     private final SupportTicketValidator supportTicketValidator;
     private final AuthContext authContext;
+    private final TicketIngestionQueue ticketIngestionQueue;
+    private final SupportMetrics supportMetrics;
+    private final TicketCoalescer ticketCoalescer;
+    private final TicketOutbox ticketOutbox;
+    private final TicketStatusCounters ticketStatusCounters;
+    private final TransactionTemplate transactionTemplate;
 
+    // Без @Transactional на весь метод: в режиме очереди запрос не держит транзакцию и соединение,
+    // транзакция открывается только для синхронной записи
     @Override
-    @Transactional
     public TicketCreatedResponse createTicket(CreateTicketRequestDto dto) {
         UUID userId = authContext.getCurrentUserId();
         UserRole role = authContext.getCurrentUserRole();
 
-        log.info("Create support ticket request: userId={}, role={}, selectedIssueId={}",
-                userId, role.name(), dto.getSelectedIssueId());
+        return supportMetrics.time(SupportMetrics.TICKET_CREATE, Tags.of(SupportMetrics.role(role)), () -> {
+            log.info("Create support ticket request: userId={}, role={}, selectedIssueId={}",
+                    userId, role.name(), dto.getSelectedIssueId());
+
+            supportTicketValidator.validateRoleAllowed(role);
+
+            SupportTicket ticket = buildTicket(dto, userId, role);
+
+            if (ticketCoalescer.tryCoalesce(ticket)) {
+                supportMetrics.ticketCoalesced(ticket.getIssueType());
+                log.info("Support ticket coalesced into open incident: userId={}, selectedIssueId={}",
+                        userId, dto.getSelectedIssueId());
+            } else if (ticketIngestionQueue.isEnabled()) {
+                ticketIngestionQueue.enqueue(ticket);
+                log.info("Support ticket queued: ticketId={}, userId={}, issueType={}, queueDepth={}",
+                        ticket.getId(), userId, ticket.getIssueType().name(), ticketIngestionQueue.depth());
+            } else {
+                transactionTemplate.executeWithoutResult(status -> {
+                    supportTicketRepository.save(ticket);
+                    ticketOutbox.ticketCreated(ticket);
+                    ticketStatusCounters.ticketCreated(ticket);
+                    supportMetrics.ticketsCreated(ticket.getIssueType(), role, 1);
+                });
+                ticketCoalescer.opened(ticket);
+                log.info("Support ticket created: ticketId={}, userId={}, issueType={}, status={}",
+                        ticket.getId(), userId, ticket.getIssueType().name(), ticket.getStatus().name());
+            }
+
+            return TicketCreatedResponse.builder()
+                    .ticketStatus(TicketStatus.SUCCESS)
+                    .message("Заявка отправлена")
+                    .build();
+        });
+    }
+
+    @Override
+    @Transactional
+    public TicketCreatedResponse createTickets(List<CreateTicketRequestDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("At least one ticket is required");
+        }
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be <= " + MAX_BATCH_SIZE);
+        }
+
+        UUID userId = authContext.getCurrentUserId();
+        UserRole role = authContext.getCurrentUserRole();
+
+        log.info("Create support tickets batch request: userId={}, role={}, size={}", userId, role.name(), dtos.size());
 
         supportTicketValidator.validateRoleAllowed(role);
 
+        List<SupportTicket> tickets = new ArrayList<>(dtos.size());
+        for (CreateTicketRequestDto dto : dtos) {
+            tickets.add(buildTicket(dto, userId, role));
+        }
+
+        supportTicketRepository.saveAll(tickets);
+        ticketOutbox.ticketsCreated(tickets);
+        ticketStatusCounters.ticketsCreated(tickets);
+        for (SupportTicket ticket : tickets) {
+            supportMetrics.ticketsCreated(ticket.getIssueType(), role, 1);
+        }
+
+        log.info("Support tickets batch created: userId={}, size={}", userId, tickets.size());
+
+        return TicketCreatedResponse.builder()
+                .ticketStatus(TicketStatus.SUCCESS)
+                .message("Заявки отправлены: " + tickets.size())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<UserTicketResponse> listMyTickets(String cursor, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+        UUID userId = authContext.getCurrentUserId();
+        UserRole role = authContext.getCurrentUserRole();
+
+        return supportMetrics.time(SupportMetrics.TICKET_HISTORY, Tags.of(SupportMetrics.role(role)), () -> {
+            log.debug("List user tickets: userId={}, cursorPresent={}, size={}", userId, cursor != null, size);
+
+            Limit limit = Limit.of(size + 1);
+            List<UserTicketResponse> rows;
+            if (cursor == null || cursor.isBlank()) {
+                rows = supportTicketRepository.findUserTickets(userId, limit);
+            } else {
+                TicketCursor after = TicketCursor.decode(cursor);
+                rows = supportTicketRepository.findUserTicketsBefore(userId, after.createdAt(), after.id(), limit);
+            }
+
+            boolean hasNext = rows.size() > size;
+            List<UserTicketResponse> page = hasNext ? rows.subList(0, size) : rows;
+            String nextCursor = null;
+            if (hasNext) {
+                UserTicketResponse last = page.get(page.size() - 1);
+                nextCursor = new TicketCursor(last.createdAt(), last.id()).encode();
+            }
+            return new CursorSlice<>(List.copyOf(page), size, hasNext, nextCursor);
+        });
+    }
+
+    private SupportTicket buildTicket(CreateTicketRequestDto dto, UUID userId, UserRole role) {
         SupportTicket ticket = new SupportTicket();
         ticket.setUserId(userId);
         ticket.setRole(role);
@@ -52,22 +174,13 @@ public class SupportTicketServiceImpl implements SupportTicketService {
             String note = supportTicketValidator.normalizeOptionalComment(dto.getComment());
             ticket.setComment(note);
 
-            log.debug("Ticket mapped as PRESET: presetId={}, commentPresent={}", preset.getId(), note != null);
+            log.debug("Ticket mapped as PRESET: presetId={}, commentPresent={}", presetId, note != null);
         } else {
             String normalized = supportTicketValidator.normalizeCommentOrThrow(dto.getComment());
             ticket.setIssueType(SupportIssueType.CUSTOM);
             ticket.setComment(normalized);
             log.debug("Ticket mapped as CUSTOM: commentLength={}", normalized.length());
         }
-
-        supportTicketRepository.save(ticket);
-
-        log.info("Support ticket created: ticketId={}, userId={}, issueType={}, status={}",
-                ticket.getId(), userId, ticket.getIssueType().name(), ticket.getStatus().name());
-
-        return TicketCreatedResponse.builder()
-                .ticketStatus(TicketStatus.SUCCESS)
-                .message("Заявка отправлена")
-                .build();
+        return ticket;
     }
 }
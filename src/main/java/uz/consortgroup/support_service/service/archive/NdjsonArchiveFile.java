@@ -0,0 +1,80 @@
+package uz.consortgroup.support_service.service.archive;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// Один gzip NDJSON файл на чанк: пишется во временный файл и публикуется атомарным rename,
+// так что в каталоге архива никогда не бывает недописанных файлов
+class NdjsonArchiveFile implements Closeable {
+
+    private final Path tmp;
+    private final Path target;
+    private final FileOutputStream file;
+    private final GZIPOutputStream gzip;
+    private final JsonGenerator json;
+    private int rows;
+    private boolean published;
+
+    NdjsonArchiveFile(JsonFactory jsonFactory, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        this.target = target;
+        this.tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.file = new FileOutputStream(tmp.toFile());
+        this.gzip = new GZIPOutputStream(file, 64 * 1024);
+        this.json = jsonFactory.createGenerator((OutputStream) gzip);
+        this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Иначе Jackson ставит пробел перед каждым следующим корневым объектом
+        this.json.setRootValueSeparator(null);
+    }
+
+    void writeRow(ResultSet rs) throws SQLException, IOException {
+        json.writeStartObject();
+        json.writeStringField("id", rs.getString("id"));
+        json.writeStringField("userId", rs.getString("user_id"));
+        json.writeStringField("role", rs.getString("role"));
+        json.writeStringField("issueType", rs.getString("issue_type"));
+        json.writeStringField("selectedIssueId", rs.getString("selected_issue_id"));
+        json.writeStringField("comment", rs.getString("comment"));
+        json.writeStringField("status", rs.getString("status"));
+        json.writeStringField("createdAt", rs.getObject("created_at", OffsetDateTime.class).toInstant().toString());
+        json.writeStringField("updatedAt", rs.getObject("updated_at", OffsetDateTime.class).toInstant().toString());
+        json.writeNumberField("duplicateCount", rs.getInt("duplicate_count"));
+        json.writeEndObject();
+        json.writeRaw('\n');
+        rows++;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    Path publish() throws IOException {
+        json.flush();
+        gzip.finish();
+        file.getFD().sync();
+        file.close();
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        published = true;
+        return target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!published) {
+            file.close();
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
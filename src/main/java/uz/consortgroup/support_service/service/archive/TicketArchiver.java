@@ -0,0 +1,130 @@
+package uz.consortgroup.support_service.service.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.support_service.config.TicketArchiveProperties;
+import uz.consortgroup.support_service.repository.SupportTicketArchiveRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "support.tickets.archive", name = "enabled", havingValue = "true")
+public class TicketArchiver {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final SupportTicketArchiveRepository archiveRepository;
+    private final TicketArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter archived;
+    private final Timer runTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong lastRunRowsPerSecond = new AtomicLong();
+
+    public TicketArchiver(SupportTicketArchiveRepository archiveRepository,
+                          TicketArchiveProperties properties,
+                          TransactionTemplate transactionTemplate,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+
+        this.archived = meterRegistry.counter("support.tickets.archive.archived");
+        this.runTimer = meterRegistry.timer("support.tickets.archive.run");
+        Gauge.builder("support.tickets.archive.lag", lagSeconds, AtomicLong::get)
+                .description("How long the oldest archivable ticket has been waiting past the cut-off")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("support.tickets.archive.throughput", lastRunRowsPerSecond, AtomicLong::get)
+                .description("Rows per second archived by the last run")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${support.tickets.archive.cron:0 30 3 * * *}", zone = "UTC")
+    public void scheduledRun() {
+        try {
+            archive(Instant.now());
+        } catch (DataAccessException | UncheckedIOException e) {
+            log.error("Ticket archival failed", e);
+        }
+    }
+
+    public int archive(Instant now) {
+        Instant cutoff = now.minus(properties.getOlderThan());
+        String runId = RUN_ID.format(now);
+        long started = System.nanoTime();
+        int total = 0;
+        int chunks = 0;
+        try {
+            while (chunks < properties.getMaxChunksPerRun()) {
+                Path target = properties.getDirectory().resolve("support-tickets-%s-%06d.ndjson.gz".formatted(runId, chunks + 1));
+                int rows = transactionTemplate.execute(status -> archiveChunk(cutoff, target));
+                if (rows == 0) {
+                    break;
+                }
+                total += rows;
+                chunks++;
+                archived.increment(rows);
+            }
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            runTimer.record(Duration.ofNanos(elapsed));
+            lastRunRowsPerSecond.set(elapsed == 0 ? 0 : total * 1_000_000_000L / elapsed);
+        }
+        // Не в finally: сбой этого запроса не должен подменить исключение самого прогона
+        lagSeconds.set(archiveRepository.findOldestArchivableUpdatedAt(properties.getStatuses(), cutoff)
+                .map(oldest -> Duration.between(oldest, cutoff).toSeconds())
+                .orElse(0L));
+        log.info("Ticket archival finished: rows={}, chunks={}, cutoff={}, lagSeconds={}", total, chunks, cutoff, lagSeconds.get());
+        return total;
+    }
+
+    // Файл публикуется до удаления строк: при сбое на DELETE строки попадут в архив повторно
+    // (at-least-once, потребители дедуплицируют по id), но не потеряются
+    private int archiveChunk(Instant cutoff, Path target) {
+        List<UUID> ids = new ArrayList<>(properties.getChunkSize());
+        try (NdjsonArchiveFile file = new NdjsonArchiveFile(objectMapper.getFactory(), target)) {
+            archiveRepository.streamArchivable(properties.getStatuses(), cutoff, properties.getChunkSize(),
+                    properties.getFetchSize(), rs -> {
+                        try {
+                            file.writeRow(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        ids.add(rs.getObject("id", UUID.class));
+                    });
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            file.publish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        archiveRepository.deleteArchived(ids, cutoff);
+        return ids.size();
+    }
+}
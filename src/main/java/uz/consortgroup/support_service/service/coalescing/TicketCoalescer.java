@@ -0,0 +1,83 @@
+package uz.consortgroup.support_service.service.coalescing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.config.TicketCoalescingProperties;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Свёртка всплесков одинаковых обращений в один тикет-инцидент. Первый тикет по ключу сохраняется как обычно
+// и становится инцидентом; повторы в скользящем окне только увеличивают его duplicate_count (UPDATE по PK
+// вместо INSERT с четырьмя индексами). Сворачиваются только пресетные тикеты без пояснения — текст
+// пользователя не теряется. Индекс открытых инцидентов локален для инстанса: на N узлах за шторм
+// получится до N инцидентов, а после рестарта первый повтор просто откроет новый
+@Slf4j
+@Component
+public class TicketCoalescer {
+
+    private final SupportTicketRepository supportTicketRepository;
+    private final TicketCoalescingProperties properties;
+    private final Cache<String, Incident> incidents;
+
+    public TicketCoalescer(SupportTicketRepository supportTicketRepository, TicketCoalescingProperties properties) {
+        this.supportTicketRepository = supportTicketRepository;
+        this.properties = properties;
+        // expireAfterAccess: каждое обращение к инциденту — это повтор, поэтому окно отсчитывается от последнего
+        this.incidents = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxOpenIncidents())
+                .expireAfterAccess(properties.getWindow())
+                .build();
+    }
+
+    // true — тикет свёрнут в открытый инцидент и сохранять его не нужно
+    public boolean tryCoalesce(SupportTicket ticket) {
+        String key = key(ticket);
+        if (key == null) {
+            return false;
+        }
+        Incident incident = incidents.getIfPresent(key);
+        if (incident == null) {
+            return false;
+        }
+        int updated = supportTicketRepository.incrementDuplicates(incident.id(), incident.createdAt(), Instant.now(),
+                SupportTicketStatus.CLOSED);
+        if (updated == 0) {
+            // инцидент закрыт или архивирован — открываем новый
+            incidents.asMap().remove(key, incident);
+            return false;
+        }
+        log.debug("Ticket coalesced into incident: incidentId={}, key={}", incident.id(), key);
+        return true;
+    }
+
+    // Вызывается только после коммита строки тикета: синхронной записью или writer-ом очереди ingestion
+    public void opened(SupportTicket ticket) {
+        String key = key(ticket);
+        if (key != null) {
+            incidents.put(key, new Incident(ticket.getId(), ticket.getCreatedAt()));
+        }
+    }
+
+    private String key(SupportTicket ticket) {
+        if (!properties.isEnabled()
+                || ticket.getIssueType() != SupportIssueType.PRESET
+                || ticket.getComment() != null) {
+            return null;
+        }
+        UUID presetId = ticket.getSelectedIssue().getId();
+        return switch (properties.getKey()) {
+            case PRESET -> presetId.toString();
+            case USER_PRESET -> ticket.getUserId() + ":" + presetId;
+        };
+    }
+
+    private record Incident(UUID id, Instant createdAt) {
+    }
+}
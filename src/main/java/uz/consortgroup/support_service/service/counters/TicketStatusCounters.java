@@ -0,0 +1,144 @@
+package uz.consortgroup.support_service.service.counters;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.dto.TicketStatusCountsResponse;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.repository.SupportTicketStatusRepository;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Счётчики тикетов по статусам для дашборда: чтение складывает пару чисел на статус вместо count(*) по таблице.
+// База — периодический GROUP BY status, поверх неё копятся дельты от записей этого инстанса (после коммита).
+// Записи других инстансов, архив и отсоединение партиций попадают в счётчики со следующей сверкой
+@Slf4j
+@Component
+public class TicketStatusCounters {
+
+    private static final SupportTicketStatus[] STATUSES = SupportTicketStatus.values();
+
+    private final SupportTicketRepository supportTicketRepository;
+    private final LongAdder[] deltas = new LongAdder[STATUSES.length];
+    // Сверки не перекрываются; держится на время GROUP BY, поэтому ReentrantLock, а не монитор
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private volatile Base base;
+
+    public TicketStatusCounters(SupportTicketRepository supportTicketRepository) {
+        this.supportTicketRepository = supportTicketRepository;
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i] = new LongAdder();
+        }
+    }
+
+    public void ticketCreated(SupportTicket ticket) {
+        ticketsCreated(List.of(ticket));
+    }
+
+    public void ticketsCreated(List<SupportTicket> tickets) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (SupportTicket ticket : tickets) {
+                deltas[ticket.getStatus().ordinal()].increment();
+            }
+        });
+    }
+
+    public void ticketStatusChanged(SupportTicketStatusRepository.Transition transition) {
+        ticketStatusesChanged(List.of(transition));
+    }
+
+    public void ticketStatusesChanged(List<SupportTicketStatusRepository.Transition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (SupportTicketStatusRepository.Transition t : transitions) {
+                if (t.previousStatus() != t.status()) {
+                    deltas[t.previousStatus().ordinal()].decrement();
+                    deltas[t.status().ordinal()].increment();
+                }
+            }
+        });
+    }
+
+    public TicketStatusCountsResponse snapshot() {
+        Base current = base;
+        if (current == null) {
+            reconcile();
+            current = base;
+        }
+        Map<SupportTicketStatus, Long> counts = new EnumMap<>(SupportTicketStatus.class);
+        long total = 0;
+        for (SupportTicketStatus status : STATUSES) {
+            long count = Math.max(0, current.counts()[status.ordinal()] + deltas[status.ordinal()].sum());
+            counts.put(status, count);
+            total += count;
+        }
+        return new TicketStatusCountsResponse(counts, total, current.reconciledAt());
+    }
+
+    @Scheduled(fixedDelayString = "${support.tickets.counters.reconcile-interval:PT5M}")
+    public void scheduledRun() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            log.warn("Ticket status counters reconcile failed, serving previous values: error={}", e.getMessage());
+        }
+    }
+
+    // Дельты, применённые до запроса, уже учтены в GROUP BY — новая база вычитает их, чтобы не считать дважды.
+    // Коммит между снятием дельт и снимком запроса всё же посчитается дважды: расхождение ограничено записями
+    // за время запроса и уходит при следующей сверке
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            long[] applied = new long[STATUSES.length];
+            for (int i = 0; i < deltas.length; i++) {
+                applied[i] = deltas[i].sum();
+            }
+            long[] counts = new long[STATUSES.length];
+            for (SupportTicketRepository.StatusCount row : supportTicketRepository.countByStatus()) {
+                counts[row.getStatus().ordinal()] = row.getCount();
+            }
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] -= applied[i];
+            }
+            base = new Base(counts, Instant.now());
+            if (log.isDebugEnabled()) {
+                log.debug("Ticket status counters reconciled: counts={}", snapshot().counts());
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    // Без активной транзакции изменение уже зафиксировано — дельта применяется сразу
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private record Base(long[] counts, Instant reconciledAt) {
+    }
+}
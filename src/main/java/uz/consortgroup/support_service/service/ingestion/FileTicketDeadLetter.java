@@ -0,0 +1,79 @@
+package uz.consortgroup.support_service.service.ingestion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.entity.SupportTicket;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Dead letter по умолчанию: JSON по строке на тикет в локальный файл. Не зависит от БД — срабатывает и когда
+// база недоступна; строки переигрываются вручную после устранения причины
+@Slf4j
+public class FileTicketDeadLetter implements TicketDeadLetter {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    // Пишут writer очереди и stop() при остановке
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileTicketDeadLetter(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void accept(List<SupportTicket> tickets, String reason) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (SupportTicket ticket : tickets) {
+                    out.write(objectMapper.writeValueAsString(DeadTicket.of(ticket, reason)));
+                    out.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write ticket dead letter: " + file, e);
+        } finally {
+            lock.unlock();
+        }
+        log.warn("Tickets written to dead letter: count={}, file={}, reason={}", tickets.size(), file, reason);
+    }
+
+    record DeadTicket(UUID id,
+                      UUID userId,
+                      UserRole role,
+                      SupportIssueType issueType,
+                      UUID selectedIssueId,
+                      String comment,
+                      SupportTicketStatus status,
+                      Instant createdAt,
+                      String reason) {
+
+        static DeadTicket of(SupportTicket ticket, String reason) {
+            return new DeadTicket(ticket.getId(), ticket.getUserId(), ticket.getRole(), ticket.getIssueType(),
+                    ticket.getSelectedIssue() == null ? null : ticket.getSelectedIssue().getId(),
+                    ticket.getComment(), ticket.getStatus(), ticket.getCreatedAt(), reason);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package uz.consortgroup.support_service.service.ingestion;
+
+import uz.consortgroup.support_service.entity.SupportTicket;
+
+import java.util.List;
+
+public interface TicketDeadLetter {
+    // Тикеты, принятые очередью, но не записанные в таблицу. Исключение — тикеты считаются потерянными (dropped)
+    void accept(List<SupportTicket> tickets, String reason);
+}
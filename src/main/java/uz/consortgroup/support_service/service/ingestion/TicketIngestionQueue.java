@@ -0,0 +1,236 @@
+package uz.consortgroup.support_service.service.ingestion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.support_service.config.TicketIngestionProperties;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.exception.TicketQueueFullException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.outbox.TicketOutbox;
+import uz.consortgroup.support_service.repository.SupportTicketBatchRepository;
+import uz.consortgroup.support_service.service.coalescing.TicketCoalescer;
+import uz.consortgroup.support_service.service.counters.TicketStatusCounters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Режим BEST_EFFORT_QUEUE: 201 отдаётся после постановки в очередь в памяти, запись — пачками в фоне.
+// Это не гарантия доставки: строки, отклонённые базой, и остаток очереди после shutdownTimeout уходят
+// в TicketDeadLetter, а если не удалось и это или процесс упал — тикеты потеряны (счётчик dropped)
+@Slf4j
+@Component
+public class TicketIngestionQueue implements SmartLifecycle {
+
+    private final SupportTicketBatchRepository batchRepository;
+    private final TicketIngestionProperties properties;
+    private final TicketOutbox ticketOutbox;
+    private final TicketStatusCounters ticketStatusCounters;
+    private final TicketCoalescer ticketCoalescer;
+    private final TicketDeadLetter ticketDeadLetter;
+    private final TransactionTemplate transactionTemplate;
+    private final SupportMetrics supportMetrics;
+    private final BlockingQueue<SupportTicket> queue;
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TicketIngestionQueue(SupportTicketBatchRepository batchRepository,
+                                TicketIngestionProperties properties,
+                                TicketOutbox ticketOutbox,
+                                TicketStatusCounters ticketStatusCounters,
+                                TicketCoalescer ticketCoalescer,
+                                TicketDeadLetter ticketDeadLetter,
+                                TransactionTemplate transactionTemplate,
+                                SupportMetrics supportMetrics,
+                                MeterRegistry meterRegistry) {
+        this.batchRepository = batchRepository;
+        this.properties = properties;
+        this.ticketOutbox = ticketOutbox;
+        this.ticketStatusCounters = ticketStatusCounters;
+        this.ticketCoalescer = ticketCoalescer;
+        this.ticketDeadLetter = ticketDeadLetter;
+        this.transactionTemplate = transactionTemplate;
+        this.supportMetrics = supportMetrics;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("support.tickets.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Tickets accepted but not yet written to the database")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("support.tickets.ingestion.rejected");
+        this.written = meterRegistry.counter("support.tickets.ingestion.written");
+        this.failed = meterRegistry.counter("support.tickets.ingestion.failed");
+        this.deadLettered = meterRegistry.counter("support.tickets.ingestion.dead_lettered");
+        this.dropped = meterRegistry.counter("support.tickets.ingestion.dropped");
+    }
+
+    public boolean isEnabled() {
+        return properties.getMode() == TicketIngestionProperties.Mode.BEST_EFFORT_QUEUE;
+    }
+
+    public void enqueue(SupportTicket ticket) {
+        if (!running) {
+            throw new TicketQueueFullException("Ticket ingestion is not accepting requests");
+        }
+        ticket.setId(UUID.randomUUID());
+        ticket.prePersist();
+        if (!queue.offer(ticket)) {
+            rejected.increment();
+            log.warn("Ticket ingestion queue is full: capacity={}", properties.getQueueCapacity());
+            throw new TicketQueueFullException("Too many tickets are being submitted, retry later");
+        }
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled() || running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "ticket-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Ticket ingestion started: capacity={}, batchSize={}, linger={}",
+                properties.getQueueCapacity(), properties.getBatchSize(), properties.getLinger());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Writer не успел за shutdownTimeout: остаток очереди не пишем в БД из этого потока, а сохраняем в dead letter.
+        // Пачка, которую writer держит в этот момент, дописывается им же
+        List<SupportTicket> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            failed.increment(leftover.size());
+            log.error("Ticket ingestion stopped with {} unwritten tickets", leftover.size());
+            deadLetter(leftover, "shutdown timeout");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        int batchSize = properties.getBatchSize();
+        long lingerNanos = properties.getLinger().toNanos();
+        List<SupportTicket> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                SupportTicket first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    SupportTicket next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<SupportTicket> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+            written(batch);
+            log.debug("Ticket batch written: size={}", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Ticket batch failed, retrying row by row: size={}, error={}", batch.size(), e.getMessage());
+            for (SupportTicket ticket : batch) {
+                try {
+                    write(List.of(ticket));
+                    written(List.of(ticket));
+                } catch (RuntimeException rowError) {
+                    failed.increment();
+                    log.error("Ticket write failed: ticketId={}, userId={}, error={}",
+                            ticket.getId(), ticket.getUserId(), rowError.getMessage());
+                    deadLetter(List.of(ticket), rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    // Инцидент свёртки и support.tickets.submitted — только для записанной строки: до записи UPDATE повтора
+    // её не найдёт, а принятый в очередь тикет ещё может уйти в dead letter
+    private void written(List<SupportTicket> tickets) {
+        written.increment(tickets.size());
+        for (SupportTicket ticket : tickets) {
+            ticketCoalescer.opened(ticket);
+            supportMetrics.ticketsCreated(ticket.getIssueType(), ticket.getRole(), 1);
+        }
+    }
+
+    private void deadLetter(List<SupportTicket> tickets, String reason) {
+        try {
+            ticketDeadLetter.accept(tickets, reason);
+            deadLettered.increment(tickets.size());
+        } catch (RuntimeException e) {
+            dropped.increment(tickets.size());
+            for (SupportTicket ticket : tickets) {
+                log.error("Ticket dropped: ticketId={}, userId={}, issueType={}, error={}",
+                        ticket.getId(), ticket.getUserId(), ticket.getIssueType(), e.getMessage());
+            }
+        }
+    }
+
+    // Тикеты и их события в outbox фиксируются одной транзакцией
+    private void write(List<SupportTicket> tickets) {
+        transactionTemplate.executeWithoutResult(status -> {
+            batchRepository.insertAll(tickets);
+            ticketOutbox.ticketsCreated(tickets);
+            ticketStatusCounters.ticketsCreated(tickets);
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package uz.consortgroup.support_service.service.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.config.TicketPartitionProperties;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "support.tickets.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TicketPartitionManager {
+
+    static final String SCHEMA = "support_schema";
+    static final String PARENT = "support_tickets";
+    // Произвольный ключ advisory-lock: обслуживание выполняет только один инстанс за раз
+    private static final long LOCK_KEY = 0x5375_7070_5061_7274L;
+    private static final Pattern PARTITION_NAME = Pattern.compile("support_tickets_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketPartitionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${support.tickets.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintain() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> maintain(YearMonth.now(ZoneOffset.UTC)));
+        } catch (DataAccessException e) {
+            // Партиции создаются на months-ahead вперёд, поэтому разовый сбой не блокирует запись
+            log.error("Ticket partition maintenance failed", e);
+        }
+    }
+
+    // Вызывается в транзакции из maintain(): advisory xact-lock держится до её конца
+    public void maintain(YearMonth current) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("Ticket partition maintenance is running on another instance, skipping");
+            return;
+        }
+        ensurePartitions(current, current.plusMonths(properties.getMonthsAhead()));
+        if (properties.getRetentionMonths() > 0) {
+            detachOlderThan(current.minusMonths(properties.getRetentionMonths()));
+        }
+    }
+
+    public void ensurePartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + SCHEMA + "." + partitionName(month)
+                    + " PARTITION OF " + SCHEMA + "." + PARENT
+                    + " FOR VALUES FROM ('" + month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC)
+                    + "') TO ('" + month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC) + "')");
+        }
+        log.info("Ticket partitions ensured: {}..{}", from, to);
+    }
+
+    public List<String> detachOlderThan(YearMonth cutoff) {
+        List<String> detached = new ArrayList<>();
+        for (String name : listPartitions()) {
+            Optional<YearMonth> month = monthOf(name);
+            if (month.isEmpty() || !month.get().isBefore(cutoff)) {
+                continue;
+            }
+            // Незакрытый тикет пропал бы из списков, счётчиков и смены статуса — такая партиция ждёт следующего запуска
+            if (hasOpenTickets(name)) {
+                log.warn("Ticket partition kept past retention, it still has open tickets: {}", name);
+                continue;
+            }
+            // Отсоединённая партиция не удаляется, а переезжает в архивную схему
+            jdbcTemplate.execute("ALTER TABLE " + SCHEMA + "." + PARENT + " DETACH PARTITION " + SCHEMA + "." + name);
+            jdbcTemplate.execute("ALTER TABLE " + SCHEMA + "." + name + " SET SCHEMA " + properties.getArchiveSchema());
+            detached.add(name);
+            log.info("Ticket partition detached: {} -> {}.{}", name, properties.getArchiveSchema(), name);
+        }
+        return detached;
+    }
+
+    private boolean hasOpenTickets(String partition) {
+        Boolean open = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + SCHEMA + "." + partition
+                + " WHERE status <> ?)", Boolean.class, SupportTicketStatus.CLOSED.name());
+        return !Boolean.FALSE.equals(open);
+    }
+
+    public List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                JOIN pg_namespace n ON n.oid = p.relnamespace
+                WHERE n.nspname = ? AND p.relname = ?
+                ORDER BY c.relname
+                """, String.class, SCHEMA, PARENT);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT + "_p" + month.format(SUFFIX);
+    }
+
+    static Optional<YearMonth> monthOf(String partitionName) {
+        Matcher m = PARTITION_NAME.matcher(partitionName);
+        if (!m.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+    }
+}
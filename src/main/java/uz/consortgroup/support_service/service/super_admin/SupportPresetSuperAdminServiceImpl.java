@@ -1,16 +1,21 @@
 package uz.consortgroup.support_service.service.super_admin;
 
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uz.consortgroup.core.api.v1.dto.support.request.CreatePresetRequestDto;
 import uz.consortgroup.core.api.v1.dto.support.request.UpdatePresetRequestDto;
 import uz.consortgroup.core.api.v1.dto.support.response.PresetResponse;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.cache.PresetsChangedEvent;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
 import uz.consortgroup.support_service.exception.PresetNotFoundExecption;
 import uz.consortgroup.support_service.mapper.SupportMapper;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
 import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
 import uz.consortgroup.support_service.validator.SupportPresetValidator;
 
@@ -25,65 +30,85 @@ public class SupportPresetSuperAdminServiceImpl implements SupportPresetSuperAdm
     private final SupportIssuePresetRepository repository;
     private final SupportMapper supportMapper;
     private final SupportPresetValidator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SupportMetrics supportMetrics;
 
     @Override
     @Transactional
     public PresetResponse create(CreatePresetRequestDto req) {
-        String text = validator.normalizeTextOrThrow(req.getText());
-        validator.ensureUniqueOnCreate(req.getRole(), text);
+        return supportMetrics.time(SupportMetrics.PRESETS_ADMIN, Tags.of(SupportMetrics.operation("create")), () -> {
+            String text = validator.normalizeTextOrThrow(req.getText());
 
-        SupportIssuePreset preset = SupportIssuePreset.builder()
-                .role(req.getRole())
-                .text(text)
-                .sortOrder(req.getSortOrder() == null ? 0 : req.getSortOrder())
-                .active(req.getActive() == null || req.getActive())
-                .build();
+            SupportIssuePreset preset = SupportIssuePreset.builder()
+                    .role(req.getRole())
+                    .text(text)
+                    .sortOrder(req.getSortOrder() == null ? 0 : req.getSortOrder())
+                    .active(req.getActive() == null || req.getActive())
+                    .build();
 
-        preset = repository.save(preset);
-        log.info("Preset created: id={}, role={}, text='{}'", preset.getId(), preset.getRole(), preset.getText());
-        return supportMapper.toPresetDto(preset);
+            preset = saveOrRejectDuplicate(preset);
+            eventPublisher.publishEvent(new PresetsChangedEvent(preset.getId()));
+            log.info("Preset created: id={}, role={}, text='{}'", preset.getId(), preset.getRole(), preset.getText());
+            return supportMapper.toPresetDto(preset);
+        });
     }
 
     @Override
     @Transactional
     public PresetResponse update(UUID id, UpdatePresetRequestDto req) {
-        SupportIssuePreset preset = repository.findById(id)
-                .orElseThrow(() -> new PresetNotFoundExecption("Preset not found"));
+        return supportMetrics.time(SupportMetrics.PRESETS_ADMIN, Tags.of(SupportMetrics.operation("update")), () -> {
+            SupportIssuePreset preset = repository.findById(id)
+                    .orElseThrow(() -> new PresetNotFoundExecption("Preset not found"));
 
-        if (req.getText() != null) {
-            String newText = validator.normalizeTextOrThrow(req.getText());
-            validator.ensureUniqueOnUpdate(preset, newText);
-            preset.setText(newText);
-        }
-        if (req.getSortOrder() != null) {
-            preset.setSortOrder(req.getSortOrder());
-        }
-        if (req.getActive() != null) {
-            preset.setActive(req.getActive());
-        }
+            if (req.getText() != null) {
+                preset.setText(validator.normalizeTextOrThrow(req.getText()));
+            }
+            if (req.getSortOrder() != null) {
+                preset.setSortOrder(req.getSortOrder());
+            }
+            if (req.getActive() != null) {
+                preset.setActive(req.getActive());
+            }
 
-        preset = repository.save(preset);
-        log.info("Preset updated: id={}, active={}, sortOrder={}", preset.getId(), preset.isActive(), preset.getSortOrder());
-        return supportMapper.toPresetDto(preset);
+            preset = saveOrRejectDuplicate(preset);
+            eventPublisher.publishEvent(new PresetsChangedEvent(preset.getId()));
+            log.info("Preset updated: id={}, active={}, sortOrder={}", preset.getId(), preset.isActive(), preset.getSortOrder());
+            return supportMapper.toPresetDto(preset);
+        });
+    }
+
+    // Уникальность (role, lower(text)) проверяет сама БД: flush сразу, чтобы нарушение
+    // индекса всплыло здесь и превратилось в 400, а не упало при коммите
+    private SupportIssuePreset saveOrRejectDuplicate(SupportIssuePreset preset) {
+        try {
+            return repository.saveAndFlush(preset);
+        } catch (DataIntegrityViolationException e) {
+            throw validator.translateUniqueViolation(e);
+        }
     }
 
     @Override
     @Transactional
     public void delete(UUID id) {
-        if (!repository.existsById(id)) {
-            throw new PresetNotFoundExecption("Preset not found");
-        }
-        repository.deleteById(id);
-        log.info("Preset deleted: id={}", id);
+        supportMetrics.time(SupportMetrics.PRESETS_ADMIN, Tags.of(SupportMetrics.operation("delete")), () -> {
+            if (!repository.existsById(id)) {
+                throw new PresetNotFoundExecption("Preset not found");
+            }
+            repository.deleteById(id);
+            eventPublisher.publishEvent(new PresetsChangedEvent(id));
+            log.info("Preset deleted: id={}", id);
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PresetResponse> list(UserRole role) {
-        List<SupportIssuePreset> list = (role == null)
-                ? repository.findAllByOrderByRoleAscSortOrderAsc()
-                : repository.findAllByRoleOrderBySortOrderAsc(role);
+        return supportMetrics.time(SupportMetrics.PRESETS_ADMIN, Tags.of(SupportMetrics.operation("list")), () -> {
+            List<SupportIssuePreset> list = (role == null)
+                    ? repository.findAllByOrderByRoleAscSortOrderAsc()
+                    : repository.findAllByRoleOrderBySortOrderAsc(role);
 
-        return list.stream().map(supportMapper::toPresetDto).toList();
+            return list.stream().map(supportMapper::toPresetDto).toList();
+        });
     }
 }
@@ -4,10 +4,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.response.SupportTicketResponse;
+import uz.consortgroup.support_service.dto.AdminTicketResponse;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateRequest;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateResponse;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.TicketStatusCountsResponse;
 
 import java.util.UUID;
 
 public interface SupportTicketSuperAdminService {
-    Page<SupportTicketResponse> listTickets(SupportTicketStatus status, Pageable pageable);
-    SupportTicketResponse updateStatus(UUID ticketId, SupportTicketStatus status);
+    Page<AdminTicketResponse> listTickets(SupportTicketStatus status, Pageable pageable);
+    CursorSlice<AdminTicketResponse> listTicketsByCursor(SupportTicketStatus status, String cursor, int size);
+    TicketStatusCountsResponse countByStatus();
+    SupportTicketResponse updateStatus(UUID ticketId, SupportTicketStatus status, SupportTicketStatus expectedStatus);
+    BulkStatusUpdateResponse updateStatuses(BulkStatusUpdateRequest request);
 }
\ No newline at end of file
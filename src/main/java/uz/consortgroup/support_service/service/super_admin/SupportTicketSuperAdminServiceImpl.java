@@ -1,18 +1,32 @@
 package uz.consortgroup.support_service.service.super_admin;
 
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.response.SupportTicketResponse;
-import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.dto.AdminTicketResponse;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateRequest;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateResponse;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.TicketStatusCountsResponse;
 import uz.consortgroup.support_service.exception.TicketNotFoundException;
-import uz.consortgroup.support_service.mapper.SupportMapper;
+import uz.consortgroup.support_service.exception.TicketStatusConflictException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.outbox.TicketOutbox;
 import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.repository.SupportTicketStatusRepository;
+import uz.consortgroup.support_service.service.TicketCursor;
+import uz.consortgroup.support_service.service.counters.TicketStatusCounters;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -20,29 +34,134 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SupportTicketSuperAdminServiceImpl implements SupportTicketSuperAdminService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+    static final int MAX_BULK_STATUS_SIZE = 500;
+
     private final SupportTicketRepository supportTicketRepository;
-    private final SupportMapper supportMapper;
+    private final SupportTicketStatusRepository supportTicketStatusRepository;
+    private final SupportMetrics supportMetrics;
+    private final TicketOutbox ticketOutbox;
+    private final TicketStatusCounters ticketStatusCounters;
 
     @Override
     @Transactional(readOnly = true)
-    public Page<SupportTicketResponse> listTickets(SupportTicketStatus status, Pageable pageable) {
+    public Page<AdminTicketResponse> listTickets(SupportTicketStatus status, Pageable pageable) {
         log.info("List tickets: status={}, pageable={}", status, pageable);
-        Page<SupportTicket> page = (status == null) ? supportTicketRepository.findAll(pageable)
-                : supportTicketRepository.findAllByStatus(status, pageable);
+        return supportMetrics.time(SupportMetrics.TICKET_LIST, Tags.of(SupportMetrics.status(status)), () ->
+                (status == null) ? supportTicketRepository.findAdminView(pageable)
+                        : supportTicketRepository.findAdminViewByStatus(status, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<AdminTicketResponse> listTicketsByCursor(SupportTicketStatus status, String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        log.info("List tickets by cursor: status={}, cursorPresent={}, size={}", status, cursor != null, size);
 
-        return page.map(supportMapper::toDto);
+        Limit limit = Limit.of(size + 1);
+        List<AdminTicketResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = (status == null) ? supportTicketRepository.findAdminViewLatest(limit)
+                    : supportTicketRepository.findAdminViewLatestByStatus(status, limit);
+        } else {
+            TicketCursor after = TicketCursor.decode(cursor);
+            rows = (status == null) ? supportTicketRepository.findAdminViewBefore(after.createdAt(), after.id(), limit)
+                    : supportTicketRepository.findAdminViewBeforeByStatus(status, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<AdminTicketResponse> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            AdminTicketResponse last = page.get(page.size() - 1);
+            nextCursor = new TicketCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return new CursorSlice<>(List.copyOf(page), size, hasNext, nextCursor);
+    }
+
+    @Override
+    public TicketStatusCountsResponse countByStatus() {
+        return supportMetrics.time(SupportMetrics.TICKET_COUNTERS, Tags.empty(), ticketStatusCounters::snapshot);
+    }
+
+    @Override
+    @Transactional
+    public SupportTicketResponse updateStatus(UUID ticketId, SupportTicketStatus status, SupportTicketStatus expectedStatus) {
+        return supportMetrics.time(SupportMetrics.TICKET_STATUS_UPDATE, Tags.of(SupportMetrics.status(status)), () -> {
+            SupportTicketStatusRepository.UpdatedTicket updated = supportTicketStatusRepository
+                    .updateStatus(ticketId, status, expectedStatus, Instant.now())
+                    .orElseThrow(() -> notUpdated(ticketId, expectedStatus));
+
+            SupportTicketStatusRepository.Transition transition = updated.transition();
+            log.info("Ticket status updated: ticketId={}, previousStatus={}, newStatus={}",
+                    ticketId, transition.previousStatus().name(), status.name());
+            ticketOutbox.ticketStatusChanged(transition, updated.updatedAt());
+            ticketStatusCounters.ticketStatusChanged(transition);
+            supportMetrics.ticketStatusChanged(transition.previousStatus(), status);
+            return SupportTicketResponse.builder()
+                    .id(transition.id())
+                    .userId(transition.userId())
+                    .role(transition.role())
+                    .issueType(transition.issueType())
+                    .selectedIssueId(transition.selectedIssueId())
+                    .comment(updated.comment())
+                    .status(transition.status())
+                    .createdAt(updated.createdAt())
+                    .updatedAt(updated.updatedAt())
+                    .build();
+        });
     }
 
     @Override
     @Transactional
-    public SupportTicketResponse updateStatus(UUID ticketId, SupportTicketStatus status) {
-        SupportTicket ticket = supportTicketRepository.findById(ticketId)
-                .orElseThrow(() -> new TicketNotFoundException(String.format("Ticket with id %s not found", ticketId)));
+    public BulkStatusUpdateResponse updateStatuses(BulkStatusUpdateRequest request) {
+        SupportTicketStatus status = request.status();
+        if (status == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        List<UUID> ids = request.ticketIds();
+        boolean byIds = ids != null && !ids.isEmpty();
+        if (byIds == (request.currentStatus() != null)) {
+            throw new IllegalArgumentException("Either ticketIds or currentStatus is required");
+        }
+        if (byIds && request.selectedIssueId() != null) {
+            throw new IllegalArgumentException("selectedIssueId is only allowed together with currentStatus");
+        }
+        if (byIds && ids.size() > MAX_BULK_STATUS_SIZE) {
+            throw new IllegalArgumentException("Ticket ids size must be <= " + MAX_BULK_STATUS_SIZE);
+        }
 
-        ticket.setStatus(status);
-        log.info("Ticket status updated: ticketId={}, newStatus={}", ticketId, status.name());
-        SupportTicket saved = supportTicketRepository.save(ticket);
-        return supportMapper.toDto(saved);
+        return supportMetrics.time(SupportMetrics.TICKET_STATUS_BULK_UPDATE, Tags.of(SupportMetrics.status(status)), () -> {
+            Instant now = Instant.now();
+            List<SupportTicketStatusRepository.Transition> changed = byIds
+                    ? supportTicketStatusRepository.updateStatusByIds(ids, status, now)
+                    : supportTicketStatusRepository.updateStatusByFilter(request.currentStatus(), request.selectedIssueId(),
+                            status, now, MAX_BULK_STATUS_SIZE);
+
+            ticketOutbox.ticketStatusesChanged(changed, now);
+            ticketStatusCounters.ticketStatusesChanged(changed);
+            for (SupportTicketStatusRepository.Transition transition : changed) {
+                supportMetrics.ticketStatusChanged(transition.previousStatus(), status);
+            }
+            boolean hasMore = !byIds && changed.size() == MAX_BULK_STATUS_SIZE;
+            log.info("Ticket statuses updated in bulk: newStatus={}, byIds={}, requested={}, updated={}, hasMore={}",
+                    status.name(), byIds, byIds ? ids.size() : null, changed.size(), hasMore);
+            return new BulkStatusUpdateResponse(changed.size(), hasMore);
+        });
+    }
 
+    // Строку не обновили: либо тикета нет, либо его статус уже не тот, от которого рассчитывал клиент
+    private RuntimeException notUpdated(UUID ticketId, SupportTicketStatus expectedStatus) {
+        if (expectedStatus != null) {
+            Optional<SupportTicketStatus> current = supportTicketStatusRepository.findStatus(ticketId);
+            if (current.isPresent()) {
+                return new TicketStatusConflictException(String.format(
+                        "Ticket %s has status %s, expected %s", ticketId, current.get(), expectedStatus));
+            }
+        }
+        return new TicketNotFoundException(String.format("Ticket with id %s not found", ticketId));
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,14 @@
 package uz.consortgroup.support_service.validator;
 
-import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
-import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
-import uz.consortgroup.support_service.entity.SupportIssuePreset;
-import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
 
 @Component
-@RequiredArgsConstructor
 public class SupportPresetValidator {
 
-    private final SupportIssuePresetRepository repository;
+    // Уникальный индекс из V046_create_support_indexes.sql
+    static final String UNIQUE_TEXT_CONSTRAINT = "ux_support_issue_presets_role_lower_text";
 
     public String normalizeTextOrThrow(String text) {
         if (text == null) {
@@ -26,16 +24,22 @@ public class SupportPresetValidator {
         return normalized;
     }
 
-    public void ensureUniqueOnCreate(UserRole role, String text) {
-        if (repository.existsByRoleAndTextIgnoreCase(role, text)) {
-            throw new IllegalArgumentException("Preset with same text already exists for this role");
+    public RuntimeException translateUniqueViolation(DataIntegrityViolationException ex) {
+        if (isUniqueTextViolation(ex)) {
+            return new IllegalArgumentException("Preset with same text already exists for this role");
         }
+        return ex;
     }
 
-    public void ensureUniqueOnUpdate(SupportIssuePreset existing, String newText) {
-        if (!existing.getText().equalsIgnoreCase(newText)
-                && repository.existsByRoleAndTextIgnoreCase(existing.getRole(), newText)) {
-            throw new IllegalArgumentException("Preset with same text already exists for this role");
+    private boolean isUniqueTextViolation(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve && cve.getConstraintName() != null) {
+                return cve.getConstraintName().contains(UNIQUE_TEXT_CONSTRAINT);
+            }
+            if (t.getMessage() != null && t.getMessage().contains(UNIQUE_TEXT_CONSTRAINT)) {
+                return true;
+            }
         }
+        return false;
     }
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.cache.CachedPreset;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
 import uz.consortgroup.support_service.service.SupportIssuePresetService;
 
@@ -23,18 +24,18 @@ public class SupportTicketValidator {
     }
 
     public SupportIssuePreset validatePresetOrThrow(UUID presetId, UserRole role) {
-        SupportIssuePreset preset = supportIssuePresetService.findSelectedIssueId(presetId)
+        CachedPreset preset = supportIssuePresetService.findIndexedPreset(presetId)
                 .orElseThrow(() -> {
                     log.warn("Preset not found: presetId={}", presetId);
                     return new IllegalArgumentException("Preset not found");
                 });
 
-        if (!preset.isActive() || preset.getRole() != role) {
+        if (!preset.active() || preset.role() != role) {
             log.warn("Preset not available for role: presetId={}, presetRole={}, userRole={}, active={}",
-                    presetId, preset.getRole(), role, preset.isActive());
+                    presetId, preset.role(), role, preset.active());
             throw new IllegalArgumentException("Preset is not available for this role");
         }
-        return preset;
+        return supportIssuePresetService.getPresetReference(presetId);
     }
 
     public String normalizeCommentOrThrow(String comment) {
@@ -0,0 +1,25 @@
+-- Админские списки тикетов: фильтр по статусу + keyset-сортировка (created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_support_tickets_status_created_at
+    ON support_schema.support_tickets (status, created_at DESC, id DESC);
+
+-- Те же списки без фильтра по статусу
+CREATE INDEX IF NOT EXISTS idx_support_tickets_created_at
+    ON support_schema.support_tickets (created_at DESC, id DESC);
+
+-- Тикеты конкретного пользователя
+CREATE INDEX IF NOT EXISTS idx_support_tickets_user_created_at
+    ON support_schema.support_tickets (user_id, created_at DESC);
+
+-- FK с ON DELETE SET NULL: без индекса удаление пресета сканирует всю таблицу тикетов
+CREATE INDEX IF NOT EXISTS idx_support_tickets_selected_issue
+    ON support_schema.support_tickets (selected_issue_id)
+    WHERE selected_issue_id IS NOT NULL;
+
+-- Активные пресеты для роли пользователя
+CREATE INDEX IF NOT EXISTS idx_support_issue_presets_active_role_sort
+    ON support_schema.support_issue_presets (role, sort_order)
+    WHERE active;
+
+-- Один текст пресета на роль без учёта регистра
+CREATE UNIQUE INDEX IF NOT EXISTS ux_support_issue_presets_role_lower_text
+    ON support_schema.support_issue_presets (role, lower(text));
@@ -0,0 +1,63 @@
+--liquibase formatted sql
+
+--changeset support:V047_partition_support_tickets splitStatements:false
+-- support_tickets -> помесячное RANGE-партиционирование по created_at.
+-- PK обязан включать ключ партиционирования, поэтому (id, created_at).
+CREATE SCHEMA IF NOT EXISTS support_archive;
+
+ALTER TABLE support_schema.support_tickets RENAME TO support_tickets_legacy;
+ALTER TABLE support_schema.support_tickets_legacy RENAME CONSTRAINT support_tickets_pkey TO support_tickets_legacy_pkey;
+DROP INDEX IF EXISTS support_schema.idx_support_tickets_status_created_at;
+DROP INDEX IF EXISTS support_schema.idx_support_tickets_created_at;
+DROP INDEX IF EXISTS support_schema.idx_support_tickets_user_created_at;
+DROP INDEX IF EXISTS support_schema.idx_support_tickets_selected_issue;
+
+CREATE TABLE support_schema.support_tickets (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL,
+    role VARCHAR(50) NOT NULL,
+    issue_type VARCHAR(50) NOT NULL,
+    selected_issue_id UUID REFERENCES support_schema.support_issue_presets(id) ON DELETE SET NULL,
+    comment VARCHAR(500),
+    status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Страховка на случай записи за пределами созданных месяцев (кривые часы, пропущенный запуск планировщика)
+CREATE TABLE support_schema.support_tickets_default
+    PARTITION OF support_schema.support_tickets DEFAULT;
+
+-- Партиции от самого старого тикета до текущего месяца + 3; дальше их ведёт TicketPartitionManager
+DO $$
+DECLARE
+    m DATE := date_trunc('month', coalesce((SELECT min(created_at) FROM support_schema.support_tickets_legacy), now()) AT TIME ZONE 'UTC');
+    last DATE := date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months';
+BEGIN
+    WHILE m <= last LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS support_schema.%I PARTITION OF support_schema.support_tickets FOR VALUES FROM (%L) TO (%L)',
+            'support_tickets_p' || to_char(m, 'YYYY_MM'),
+            m::timestamp AT TIME ZONE 'UTC',
+            (m + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+        m := m + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+CREATE INDEX idx_support_tickets_status_created_at
+    ON support_schema.support_tickets (status, created_at DESC, id DESC);
+CREATE INDEX idx_support_tickets_created_at
+    ON support_schema.support_tickets (created_at DESC, id DESC);
+CREATE INDEX idx_support_tickets_user_created_at
+    ON support_schema.support_tickets (user_id, created_at DESC);
+CREATE INDEX idx_support_tickets_selected_issue
+    ON support_schema.support_tickets (selected_issue_id)
+    WHERE selected_issue_id IS NOT NULL;
+
+INSERT INTO support_schema.support_tickets
+    (id, user_id, role, issue_type, selected_issue_id, comment, status, created_at, updated_at)
+SELECT id, user_id, role, issue_type, selected_issue_id, comment, status, created_at, updated_at
+FROM support_schema.support_tickets_legacy;
+
+DROP TABLE support_schema.support_tickets_legacy;
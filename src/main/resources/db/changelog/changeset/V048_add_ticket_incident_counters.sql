@@ -0,0 +1,9 @@
+--liquibase formatted sql
+
+--changeset support:V048_add_ticket_incident_counters
+-- Счётчик повторов, свёрнутых в тикет-инцидент (см. TicketCoalescer). Колонки добавляются в
+-- родительскую таблицу и наследуются всеми партициями; DEFAULT без перезаписи строк (PG 11+)
+ALTER TABLE support_schema.support_tickets
+    ADD COLUMN duplicate_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE support_schema.support_tickets
+    ADD COLUMN last_duplicate_at TIMESTAMPTZ;
@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset support:V049_create_ticket_outbox
+-- Transactional outbox: событие пишется в той же транзакции, что и тикет, и удаляется OutboxRelay после
+-- публикации. Таблица работает как очередь (постоянные INSERT/DELETE), поэтому autovacuum настроен на
+-- абсолютный порог — иначе мёртвые строки копятся и выборка головы очереди замедляется
+CREATE TABLE support_schema.ticket_outbox (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+) WITH (autovacuum_vacuum_scale_factor = 0, autovacuum_vacuum_threshold = 1000);
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset support:V050_cover_user_ticket_history
+-- Индекс под историю тикетов пользователя (GET /tickets/my): id в ключе даёт полный порядок для
+-- keyset-пагинации, а INCLUDE покрывает все поля проекции — чтение идёт Index Only Scan без обращения
+-- к heap. comment в индекс сознательно не входит (до 500 символов), он не отдаётся в этом списке
+CREATE INDEX idx_support_tickets_user_history
+    ON support_schema.support_tickets (user_id, created_at DESC, id DESC)
+    INCLUDE (issue_type, selected_issue_id, status, updated_at);
+-- Старый индекс (user_id, created_at DESC) является префиксом нового и больше не нужен
+DROP INDEX support_schema.idx_support_tickets_user_created_at;
@@ -0,0 +1,7 @@
+-- Снятие маркера in-flight: KEYS[1] — ключ идемпотентности, ARGV[1] — значение маркера владельца.
+-- Удаляет ключ, только если там всё ещё этот маркер: не трогает сохранённый ответ и маркер другого
+-- владельца, захватившего ключ после истечения lease. Возвращает 1, если ключ удалён.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,36 @@
+-- Token bucket: KEYS[1] — ключ бакета, ARGV[1] — ёмкость, ARGV[2] — пополнение токенов в миллисекунду,
+-- ARGV[3] — сколько токенов взять (отрицательное значение возвращает токены, не выше ёмкости).
+-- Время берётся с сервера Redis, чтобы часы инстансов не влияли на результат.
+-- Возвращает 0, если токены взяты, иначе сколько миллисекунд ждать.
+local capacity = tonumber(ARGV[1])
+local refill_per_ms = tonumber(ARGV[2])
+local permits = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+if now > ts then
+    tokens = math.min(capacity, tokens + (now - ts) * refill_per_ms)
+    ts = now
+end
+
+local wait = 0
+if permits < 0 then
+    tokens = math.min(capacity, tokens - permits)
+elseif tokens >= permits then
+    tokens = tokens - permits
+else
+    wait = math.max(1, math.ceil((permits - tokens) / refill_per_ms))
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(ts))
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms))
+return wait
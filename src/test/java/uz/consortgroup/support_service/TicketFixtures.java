@@ -0,0 +1,31 @@
+package uz.consortgroup.support_service;
+
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketStatusRepository;
+
+import java.util.UUID;
+
+// Тикеты и переходы статусов для тестов. ticket() — билдер валидного нового CUSTOM-тикета без id и дат:
+// тест дописывает только то, что проверяет
+public final class TicketFixtures {
+
+    private TicketFixtures() {
+    }
+
+    public static SupportTicket.SupportTicketBuilder ticket() {
+        return SupportTicket.builder()
+                .userId(UUID.randomUUID())
+                .role(UserRole.MENTOR)
+                .issueType(SupportIssueType.CUSTOM)
+                .comment("Test ticket")
+                .status(SupportTicketStatus.NEW);
+    }
+
+    public static SupportTicketStatusRepository.Transition transition(SupportTicketStatus previous, SupportTicketStatus status) {
+        return new SupportTicketStatusRepository.Transition(UUID.randomUUID(), UUID.randomUUID(), UserRole.MENTOR,
+                SupportIssueType.CUSTOM, null, status, previous);
+    }
+}
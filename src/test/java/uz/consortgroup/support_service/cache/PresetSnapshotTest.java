@@ -0,0 +1,164 @@
+package uz.consortgroup.support_service.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.consortgroup.core.api.v1.dto.support.response.IssuePresetResponse;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PresetSnapshotTest {
+
+    @Mock
+    private SupportIssuePresetRepository repository;
+
+    @Mock
+    private SharedPresetCache sharedCache;
+
+    @InjectMocks
+    private PresetSnapshot snapshot;
+
+    private static SupportIssuePreset preset(UserRole role, String text, int sortOrder) {
+        return SupportIssuePreset.builder()
+                .id(UUID.randomUUID())
+                .role(role)
+                .text(text)
+                .sortOrder(sortOrder)
+                .active(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("activeFor: lazily loads once and partitions presets by role keeping sort order")
+    void activeFor_partitionsByRole() {
+        var m1 = preset(UserRole.MENTOR, "A", 1);
+        var m2 = preset(UserRole.MENTOR, "B", 2);
+        var h1 = preset(UserRole.HR, "C", 1);
+        when(repository.findAllByOrderByRoleAscSortOrderAsc()).thenReturn(List.of(h1, m1, m2));
+
+        List<IssuePresetResponse> mentor = snapshot.activeFor(UserRole.MENTOR);
+        List<IssuePresetResponse> hr = snapshot.activeFor(UserRole.HR);
+        List<IssuePresetResponse> student = snapshot.activeFor(UserRole.STUDENT);
+
+        assertThat(mentor).extracting(IssuePresetResponse::getId).containsExactly(m1.getId(), m2.getId());
+        assertThat(hr).extracting(IssuePresetResponse::getText).containsExactly("C");
+        assertThat(student).isEmpty();
+        assertThat(snapshot.activeFor(UserRole.MENTOR)).isSameAs(mentor);
+
+        verify(repository, times(1)).findAllByOrderByRoleAscSortOrderAsc();
+    }
+
+    @Test
+    @DisplayName("activeFor: returned lists are immutable")
+    void activeFor_immutable() {
+        when(repository.findAllByOrderByRoleAscSortOrderAsc())
+                .thenReturn(List.of(preset(UserRole.ADMIN, "A", 0)));
+
+        List<IssuePresetResponse> admin = snapshot.activeFor(UserRole.ADMIN);
+
+        assertThatThrownBy(() -> admin.add(new IssuePresetResponse(UUID.randomUUID(), "X")))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("onPresetsChanged: rebuilds snapshot from repository")
+    void onPresetsChanged_rebuilds() {
+        var first = preset(UserRole.MENTOR, "Old", 1);
+        var second = preset(UserRole.MENTOR, "New", 1);
+        when(repository.findAllByOrderByRoleAscSortOrderAsc())
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(second));
+
+        assertThat(snapshot.activeFor(UserRole.MENTOR)).extracting(IssuePresetResponse::getText).containsExactly("Old");
+
+        snapshot.onPresetsChanged(new PresetsChangedEvent(second.getId()));
+
+        assertThat(snapshot.activeFor(UserRole.MENTOR)).extracting(IssuePresetResponse::getText).containsExactly("New");
+        verify(repository, times(2)).findAllByOrderByRoleAscSortOrderAsc();
+    }
+
+    @Test
+    @DisplayName("activeFor: served from shared cache without touching the database")
+    void activeFor_sharedCacheHit() {
+        var cached = CachedPreset.from(preset(UserRole.MENTOR, "Cached", 1));
+        when(sharedCache.getAll()).thenReturn(Optional.of(List.of(cached)));
+
+        assertThat(snapshot.activeFor(UserRole.MENTOR)).extracting(IssuePresetResponse::getText).containsExactly("Cached");
+
+        verify(repository, never()).findAllByOrderByRoleAscSortOrderAsc();
+        verify(sharedCache, never()).putAll(anyList());
+    }
+
+    @Test
+    @DisplayName("activeFor: shared cache miss -> loads from database and populates shared cache")
+    void activeFor_sharedCacheMiss() {
+        var p = preset(UserRole.HR, "Db", 1);
+        when(repository.findAllByOrderByRoleAscSortOrderAsc()).thenReturn(List.of(p));
+
+        snapshot.activeFor(UserRole.HR);
+
+        verify(sharedCache).putAll(List.of(CachedPreset.from(p)));
+    }
+
+    @Test
+    @DisplayName("onPresetsChanged: evicts shared cache, rebuilds, then notifies other nodes")
+    void onPresetsChanged_evictsRebuildsPublishes() {
+        UUID id = UUID.randomUUID();
+        when(repository.findAllByOrderByRoleAscSortOrderAsc()).thenReturn(List.of());
+
+        snapshot.onPresetsChanged(new PresetsChangedEvent(id));
+
+        var order = inOrder(sharedCache, repository);
+        order.verify(sharedCache).evict(id);
+        order.verify(repository).findAllByOrderByRoleAscSortOrderAsc();
+        order.verify(sharedCache).putAll(List.of());
+        order.verify(sharedCache).publishInvalidation(id);
+    }
+
+    @Test
+    @DisplayName("invalidate: drops local copy so the next read reloads")
+    void invalidate_forcesReload() {
+        var cached = CachedPreset.from(preset(UserRole.MENTOR, "A", 1));
+        when(sharedCache.getAll()).thenReturn(Optional.of(List.of(cached)));
+
+        snapshot.activeFor(UserRole.MENTOR);
+        snapshot.invalidate();
+        snapshot.activeFor(UserRole.MENTOR);
+
+        verify(sharedCache, times(2)).getAll();
+    }
+
+    @Test
+    @DisplayName("find: indexes every preset by id, including inactive ones kept out of role lists")
+    void find_indexesInactive() {
+        var active = preset(UserRole.MENTOR, "Active", 1);
+        var inactive = SupportIssuePreset.builder()
+                .id(UUID.randomUUID()).role(UserRole.MENTOR).text("Hidden").sortOrder(2).active(false).build();
+        when(repository.findAllByOrderByRoleAscSortOrderAsc()).thenReturn(List.of(active, inactive));
+
+        assertThat(snapshot.find(inactive.getId())).contains(CachedPreset.from(inactive));
+        assertThat(snapshot.find(active.getId()).map(CachedPreset::role)).contains(UserRole.MENTOR);
+        assertThat(snapshot.find(UUID.randomUUID())).isEmpty();
+        assertThat(snapshot.activeFor(UserRole.MENTOR)).extracting(IssuePresetResponse::getText).containsExactly("Active");
+
+        verify(repository, times(1)).findAllByOrderByRoleAscSortOrderAsc();
+    }
+}
@@ -0,0 +1,113 @@
+package uz.consortgroup.support_service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisSharedPresetCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> values;
+
+    @Mock
+    private PresetSnapshot presetSnapshot;
+
+    private RedisSharedPresetCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RedisSharedPresetCache(redis, new ObjectMapper(), TTL);
+    }
+
+    @Test
+    @DisplayName("putAll/getAll: round-trips preset list through JSON with TTL")
+    void all_roundTrip() {
+        when(redis.opsForValue()).thenReturn(values);
+        var presets = List.of(
+                new CachedPreset(UUID.randomUUID(), UserRole.MENTOR, "A", 1, true),
+                new CachedPreset(UUID.randomUUID(), UserRole.HR, "B", 2, true));
+
+        cache.putAll(presets);
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(values).set(eq(RedisSharedPresetCache.ALL_KEY), json.capture(), eq(TTL));
+
+        when(values.get(RedisSharedPresetCache.ALL_KEY)).thenReturn(json.getValue());
+        assertThat(cache.getAll()).contains(presets);
+    }
+
+    @Test
+    @DisplayName("getAll: Redis unavailable -> treated as a miss")
+    void getAll_redisDown() {
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(cache.getAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("evict: removes list key")
+    void evict_removesKeys() {
+        UUID id = UUID.randomUUID();
+
+        cache.evict(id);
+
+        verify(redis).delete(RedisSharedPresetCache.ALL_KEY);
+    }
+
+    @Test
+    @DisplayName("listener: drops local snapshot on messages from other nodes, ignores own")
+    void listener_ignoresOwnMessages() {
+        var listener = new PresetInvalidationListener(presetSnapshot, cache);
+        UUID id = UUID.randomUUID();
+
+        listener.onMessage(message(cache.nodeId() + "|" + id), null);
+        verify(presetSnapshot, never()).invalidate();
+
+        listener.onMessage(message(UUID.randomUUID() + "|" + id), null);
+        verify(presetSnapshot).invalidate();
+    }
+
+    @Test
+    @DisplayName("publishInvalidation: sends node-tagged payload to the invalidation channel")
+    void publishInvalidation_sendsToChannel() {
+        UUID id = UUID.randomUUID();
+
+        cache.publishInvalidation(id);
+
+        verify(redis).convertAndSend(RedisSharedPresetCache.CHANNEL, cache.nodeId() + "|" + id);
+    }
+
+    private static DefaultMessage message(String payload) {
+        return new DefaultMessage(RedisSharedPresetCache.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
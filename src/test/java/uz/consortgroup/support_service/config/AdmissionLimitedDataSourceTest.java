@@ -0,0 +1,95 @@
+package uz.consortgroup.support_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private SimpleMeterRegistry registry;
+    private AdmissionLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        DbAdmissionProperties properties = new DbAdmissionProperties();
+        properties.setPermits(2);
+        properties.setAcquireTimeout(Duration.ofMillis(20));
+        dataSource = new AdmissionLimitedDataSource(target, properties);
+        registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("getConnection/close: permit занимается и возвращается один раз даже при двойном close")
+    void permitReleasedOnClose() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection c = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        assertThat(registry.get("support.db.admission.in_use").gauge().value()).isEqualTo(1.0);
+
+        c.close();
+        c.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("лимит исчерпан -> SQLTransientConnectionException после acquireTimeout, счётчик rejected")
+    void rejectsWhenExhausted() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessage("Database admission limit reached");
+        assertThat(registry.get("support.db.admission.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("ошибка пула -> permit возвращается")
+    void releasesOnPoolFailure() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool timeout"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLException.class);
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("прочие методы Connection делегируются как есть")
+    void delegates() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        try (Connection c = dataSource.getConnection()) {
+            assertThat(c.getAutoCommit()).isFalse();
+        }
+        verify(connection).getAutoCommit();
+    }
+}
@@ -0,0 +1,114 @@
+package uz.consortgroup.support_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.TicketStatus;
+import uz.consortgroup.core.api.v1.dto.support.request.CreateTicketRequestDto;
+import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
+import uz.consortgroup.support_service.config.RateLimitConfig;
+import uz.consortgroup.support_service.config.TicketRateLimitProperties;
+import uz.consortgroup.support_service.idempotency.TicketIdempotency;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.ratelimit.TicketRateLimiter;
+import uz.consortgroup.support_service.security.AuthContext;
+import uz.consortgroup.support_service.security.IdentityCache;
+import uz.consortgroup.support_service.service.SupportIssuePresetService;
+import uz.consortgroup.support_service.service.SupportTicketService;
+import uz.consortgroup.support_service.service.super_admin.SupportTicketSuperAdminService;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Настоящий TicketRateLimiter с конфигурацией из application.yaml: проверяет, что лимиты по умолчанию
+// пропускают пачки больше ёмкости бакета запросов пользователя
+@WebMvcTest(controllers = SupportController.class)
+@Import({TicketRateLimiter.class, RateLimitConfig.class})
+@EnableConfigurationProperties(TicketRateLimitProperties.class)
+class SupportControllerRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private SupportTicketService supportTicketService;
+
+    @MockitoBean
+    private SupportIssuePresetService supportIssuePresetService;
+
+    @MockitoBean
+    private SupportTicketSuperAdminService supportTicketSuperAdminService;
+
+    @MockitoBean
+    private SupportMetrics supportMetrics;
+
+    @MockitoBean
+    private IdentityCache identityCache;
+
+    @MockitoBean
+    private AuthContext authContext;
+
+    @MockitoBean
+    private TicketIdempotency ticketIdempotency;
+
+    @BeforeEach
+    void setUp() {
+        given(authContext.getCurrentUserId()).willReturn(UUID.randomUUID());
+        given(ticketIdempotency.execute(any(), any(), any(), any()))
+                .willAnswer(inv -> inv.<Supplier<TicketCreatedResponse>>getArgument(3).get());
+        given(supportTicketService.createTickets(any()))
+                .willReturn(TicketCreatedResponse.builder().ticketStatus(TicketStatus.SUCCESS).build());
+    }
+
+    @Test
+    @DisplayName("POST /tickets/batch -> 201 Created для пачки больше 5 элементов при лимитах по умолчанию")
+    void createTickets_largerThanUserBucket_201() throws Exception {
+        var req = Collections.nCopies(50, CreateTicketRequestDto.builder().comment("Не получается сохранить курс").build());
+
+        mockMvc.perform(post("/api/v1/support/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated());
+
+        verify(supportTicketService).createTickets(any());
+    }
+
+    @Test
+    @DisplayName("POST /tickets/batch -> пачка максимального размера проходит, следующая пачка того же пользователя -> 429")
+    void createTickets_itemsBucketExhausted_429() throws Exception {
+        String full = objectMapper.writeValueAsString(
+                Collections.nCopies(500, CreateTicketRequestDto.builder().comment("x").build()));
+        String single = objectMapper.writeValueAsString(List.of(CreateTicketRequestDto.builder().comment("x").build()));
+
+        mockMvc.perform(post("/api/v1/support/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(full))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/support/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(single))
+                .andExpect(status().isTooManyRequests());
+
+        verify(supportTicketService, times(1)).createTickets(any());
+    }
+}
@@ -1,6 +1,7 @@
 package uz.consortgroup.support_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.TicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.request.CreateTicketRequestDto;
@@ -20,14 +23,34 @@ import uz.consortgroup.core.api.v1.dto.support.request.UpdateTicketStatusRequest
 import uz.consortgroup.core.api.v1.dto.support.response.IssuePresetResponse;
 import uz.consortgroup.core.api.v1.dto.support.response.SupportTicketResponse;
 import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.dto.AdminTicketResponse;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateRequest;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateResponse;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.TicketStatusCountsResponse;
+import uz.consortgroup.support_service.dto.UserTicketResponse;
+import uz.consortgroup.support_service.exception.IdempotencyKeyInFlightException;
+import uz.consortgroup.support_service.exception.IdempotencyKeyReusedException;
+import uz.consortgroup.support_service.exception.RateLimitExceededException;
 import uz.consortgroup.support_service.exception.TicketNotFoundException;
+import uz.consortgroup.support_service.exception.TicketQueueFullException;
+import uz.consortgroup.support_service.exception.TicketStatusConflictException;
 import uz.consortgroup.support_service.handler.GlobalExceptionHandler;
+import uz.consortgroup.support_service.idempotency.TicketIdempotency;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.ratelimit.TicketRateLimiter;
+import uz.consortgroup.support_service.security.IdentityCache;
 import uz.consortgroup.support_service.service.SupportIssuePresetService;
 import uz.consortgroup.support_service.service.SupportTicketService;
 import uz.consortgroup.support_service.service.super_admin.SupportTicketSuperAdminService;
 
+import java.time.Instant;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
@@ -35,10 +58,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -61,6 +87,24 @@ class SupportControllerTest {
     @MockitoBean
     private SupportTicketSuperAdminService supportTicketSuperAdminService;
 
+    @MockitoBean
+    private SupportMetrics supportMetrics;
+
+    @MockitoBean
+    private IdentityCache identityCache;
+
+    @MockitoBean
+    private TicketRateLimiter ticketRateLimiter;
+
+    @MockitoBean
+    private TicketIdempotency ticketIdempotency;
+
+    @BeforeEach
+    void passThroughIdempotency() {
+        given(ticketIdempotency.execute(any(), any(), any(), any()))
+                .willAnswer(inv -> inv.<Supplier<TicketCreatedResponse>>getArgument(3).get());
+    }
+
     @Test
     @DisplayName("GET /presets -> 200 OK и список пресетов")
     void getPresets_ok() throws Exception {
@@ -139,17 +183,194 @@ class SupportControllerTest {
     }
 
     @Test
-    @DisplayName("GET /tickets -> 200 OK (пустая страница)")
+    @DisplayName("POST /tickets -> 429 Too Many Requests (очередь приёма заполнена)")
+    void createTicket_queueFull_429() throws Exception {
+        var req = CreateTicketRequestDto.builder()
+                .comment("Кнопка «Сохранить» не реагирует")
+                .build();
+
+        given(supportTicketService.createTicket(any(CreateTicketRequestDto.class)))
+                .willThrow(new TicketQueueFullException("Too many tickets are being submitted, retry later"));
+
+        mockMvc.perform(post("/api/v1/support/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Too many requests"));
+    }
+
+    @Test
+    @DisplayName("POST /tickets -> 429 Too Many Requests (превышен лимит пользователя), сервис не вызывается")
+    void createTicket_rateLimited429() throws Exception {
+        var req = CreateTicketRequestDto.builder()
+                .comment("Не работает загрузка")
+                .build();
+        willThrow(new RateLimitExceededException("Too many ticket submissions, retry in 4s", 4))
+                .given(ticketRateLimiter).checkCreate();
+
+        mockMvc.perform(post("/api/v1/support/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "4"))
+                .andExpect(jsonPath("$.error").value("Too many requests"));
+
+        verify(supportTicketService, never()).createTicket(any());
+    }
+
+    @Test
+    @DisplayName("POST /tickets c Idempotency-Key -> ключ и тело передаются в TicketIdempotency")
+    void createTicket_idempotencyKeyPassed() throws Exception {
+        var req = CreateTicketRequestDto.builder()
+                .comment("Не работает загрузка")
+                .build();
+        given(supportTicketService.createTicket(any(CreateTicketRequestDto.class)))
+                .willReturn(new TicketCreatedResponse(TicketStatus.SUCCESS, "Заявка отправлена"));
+
+        mockMvc.perform(post("/api/v1/support/tickets")
+                        .header(TicketIdempotency.HEADER, "retry-7f3a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated());
+
+        verify(ticketIdempotency).execute(eq("retry-7f3a"), eq("create"), eq(req), any());
+    }
+
+    @Test
+    @DisplayName("POST /tickets -> 422 Unprocessable Entity (ключ уже использован с другим телом)")
+    void createTicket_idempotencyKeyReused422() throws Exception {
+        var req = CreateTicketRequestDto.builder()
+                .comment("Не работает загрузка")
+                .build();
+        willThrow(new IdempotencyKeyReusedException("Idempotency-Key was already used with a different request"))
+                .given(ticketIdempotency).execute(any(), any(), any(), any());
+
+        mockMvc.perform(post("/api/v1/support/tickets")
+                        .header(TicketIdempotency.HEADER, "retry-7f3a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value("Idempotency key reused"));
+    }
+
+    @Test
+    @DisplayName("POST /tickets -> 409 Conflict (запрос с этим ключом ещё выполняется на другом инстансе)")
+    void createTicket_idempotencyKeyInFlight409() throws Exception {
+        willThrow(new IdempotencyKeyInFlightException("Idempotency-Key is already being processed, retry later"))
+                .given(ticketIdempotency).execute(any(), any(), any(), any());
+
+        mockMvc.perform(post("/api/v1/support/tickets")
+                        .header(TicketIdempotency.HEADER, "retry-7f3a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"comment\":\"Не работает загрузка\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Idempotency key in flight"));
+    }
+
+    @Test
+    @DisplayName("POST /tickets -> 503 Service Unavailable (нет соединения с БД)")
+    void createTicket_dbUnavailable503() throws Exception {
+        var req = CreateTicketRequestDto.builder()
+                .comment("Не работает загрузка")
+                .build();
+        given(supportTicketService.createTicket(any(CreateTicketRequestDto.class)))
+                .willThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
+
+        mockMvc.perform(post("/api/v1/support/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Service unavailable"));
+    }
+
+    @Test
+    @DisplayName("POST /tickets/batch -> 201 Created")
+    void createTickets_ok() throws Exception {
+        var req = List.of(
+                CreateTicketRequestDto.builder().selectedIssueId(UUID.randomUUID()).build(),
+                CreateTicketRequestDto.builder().comment("Не получается сохранить курс").build());
+
+        var resp = TicketCreatedResponse.builder()
+                .ticketStatus(TicketStatus.SUCCESS)
+                .message("Заявки отправлены: 2")
+                .build();
+
+        given(supportTicketService.createTickets(any()))
+                .willReturn(resp);
+
+        mockMvc.perform(post("/api/v1/support/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.ticketStatus").value("SUCCESS"))
+                .andExpect(jsonPath("$.message").value("Заявки отправлены: 2"));
+
+        verify(ticketRateLimiter).checkCreateBatch(2);
+        verify(supportTicketService).createTickets(any());
+    }
+
+    @Test
+    @DisplayName("POST /tickets/batch -> 400 Bad Request (элемент нарушает правила одиночного создания), сервис не вызывается")
+    void createTickets_invalidElement_400() throws Exception {
+        var req = List.of(
+                CreateTicketRequestDto.builder().comment("Не получается сохранить курс").build(),
+                CreateTicketRequestDto.builder().comment("x".repeat(501)).build());
+
+        mockMvc.perform(post("/api/v1/support/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation failed"))
+                .andExpect(jsonPath("$.message").value(containsString("body[1].comment")));
+
+        verify(supportTicketService, never()).createTickets(any());
+    }
+
+    @Test
+    @DisplayName("POST /tickets/batch -> 400 Bad Request (null-элемент), а не 500 из сервиса")
+    void createTickets_nullElement_400() throws Exception {
+        mockMvc.perform(post("/api/v1/support/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"comment\":\"x\"}, null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation failed"));
+
+        verify(supportTicketService, never()).createTickets(any());
+    }
+
+    @Test
+    @DisplayName("POST /tickets/batch -> 400 Bad Request (превышен размер пакета)")
+    void createTickets_tooLarge_400() throws Exception {
+        given(supportTicketService.createTickets(any()))
+                .willThrow(new IllegalArgumentException("Batch size must be <= 500"));
+
+        mockMvc.perform(post("/api/v1/support/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"comment\":\"x\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Batch size must be <= 500"));
+    }
+
+    @Test
+    @DisplayName("GET /tickets -> 200 OK (строка с текстом пресета)")
     void listTickets_ok() throws Exception {
-        Page<SupportTicketResponse> page = new PageImpl<>(
-                List.of(), PageRequest.of(0, 20), 0);
+        UUID presetId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2025-01-01T10:00:00Z");
+        var row = new AdminTicketResponse(UUID.randomUUID(), UUID.randomUUID(), UserRole.MENTOR, SupportIssueType.PRESET,
+                presetId, "Не открывается курс", null, SupportTicketStatus.NEW, createdAt, createdAt);
+        Page<AdminTicketResponse> page = new PageImpl<>(
+                List.of(row), PageRequest.of(0, 20), 1);
 
         given(supportTicketSuperAdminService.listTickets(isNull(), any()))
                 .willReturn(page);
 
         mockMvc.perform(get("/api/v1/support/tickets?page=0&size=20"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content", hasSize(0)));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].selectedIssueId").value(presetId.toString()))
+                .andExpect(jsonPath("$.content[0].selectedIssueText").value("Не открывается курс"));
 
         verify(supportTicketSuperAdminService).listTickets(isNull(), any());
     }
@@ -165,13 +386,113 @@ class SupportControllerTest {
                 .andExpect(jsonPath("$.error").value("Internal server error"));
     }
 
+    @Test
+    @DisplayName("GET /tickets/cursor -> 200 OK (страница с курсором)")
+    void listTicketsByCursor_ok() throws Exception {
+        given(supportTicketSuperAdminService.listTicketsByCursor(eq(SupportTicketStatus.NEW), eq("abc"), eq(20)))
+                .willReturn(new CursorSlice<>(List.of(), 20, true, "next"));
+
+        mockMvc.perform(get("/api/v1/support/tickets/cursor?status=NEW&cursor=abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("GET /tickets/cursor -> 400 Bad Request (битый курсор)")
+    void listTicketsByCursor_invalidCursor() throws Exception {
+        given(supportTicketSuperAdminService.listTicketsByCursor(isNull(), eq("broken"), eq(20)))
+                .willThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/support/tickets/cursor?cursor=broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /tickets/counters -> 200 OK (счётчики по статусам)")
+    void countTicketsByStatus_ok() throws Exception {
+        Map<SupportTicketStatus, Long> counts = new EnumMap<>(SupportTicketStatus.class);
+        counts.put(SupportTicketStatus.NEW, 7L);
+        counts.put(SupportTicketStatus.CLOSED, 3L);
+        given(supportTicketSuperAdminService.countByStatus())
+                .willReturn(new TicketStatusCountsResponse(counts, 10, Instant.parse("2025-01-01T10:00:00Z")));
+
+        mockMvc.perform(get("/api/v1/support/tickets/counters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.NEW").value(7))
+                .andExpect(jsonPath("$.counts.CLOSED").value(3))
+                .andExpect(jsonPath("$.total").value(10))
+                .andExpect(jsonPath("$.reconciledAt").value("2025-01-01T10:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("GET /tickets/my -> 200 OK (история текущего пользователя)")
+    void listMyTickets_ok() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID presetId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2025-01-01T10:00:00Z");
+        var row = new UserTicketResponse(id, SupportIssueType.PRESET, presetId, SupportTicketStatus.NEW, createdAt, createdAt);
+        given(supportTicketService.listMyTickets(eq("abc"), eq(5)))
+                .willReturn(new CursorSlice<>(List.of(row), 5, false, null));
+
+        mockMvc.perform(get("/api/v1/support/tickets/my?cursor=abc&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.content[0].selectedIssueId").value(presetId.toString()))
+                .andExpect(jsonPath("$.content[0].status").value("NEW"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /tickets/my -> 400 Bad Request (size вне диапазона)")
+    void listMyTickets_invalidSize() throws Exception {
+        given(supportTicketService.listMyTickets(isNull(), eq(500)))
+                .willThrow(new IllegalArgumentException("Size must be between 1 and 100"));
+
+        mockMvc.perform(get("/api/v1/support/tickets/my?size=500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Size must be between 1 and 100"));
+    }
+
+    @Test
+    @DisplayName("PUT /tickets/status -> 200 OK (число изменённых тикетов)")
+    void updateStatuses_ok() throws Exception {
+        UUID id = UUID.randomUUID();
+        var body = new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED, List.of(id), null, null);
+        given(supportTicketSuperAdminService.updateStatuses(eq(body)))
+                .willReturn(new BulkStatusUpdateResponse(1, false));
+
+        mockMvc.perform(put("/api/v1/support/tickets/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("PUT /tickets/status -> 400 Bad Request (нет ни ticketIds, ни currentStatus)")
+    void updateStatuses_invalid() throws Exception {
+        given(supportTicketSuperAdminService.updateStatuses(any()))
+                .willThrow(new IllegalArgumentException("Either ticketIds or currentStatus is required"));
+
+        mockMvc.perform(put("/api/v1/support/tickets/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CLOSED\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Either ticketIds or currentStatus is required"));
+    }
+
     @Test
     @DisplayName("PUT /tickets/{id} -> 200 OK")
     void updateStatus_ok() throws Exception {
         UUID id = UUID.randomUUID();
         var body = new UpdateTicketStatusRequestDto(SupportTicketStatus.IN_PROGRESS);
 
-        given(supportTicketSuperAdminService.updateStatus(eq(id), eq(SupportTicketStatus.IN_PROGRESS)))
+        given(supportTicketSuperAdminService.updateStatus(eq(id), eq(SupportTicketStatus.IN_PROGRESS), isNull()))
                 .willReturn(new SupportTicketResponse(null, null, null, null,
                         null, null, SupportTicketStatus.IN_PROGRESS, null, null));
 
@@ -181,7 +502,7 @@ class SupportControllerTest {
                 .andExpect(status().isOk());
 
         verify(supportTicketSuperAdminService)
-                .updateStatus(eq(id), eq(SupportTicketStatus.IN_PROGRESS));
+                .updateStatus(eq(id), eq(SupportTicketStatus.IN_PROGRESS), isNull());
     }
 
     @Test
@@ -190,7 +511,7 @@ class SupportControllerTest {
         UUID id = UUID.randomUUID();
         var body = new UpdateTicketStatusRequestDto(SupportTicketStatus.CLOSED);
 
-        given(supportTicketSuperAdminService.updateStatus(eq(id), eq(SupportTicketStatus.CLOSED)))
+        given(supportTicketSuperAdminService.updateStatus(eq(id), eq(SupportTicketStatus.CLOSED), isNull()))
                 .willThrow(new TicketNotFoundException("Ticket with id %s not found".formatted(id)));
 
         mockMvc.perform(put("/api/v1/support/tickets/{ticketId}", id)
@@ -198,6 +519,26 @@ class SupportControllerTest {
                         .content(objectMapper.writeValueAsString(body)))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error").value("Ticket not found"));
+
+        verify(supportMetrics).error(any(TicketNotFoundException.class), eq(404));
+    }
+
+    @Test
+    @DisplayName("PUT /tickets/{id}?expectedStatus -> 409 Conflict (статус уже изменён другим администратором)")
+    void updateStatus_conflict() throws Exception {
+        UUID id = UUID.randomUUID();
+        var body = new UpdateTicketStatusRequestDto(SupportTicketStatus.CLOSED);
+
+        given(supportTicketSuperAdminService.updateStatus(eq(id), eq(SupportTicketStatus.CLOSED), eq(SupportTicketStatus.NEW)))
+                .willThrow(new TicketStatusConflictException("Ticket %s has status IN_PROGRESS, expected NEW".formatted(id)));
+
+        mockMvc.perform(put("/api/v1/support/tickets/{ticketId}?expectedStatus=NEW", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Ticket status conflict"));
+
+        verify(supportMetrics).error(any(TicketStatusConflictException.class), eq(409));
     }
 
     @Test
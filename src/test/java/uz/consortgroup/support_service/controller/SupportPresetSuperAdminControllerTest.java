@@ -14,6 +14,8 @@ import uz.consortgroup.core.api.v1.dto.support.request.UpdatePresetRequestDto;
 import uz.consortgroup.core.api.v1.dto.support.response.PresetResponse;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
 import uz.consortgroup.support_service.exception.PresetNotFoundExecption;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.security.IdentityCache;
 import uz.consortgroup.support_service.service.super_admin.SupportPresetSuperAdminService;
 
 import java.util.List;
@@ -48,6 +50,12 @@ class SupportPresetSuperAdminControllerTest {
     @MockitoBean
     private SupportPresetSuperAdminService service;
 
+    @MockitoBean
+    private SupportMetrics supportMetrics;
+
+    @MockitoBean
+    private IdentityCache identityCache;
+
 
     @Test
     @DisplayName("POST /presets/super-admin -> 201 Created")
@@ -0,0 +1,113 @@
+package uz.consortgroup.support_service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.TicketStatus;
+import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final IdempotentResult RESULT = new IdempotentResult(
+            "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08",
+            new TicketCreatedResponse(TicketStatus.SUCCESS, "Заявка отправлена"));
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> values;
+
+    @Mock
+    private IdempotencyStore fallback;
+
+    private RedisIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisIdempotencyStore(redis, new ObjectMapper(), "support:idempotency:", TTL, fallback);
+        lenient().when(redis.opsForValue()).thenReturn(values);
+    }
+
+    @Test
+    @DisplayName("put/get: результат хранится в JSON с TTL и читается обратно")
+    void roundTrip() {
+        store.put("create:u1:k1", RESULT);
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(values).set(eq("support:idempotency:create:u1:k1"), json.capture(), eq(TTL));
+        when(values.get("support:idempotency:create:u1:k1")).thenReturn(json.getValue());
+
+        assertThat(store.get("create:u1:k1")).contains(RESULT);
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    @DisplayName("get/put: Redis недоступен -> используется локальное хранилище")
+    void fallbackOnRedisFailure() {
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        doThrow(new RedisConnectionFailureException("down")).when(values).set(anyString(), anyString(), any(Duration.class));
+        when(fallback.get("k")).thenReturn(Optional.of(RESULT));
+
+        store.put("k", RESULT);
+
+        assertThat(store.get("k")).contains(RESULT);
+        verify(fallback).put("k", RESULT);
+    }
+
+    @Test
+    @DisplayName("tryClaim: SET NX PX с маркером владельца; пока ключ захвачен, get возвращает empty")
+    void claimSetsInFlightMarker() {
+        Duration lease = Duration.ofSeconds(30);
+        when(values.setIfAbsent("support:idempotency:k", "in-flight:owner-1", lease)).thenReturn(true);
+        when(values.setIfAbsent("support:idempotency:k", "in-flight:owner-2", lease)).thenReturn(false);
+        when(values.get("support:idempotency:k")).thenReturn("in-flight:owner-1");
+
+        assertThat(store.tryClaim("k", "owner-1", lease)).isTrue();
+        assertThat(store.tryClaim("k", "owner-2", lease)).isFalse();
+        assertThat(store.get("k")).isEmpty();
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    @DisplayName("release: маркер снимается скриптом compare-and-delete только для своего владельца")
+    void releaseDeletesOwnMarker() {
+        store.release("k", "owner-1");
+
+        verify(redis).execute(RedisIdempotencyStore.RELEASE_SCRIPT, List.of("support:idempotency:k"), "in-flight:owner-1");
+    }
+
+    @Test
+    @DisplayName("tryClaim: Redis недоступен -> решает локальное хранилище")
+    void claimFallbackOnRedisFailure() {
+        Duration lease = Duration.ofSeconds(30);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenThrow(new RedisConnectionFailureException("down"));
+        when(fallback.tryClaim("k", "owner-1", lease)).thenReturn(true);
+
+        assertThat(store.tryClaim("k", "owner-1", lease)).isTrue();
+    }
+}
@@ -0,0 +1,290 @@
+package uz.consortgroup.support_service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.TicketStatus;
+import uz.consortgroup.core.api.v1.dto.support.request.CreateTicketRequestDto;
+import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
+import uz.consortgroup.support_service.config.IdempotencyProperties;
+import uz.consortgroup.support_service.exception.IdempotencyKeyInFlightException;
+import uz.consortgroup.support_service.exception.IdempotencyKeyReusedException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.security.AuthContext;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TicketIdempotencyTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final CreateTicketRequestDto REQUEST = new CreateTicketRequestDto(null, "Не работает загрузка");
+
+    @Mock
+    private AuthContext authContext;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private TicketIdempotency idempotency;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(authContext.getCurrentUserId()).thenReturn(USER_ID);
+        idempotency = create();
+    }
+
+    private TicketIdempotency create() {
+        return create(new LocalIdempotencyStore(1000, Duration.ofHours(1), meterRegistry));
+    }
+
+    private TicketIdempotency create(IdempotencyStore store) {
+        return new TicketIdempotency(store, authContext, new SupportMetrics(meterRegistry), new ObjectMapper(), properties);
+    }
+
+    private TicketCreatedResponse createTicket() {
+        return new TicketCreatedResponse(TicketStatus.SUCCESS, "Заявка отправлена #" + executions.incrementAndGet());
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get(SupportMetrics.IDEMPOTENCY).tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("execute: без заголовка -> каждый запрос выполняется, контекст не читается")
+    void noKey() {
+        idempotency.execute(null, "create", REQUEST, this::createTicket);
+        idempotency.execute(null, "create", REQUEST, this::createTicket);
+
+        assertThat(executions).hasValue(2);
+        verifyNoInteractions(authContext);
+    }
+
+    @Test
+    @DisplayName("execute: повтор с тем же ключом -> исходный ответ, действие выполнено один раз")
+    void replay() {
+        TicketCreatedResponse first = idempotency.execute("k1", "create", REQUEST, this::createTicket);
+        TicketCreatedResponse second = idempotency.execute("k1", "create", new CreateTicketRequestDto(null, "Не работает загрузка"), this::createTicket);
+
+        assertThat(second).isSameAs(first);
+        assertThat(executions).hasValue(1);
+        assertThat(counter("executed")).isEqualTo(1.0);
+        assertThat(counter("replayed")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("execute: тот же ключ с другим телом -> IdempotencyKeyReusedException")
+    void reusedWithDifferentBody() {
+        idempotency.execute("k1", "create", REQUEST, this::createTicket);
+
+        assertThatThrownBy(() -> idempotency.execute("k1", "create", new CreateTicketRequestDto(null, "Другое"), this::createTicket))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute: отпечаток различает тела с одинаковым hashCode и не зависит от порядка элементов map")
+    void fingerprintIsContentHash() {
+        // "Aa" и "BB" — классическая коллизия String.hashCode
+        idempotency.execute("k1", "create", new CreateTicketRequestDto(null, "Aa"), this::createTicket);
+        assertThatThrownBy(() -> idempotency.execute("k1", "create", new CreateTicketRequestDto(null, "BB"), this::createTicket))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+
+        Map<String, String> ab = new LinkedHashMap<>();
+        ab.put("a", "1");
+        ab.put("b", "2");
+        Map<String, String> ba = new LinkedHashMap<>();
+        ba.put("b", "2");
+        ba.put("a", "1");
+        idempotency.execute("k2", "batch", ab, this::createTicket);
+        idempotency.execute("k2", "batch", ba, this::createTicket);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("execute: ключ действует в пределах операции и пользователя")
+    void scopedByOperationAndUser() {
+        idempotency.execute("k1", "create", REQUEST, this::createTicket);
+        idempotency.execute("k1", "batch", REQUEST, this::createTicket);
+
+        lenient().when(authContext.getCurrentUserId()).thenReturn(UUID.randomUUID());
+        idempotency.execute("k1", "create", REQUEST, this::createTicket);
+
+        assertThat(executions).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("execute: ошибка не сохраняется -> повтор выполняется заново")
+    void failureNotStored() {
+        assertThatThrownBy(() -> idempotency.execute("k1", "create", REQUEST, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        TicketCreatedResponse retried = idempotency.execute("k1", "create", REQUEST, this::createTicket);
+
+        assertThat(retried.getMessage()).endsWith("#1");
+    }
+
+    @Test
+    @DisplayName("execute: пустой или слишком длинный ключ -> IllegalArgumentException")
+    void invalidKey() {
+        assertThatThrownBy(() -> idempotency.execute(" ", "create", REQUEST, this::createTicket))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> idempotency.execute("x".repeat(TicketIdempotency.MAX_KEY_LENGTH + 1), "create", REQUEST, this::createTicket))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("execute: выключено -> ключ игнорируется")
+    void disabled() {
+        properties.setEnabled(false);
+        idempotency = create();
+
+        idempotency.execute("k1", "create", REQUEST, this::createTicket);
+        idempotency.execute("k1", "create", REQUEST, this::createTicket);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("execute: одновременный дубль ждёт выполняющийся запрос и получает его ответ")
+    void concurrentDuplicateCoalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<TicketCreatedResponse> leader = CompletableFuture.supplyAsync(() ->
+                idempotency.execute("k1", "create", REQUEST, () -> {
+                    started.countDown();
+                    await(release);
+                    return createTicket();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<TicketCreatedResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotency.execute("k1", "create", REQUEST, this::createTicket));
+        // дубль должен встать в ожидание, а не выполниться сам
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+        assertThat(executions).hasValue(1);
+        assertThat(counter("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("execute: дубль на другом инстансе не захватывает ключ и получает ответ владельца")
+    void crossInstanceDuplicateWaitsForOwner() throws Exception {
+        properties.setPollInterval(Duration.ofMillis(10));
+        SharedStore shared = new SharedStore();
+        TicketIdempotency nodeA = create(shared);
+        TicketIdempotency nodeB = create(shared);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<TicketCreatedResponse> owner = CompletableFuture.supplyAsync(() ->
+                nodeA.execute("k1", "create", REQUEST, () -> {
+                    started.countDown();
+                    await(release);
+                    return createTicket();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<TicketCreatedResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                nodeB.execute("k1", "create", REQUEST, this::createTicket));
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(owner.get(5, TimeUnit.SECONDS));
+        assertThat(executions).hasValue(1);
+        assertThat(counter("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("execute: владелец не ответил за in-flight-timeout -> 409 для дубля, действие не выполняется")
+    void crossInstanceDuplicateTimesOut() {
+        properties.setInFlightTimeout(Duration.ofMillis(50));
+        properties.setPollInterval(Duration.ofMillis(10));
+        SharedStore shared = new SharedStore();
+        shared.tryClaim("create:" + USER_ID + ":k1", "other-node", Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> create(shared).execute("k1", "create", REQUEST, this::createTicket))
+                .isInstanceOf(IdempotencyKeyInFlightException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("execute: ошибка владельца снимает маркер -> повтор захватывает ключ и выполняется")
+    void failedOwnerReleasesClaim() {
+        SharedStore shared = new SharedStore();
+        TicketIdempotency node = create(shared);
+
+        assertThatThrownBy(() -> node.execute("k1", "create", REQUEST, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(shared.claims).isEmpty();
+
+        assertThat(node.execute("k1", "create", REQUEST, this::createTicket).getMessage()).endsWith("#1");
+    }
+
+    // Общее для "инстансов" хранилище с семантикой SET NX: маркер и ответ лежат под одним ключом
+    private static final class SharedStore implements IdempotencyStore {
+        final ConcurrentMap<String, String> claims = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, IdempotentResult> results = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<IdempotentResult> get(String key) {
+            return Optional.ofNullable(results.get(key));
+        }
+
+        @Override
+        public boolean tryClaim(String key, String owner, Duration lease) {
+            return !results.containsKey(key) && claims.putIfAbsent(key, owner) == null;
+        }
+
+        @Override
+        public void put(String key, IdempotentResult result) {
+            results.put(key, result);
+            claims.remove(key);
+        }
+
+        @Override
+        public void release(String key, String owner) {
+            claims.remove(key, owner);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.dto.AdminTicketResponse;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.super_admin.SupportTicketSuperAdminService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Страница админского списка должна стоить фиксированное число SQL-запросов независимо от размера страницы
+// и числа разных пресетов в ней — ловит возврат к загрузке сущностей и ленивому selectedIssue (N+1)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=uz.consortgroup.support_service.it.CapturingStatementInspector")
+class AdminTicketListingStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int PRESETS = 10;
+    private static final int TICKETS = 60;
+
+    @Autowired
+    private SupportTicketSuperAdminService superAdminService;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private SupportIssuePresetRepository presetRepository;
+
+    @BeforeEach
+    void seed() {
+        supportTicketRepository.deleteAllInBatch();
+        List<SupportIssuePreset> presets = new ArrayList<>();
+        for (int i = 0; i < PRESETS; i++) {
+            presets.add(presetRepository.save(SupportIssuePreset.builder()
+                    .role(UserRole.MENTOR).text("Listing preset " + UUID.randomUUID()).sortOrder(i).active(true).build()));
+        }
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<SupportTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            // каждый четвёртый тикет — CUSTOM без пресета, остальные разбросаны по всем пресетам
+            boolean custom = i % 4 == 0;
+            Instant createdAt = base.minusSeconds(i);
+            tickets.add(SupportTicket.builder()
+                    .userId(UUID.randomUUID())
+                    .role(UserRole.MENTOR)
+                    .issueType(custom ? SupportIssueType.CUSTOM : SupportIssueType.PRESET)
+                    .selectedIssue(custom ? null : presets.get(i % PRESETS))
+                    .comment(custom ? "Listing #" + i : null)
+                    .status(SupportTicketStatus.NEW)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        supportTicketRepository.saveAll(tickets);
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    @DisplayName("listTickets: страница из 50 строк -> один SELECT данных и один count, текст пресета заполнен")
+    void pageIsTwoStatements() {
+        Page<AdminTicketResponse> page = superAdminService.listTickets(null,
+                PageRequest.of(0, 50, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))));
+
+        assertThat(page.getContent()).hasSize(50);
+        assertThat(page.getTotalElements()).isEqualTo(TICKETS);
+        assertPresetTextJoined(page.getContent());
+        assertThat(selects()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("listTicketsByCursor: страница -> один SELECT, текст пресета заполнен")
+    void cursorPageIsOneStatement() {
+        CursorSlice<AdminTicketResponse> slice = superAdminService.listTicketsByCursor(SupportTicketStatus.NEW, null, 50);
+
+        assertThat(slice.content()).hasSize(50);
+        assertThat(slice.hasNext()).isTrue();
+        assertPresetTextJoined(slice.content());
+        assertThat(selects()).hasSize(1);
+    }
+
+    private static void assertPresetTextJoined(List<AdminTicketResponse> rows) {
+        assertThat(rows).filteredOn(r -> r.issueType() == SupportIssueType.PRESET)
+                .isNotEmpty()
+                .allSatisfy(r -> {
+                    assertThat(r.selectedIssueId()).isNotNull();
+                    assertThat(r.selectedIssueText()).startsWith("Listing preset ");
+                });
+        assertThat(rows).filteredOn(r -> r.issueType() == SupportIssueType.CUSTOM)
+                .isNotEmpty()
+                .allSatisfy(r -> assertThat(r.selectedIssueText()).isNull());
+    }
+
+    private static List<String> selects() {
+        return CapturingStatementInspector.statements().stream()
+                .filter(s -> s.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+    }
+}
@@ -0,0 +1,25 @@
+package uz.consortgroup.support_service.it;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
@@ -0,0 +1,257 @@
+package uz.consortgroup.support_service.it;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.support.request.CreatePresetRequestDto;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+import uz.consortgroup.support_service.repository.SupportTicketBatchRepository;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.security.AuthHeaders;
+import uz.consortgroup.support_service.service.super_admin.SupportPresetSuperAdminService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Общая основа HTTP-нагрузки на поднятое приложение: сид данных, запросы к эндпоинтам, HDR-гистограммы
+// и две модели подачи — открытая (OpenModelLoadTest) и закрытая с фиксированной конкурентностью
+// (ThreadModeLoadBenchmark). Результаты пишутся в лог этого пакета
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "support.presets.cache.redis.enabled=false",
+        "support.tickets.rate-limit.enabled=false",
+        "support.outbox.relay.enabled=false",
+        "logging.level.root=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.uz.consortgroup.support_service.it=INFO"
+})
+abstract class LoadTestHarness extends PostgresIntegrationTest {
+
+    static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    final int seedTickets = Integer.getInteger("loadtest.seedTickets", 5_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private SupportTicketBatchRepository supportTicketBatchRepository;
+
+    @Autowired
+    private SupportIssuePresetRepository presetRepository;
+
+    @Autowired
+    private SupportPresetSuperAdminService presetService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final List<UUID> ticketIds = new ArrayList<>();
+
+    enum Endpoint {
+        PRESETS("GET /presets"),
+        CREATE("POST /tickets"),
+        LIST("GET /tickets"),
+        UPDATE("PUT /tickets/{id}");
+
+        final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        supportTicketRepository.deleteAllInBatch();
+        presetRepository.deleteAllInBatch();
+        for (UserRole role : List.of(UserRole.MENTOR, UserRole.STUDENT, UserRole.HR)) {
+            for (int i = 0; i < 8; i++) {
+                presetService.create(CreatePresetRequestDto.builder().role(role).text(role + " load preset " + i).sortOrder(i).build());
+            }
+        }
+
+        Instant now = Instant.now();
+        List<SupportTicket> batch = new ArrayList<>(1_000);
+        for (int i = 0; i < seedTickets; i++) {
+            Instant createdAt = now.minusSeconds(60L * i);
+            batch.add(SupportTicket.builder()
+                    .id(UUID.randomUUID())
+                    .userId(UUID.randomUUID())
+                    .role(UserRole.MENTOR)
+                    .issueType(SupportIssueType.CUSTOM)
+                    .comment("Seeded ticket #" + i)
+                    .status(SupportTicketStatus.values()[i % SupportTicketStatus.values().length])
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+            if (batch.size() == 1_000 || i == seedTickets - 1) {
+                supportTicketBatchRepository.insertAll(batch);
+                batch.forEach(t -> ticketIds.add(t.getId()));
+                batch.clear();
+            }
+        }
+    }
+
+    // Открытая модель: запросы приходят по пуассоновскому потоку с заданным RPS независимо от того,
+    // успел ли ответить сервер. Задержка считается от запланированного момента отправки, поэтому
+    // очередь на стороне клиента попадает в гистограмму (нет coordinated omission)
+    long driveOpen(Duration window, double rps, Map<Endpoint, Integer> mix, int maxInFlight, Stats stats) {
+        SplittableRandom random = new SplittableRandom(42);
+        double meanIntervalNanos = 1e9 / rps;
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+        long end = start + window.toNanos();
+        long intended = start;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                intended += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Endpoint endpoint = pick(mix, random.nextInt(100));
+                // Предохранитель от неограниченного роста числа клиентских потоков при перегрузке сервера
+                if (inFlight.get() >= maxInFlight) {
+                    stats.dropped.incrementAndGet();
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                long scheduledAt = intended;
+                executor.execute(() -> call(endpoint, scheduledAt, stats, inFlight::decrementAndGet));
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Закрытая модель: не больше concurrency запросов в полёте, задержка — от фактической отправки
+    long driveClosed(Endpoint endpoint, int requests, int concurrency, Stats stats) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                executor.execute(() -> call(endpoint, System.nanoTime(), stats, inFlight::release));
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void call(Endpoint endpoint, long startedAt, Stats stats, Runnable done) {
+        try {
+            int status = client.send(request(endpoint), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 400) {
+                stats.errors.get(endpoint).incrementAndGet();
+            }
+        } catch (Exception e) {
+            stats.errors.get(endpoint).incrementAndGet();
+        } finally {
+            stats.histograms.get(endpoint).recordValue(Math.min(System.nanoTime() - startedAt, MAX_LATENCY_NANOS));
+            done.run();
+        }
+    }
+
+    private static Endpoint pick(Map<Endpoint, Integer> mix, int roll) {
+        int acc = 0;
+        for (Map.Entry<Endpoint, Integer> e : mix.entrySet()) {
+            acc += e.getValue();
+            if (roll < acc) {
+                return e.getKey();
+            }
+        }
+        return mix.keySet().iterator().next();
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case PRESETS -> authorized("/api/v1/support/presets", "MENTOR").GET().build();
+            case CREATE -> authorized("/api/v1/support/tickets", "MENTOR")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"comment\":\"Load test ticket\"}"))
+                    .build();
+            case LIST -> authorized("/api/v1/support/tickets?page=" + random.nextInt(5) + "&size=20", "SUPER_ADMIN")
+                    .GET().build();
+            case UPDATE -> {
+                UUID id = ticketIds.get(random.nextInt(ticketIds.size()));
+                SupportTicketStatus status = SupportTicketStatus.values()[random.nextInt(SupportTicketStatus.values().length)];
+                yield authorized("/api/v1/support/tickets/" + id, "SUPER_ADMIN")
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"))
+                        .build();
+            }
+        };
+    }
+
+    private HttpRequest.Builder authorized(String path, String roles) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header(AuthHeaders.AUTH_VALIDATED, "true")
+                .header(AuthHeaders.USER_ID, UUID.randomUUID().toString())
+                .header(AuthHeaders.ROLES, roles);
+    }
+
+    static double ms(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    static final class Stats {
+        final Map<Endpoint, Histogram> histograms = new LinkedHashMap<>();
+        final Map<Endpoint, AtomicLong> errors = new LinkedHashMap<>();
+        final AtomicLong dropped = new AtomicLong();
+
+        Stats() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                histograms.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+                errors.put(endpoint, new AtomicLong());
+            }
+        }
+
+        long total() {
+            return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+
+        long totalErrors() {
+            return errors.values().stream().mapToLong(AtomicLong::get).sum() + dropped.get();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package uz.consortgroup.support_service.it;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Открытая модель нагрузки по смеси эндпоинтов, см. LoadTestHarness.driveOpen().
+// Запуск: ./gradlew loadTest -Ploadtest.rps=300 -Ploadtest.duration=PT60S, отчёты в build/reports/loadtest
+@Tag("loadtest")
+class OpenModelLoadTest extends LoadTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenModelLoadTest.class);
+
+    private final double rps = Double.parseDouble(System.getProperty("loadtest.rps", "200"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+    private final Map<Endpoint, Integer> mix = parseMix(System.getProperty("loadtest.mix", "presets:40,create:25,list:25,update:10"));
+    private final int maxInFlight = Integer.getInteger("loadtest.maxInFlight", 5_000);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01"));
+    private final Path reportDir = Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+
+    @Test
+    @DisplayName("open-model нагрузка по смеси эндпоинтов: HDR-отчёт по каждому")
+    void run() throws Exception {
+        log.info("[loadtest] rps={} duration={} warmup={} mix={} seedTickets={}",
+                rps, duration, warmup, mix, seedTickets);
+
+        driveOpen(warmup, rps, mix, maxInFlight, new Stats());
+        Stats stats = new Stats();
+        long elapsed = driveOpen(duration, rps, mix, maxInFlight, stats);
+
+        report(stats, elapsed);
+
+        long total = stats.total();
+        assertThat(total).isPositive();
+        assertThat((double) stats.totalErrors() / (total + stats.dropped.get())).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    private void report(Stats stats, long elapsedNanos) throws IOException {
+        Files.createDirectories(reportDir);
+        double seconds = elapsedNanos / 1e9;
+        List<String> summary = new ArrayList<>();
+        summary.add(String.format("target_rps=%.0f achieved_rps=%.1f duration=%.1fs dropped=%d",
+                rps, stats.total() / seconds, seconds, stats.dropped.get()));
+        summary.add(String.format("%-18s %8s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "count", "errors", "p50_ms", "p90_ms", "p99_ms", "p99.9_ms", "max_ms"));
+
+        for (Endpoint endpoint : mix.keySet()) {
+            Histogram h = stats.histograms.get(endpoint);
+            summary.add(String.format("%-18s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    endpoint.label, h.getTotalCount(), stats.errors.get(endpoint).get(),
+                    ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1e6));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(endpoint.name().toLowerCase() + ".hgrm")))) {
+                h.outputPercentileDistribution(out, 1e6);
+            }
+        }
+
+        Files.write(reportDir.resolve("summary.txt"), summary);
+        summary.forEach(line -> log.info("[loadtest] {}", line));
+    }
+
+    static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.valueOf(kv[0].trim().toUpperCase()), weight);
+            }
+        }
+        int sum = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (sum != 100) {
+            throw new IllegalArgumentException("loadtest.mix weights must add up to 100, got " + sum);
+        }
+        return weights;
+    }
+}
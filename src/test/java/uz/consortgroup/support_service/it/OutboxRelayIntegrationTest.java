@@ -0,0 +1,167 @@
+package uz.consortgroup.support_service.it;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.support_service.config.OutboxProperties;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.outbox.OutboxEventType;
+import uz.consortgroup.support_service.outbox.OutboxMessage;
+import uz.consortgroup.support_service.outbox.OutboxRelay;
+import uz.consortgroup.support_service.outbox.OutboxSink;
+import uz.consortgroup.support_service.outbox.TicketOutbox;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.repository.TicketOutboxRepository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+class OutboxRelayIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private TicketOutboxRepository outboxRepository;
+
+    @Autowired
+    private TicketOutbox ticketOutbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final InMemoryOutboxSink sink = new InMemoryOutboxSink();
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("DELETE FROM support_schema.ticket_outbox");
+        supportTicketRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("событие фиксируется вместе с тикетом и откатывается вместе с ним")
+    void writtenInTicketTransaction() {
+        SupportTicket committed = createTicket();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            SupportTicket ticket = supportTicketRepository.save(ticket().build());
+            ticketOutbox.ticketCreated(ticket);
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jdbcTemplate.queryForList("SELECT aggregate_id FROM support_schema.ticket_outbox", UUID.class))
+                .containsExactly(committed.getId());
+    }
+
+    @Test
+    @DisplayName("relay: события уходят в sink по порядку id и удаляются из outbox")
+    void relayPublishesAndDeletes() {
+        SupportTicket first = createTicket();
+        SupportTicket second = createTicket();
+
+        int sent = relay(10).relay();
+
+        assertThat(sent).isEqualTo(2);
+        assertThat(sink.messages).extracting(OutboxMessage::key).containsExactly(first.getId(), second.getId());
+        assertThat(sink.messages).extracting(OutboxMessage::type).containsOnly(OutboxEventType.TICKET_CREATED);
+        assertThat(sink.messages.get(0).payload()).contains(first.getId().toString());
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    @DisplayName("relay: sink упал -> события остаются в outbox и уходят при следующем запуске")
+    void sinkFailureRetried() {
+        createTicket();
+        sink.failNext = true;
+
+        assertThatThrownBy(() -> relay(10).relay()).isInstanceOf(IllegalStateException.class);
+        assertThat(count()).isEqualTo(1);
+
+        assertThat(relay(10).relay()).isEqualTo(1);
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    @DisplayName("lockBatch: строки, заблокированные другим релеем, пропускаются без ожидания (SKIP LOCKED)")
+    void concurrentRelaysSkipLockedRows() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            createTicket();
+        }
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<OutboxMessage>> other = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<OutboxMessage> batch = outboxRepository.lockBatch(2);
+                    locked.countDown();
+                    await(release);
+                    return batch;
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        int sent = relay(10).relay();
+        release.countDown();
+        List<OutboxMessage> lockedByOther = other.get(10, TimeUnit.SECONDS);
+
+        assertThat(sent).isEqualTo(2);
+        assertThat(sink.messages).extracting(OutboxMessage::id)
+                .doesNotContainAnyElementsOf(lockedByOther.stream().map(OutboxMessage::id).toList());
+        // «другой» релей откатился без удаления — его строки всё ещё ждут публикации
+        assertThat(count()).isEqualTo(2);
+    }
+
+    private OutboxRelay relay(int batchSize) {
+        OutboxProperties properties = new OutboxProperties();
+        properties.getRelay().setBatchSize(batchSize);
+        return new OutboxRelay(outboxRepository, sink, transactionTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    private SupportTicket createTicket() {
+        return transactionTemplate.execute(status -> {
+            SupportTicket ticket = supportTicketRepository.save(ticket().build());
+            ticketOutbox.ticketCreated(ticket);
+            return ticket;
+        });
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM support_schema.ticket_outbox", Long.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class InMemoryOutboxSink implements OutboxSink {
+        final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+        volatile boolean failNext;
+
+        @Override
+        public void publish(List<OutboxMessage> batch) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("broker down");
+            }
+            messages.addAll(batch);
+        }
+    }
+}
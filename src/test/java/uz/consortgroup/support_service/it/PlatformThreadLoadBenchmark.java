@@ -0,0 +1,15 @@
+package uz.consortgroup.support_service.it;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        "support.db.admission.enabled=false"
+})
+class PlatformThreadLoadBenchmark extends ThreadModeLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,52 @@
+package uz.consortgroup.support_service.it;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Все контексты делят одну базу: релей outbox по расписанию выключен, иначе закэшированный контекст
+// удаляет события, которые проверяет другой тест. OutboxRelayIntegrationTest запускает релей сам
+@Tag("postgres")
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "support.presets.cache.redis.enabled=false",
+        "support.outbox.relay.enabled=false",
+        "logging.level.org.springframework=INFO",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+public abstract class PostgresIntegrationTest {
+
+    protected static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            try (Connection c = postgres.getPostgresDatabase().getConnection();
+                 Statement st = c.createStatement()) {
+                st.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+            }
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
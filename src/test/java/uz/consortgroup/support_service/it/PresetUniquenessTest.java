@@ -0,0 +1,70 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import uz.consortgroup.core.api.v1.dto.support.request.CreatePresetRequestDto;
+import uz.consortgroup.core.api.v1.dto.support.request.UpdatePresetRequestDto;
+import uz.consortgroup.core.api.v1.dto.support.response.PresetResponse;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.super_admin.SupportPresetSuperAdminService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Латиница: embedded PostgreSQL инициализируется с LC_CTYPE=C, где lower() не трогает кириллицу
+class PresetUniquenessTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SupportPresetSuperAdminService presetService;
+
+    @Autowired
+    private SupportIssuePresetRepository presetRepository;
+
+    @Autowired
+    private SupportTicketRepository ticketRepository;
+
+    @BeforeEach
+    void clean() {
+        ticketRepository.deleteAllInBatch();
+        presetRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("create: тот же текст в другом регистре для той же роли -> IllegalArgumentException от уникального индекса")
+    void create_duplicateIgnoringCase() {
+        presetService.create(CreatePresetRequestDto.builder().role(UserRole.MENTOR).text("Video does not load").build());
+
+        assertThatThrownBy(() -> presetService.create(
+                CreatePresetRequestDto.builder().role(UserRole.MENTOR).text("VIDEO DOES NOT LOAD").build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Preset with same text already exists for this role");
+        assertThat(presetRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("create: тот же текст для другой роли -> OK")
+    void create_sameTextOtherRole() {
+        presetService.create(CreatePresetRequestDto.builder().role(UserRole.MENTOR).text("Нет доступа").build());
+        presetService.create(CreatePresetRequestDto.builder().role(UserRole.STUDENT).text("Нет доступа").build());
+
+        assertThat(presetRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("update: переименование в существующий текст -> IllegalArgumentException, запись не меняется")
+    void update_duplicate() {
+        presetService.create(CreatePresetRequestDto.builder().role(UserRole.HR).text("First").build());
+        PresetResponse second = presetService.create(CreatePresetRequestDto.builder().role(UserRole.HR).text("Second").build());
+
+        assertThatThrownBy(() -> presetService.update(second.getId(), UpdatePresetRequestDto.builder().text("FIRST").build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Preset with same text already exists for this role");
+        assertThat(presetRepository.findById(second.getId())).get()
+                .extracting(SupportIssuePreset::getText).isEqualTo("Second");
+    }
+}
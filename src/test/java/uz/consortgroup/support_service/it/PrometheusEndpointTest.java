@@ -0,0 +1,51 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import uz.consortgroup.support_service.security.AuthHeaders;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusEndpointTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("/actuator/prometheus -> таймеры с бакетами, счётчики по issueType/role и ошибки по исключению")
+    void scrape() throws Exception {
+        mockMvc.perform(post("/api/v1/support/tickets")
+                        .header(AuthHeaders.AUTH_VALIDATED, "true")
+                        .header(AuthHeaders.USER_ID, UUID.randomUUID().toString())
+                        .header(AuthHeaders.ROLES, "MENTOR")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"comment\":\"Metrics ticket\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/support/tickets")
+                        .header(AuthHeaders.AUTH_VALIDATED, "true")
+                        .header(AuthHeaders.USER_ID, UUID.randomUUID().toString())
+                        .header(AuthHeaders.ROLES, "MENTOR")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"comment\":\"   \"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("support_tickets_create_seconds_bucket{")))
+                .andExpect(content().string(containsString("support_tickets_submitted_total{application=\"support-service\",issueType=\"CUSTOM\",role=\"MENTOR\"} 1.0")))
+                .andExpect(content().string(containsString("support_errors_total{application=\"support-service\",exception=\"MethodArgumentNotValidException\",status=\"400\"} 1.0")));
+    }
+}
@@ -0,0 +1,212 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.partition.TicketPartitionManager;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=uz.consortgroup.support_service.it.CapturingStatementInspector")
+class QueryIndexUsageTest extends PostgresIntegrationTest {
+
+    // Сид лежит в январе-феврале 2025, курсор — в январе: февральская партиция должна отсекаться
+    private static final Instant SEEK_FROM = Instant.parse("2025-01-20T00:00:00Z");
+    private static final String STATUS_INDEX = "support_tickets_p\\d{4}_\\d{2}_status_created_at_id_idx";
+    private static final String CREATED_AT_INDEX = "support_tickets_p\\d{4}_\\d{2}_created_at_id_idx";
+    private static final String USER_HISTORY_INDEX = "Index Only Scan using support_tickets_p\\d{4}_\\d{2}_user_id_created_at_id_\\w*idx";
+
+    @Autowired
+    private SupportTicketRepository ticketRepository;
+
+    @Autowired
+    private SupportIssuePresetRepository presetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketPartitionManager partitionManager;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("DELETE FROM support_schema.support_tickets");
+        jdbcTemplate.execute("DELETE FROM support_schema.support_issue_presets");
+        partitionManager.ensurePartitions(YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+        // Распределение как в проде: открытых тикетов мало, закрытых — большинство
+        jdbcTemplate.execute("""
+                INSERT INTO support_schema.support_tickets (user_id, role, issue_type, comment, status, created_at, updated_at)
+                SELECT uuid_generate_v4(), 'MENTOR', 'CUSTOM', 'Seed #' || g,
+                       CASE WHEN g % 50 = 0 THEN 'NEW' WHEN g % 50 = 1 THEN 'IN_PROGRESS' ELSE 'CLOSED' END,
+                       TIMESTAMPTZ '2025-01-01' + g * INTERVAL '1 minute',
+                       TIMESTAMPTZ '2025-01-01' + g * INTERVAL '1 minute'
+                FROM generate_series(1, 50000) g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO support_schema.support_issue_presets (role, text, sort_order, active)
+                SELECT (ARRAY['SUPER_ADMIN','ADMIN','MENTOR','HR','STUDENT'])[1 + g % 5], 'Preset #' || g, g, g % 20 = 0
+                FROM generate_series(1, 20000) g
+                """);
+        jdbcTemplate.execute("VACUUM ANALYZE support_schema.support_tickets");
+        jdbcTemplate.execute("VACUUM ANALYZE support_schema.support_issue_presets");
+    }
+
+    @AfterAll
+    void cleanup() {
+        jdbcTemplate.execute("DELETE FROM support_schema.support_tickets");
+        jdbcTemplate.execute("DELETE FROM support_schema.support_issue_presets");
+    }
+
+    @Test
+    @DisplayName("findAdminViewByStatus(status, page sorted by createdAt desc) -> idx_support_tickets_status_created_at")
+    void pageByStatus() {
+        String plan = explain(() -> ticketRepository.findAdminViewByStatus(SupportTicketStatus.NEW,
+                PageRequest.of(0, 20, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))),
+                SupportTicketStatus.NEW, 20);
+
+        assertThat(plan).containsPattern(STATUS_INDEX);
+    }
+
+    @Test
+    @DisplayName("findAdminViewLatestByStatus -> idx_support_tickets_status_created_at")
+    void firstPageByStatus() {
+        String plan = explain(() -> ticketRepository.findAdminViewLatestByStatus(
+                SupportTicketStatus.IN_PROGRESS, Limit.of(21)),
+                SupportTicketStatus.IN_PROGRESS, 21);
+
+        assertThat(plan).containsPattern(STATUS_INDEX);
+    }
+
+    @Test
+    @DisplayName("findAdminViewBeforeByStatus -> idx_support_tickets_status_created_at, партиции новее курсора отсечены")
+    void seekByStatus() {
+        UUID id = UUID.randomUUID();
+        String plan = explain(() -> ticketRepository.findAdminViewBeforeByStatus(
+                        SupportTicketStatus.NEW, SEEK_FROM, id, Limit.of(21)),
+                SupportTicketStatus.NEW, SEEK_FROM, SEEK_FROM, id, 21);
+
+        assertThat(plan).containsPattern(STATUS_INDEX);
+        assertThat(plan).doesNotContain("support_tickets_p2025_02");
+    }
+
+    @Test
+    @DisplayName("findAdminViewLatest -> idx_support_tickets_created_at")
+    void firstPage() {
+        String plan = explain(() -> ticketRepository.findAdminViewLatest(Limit.of(21)), 21);
+
+        assertThat(plan).containsPattern(CREATED_AT_INDEX);
+    }
+
+    @Test
+    @DisplayName("findAdminViewBefore -> idx_support_tickets_created_at, партиции новее курсора отсечены")
+    void seek() {
+        UUID id = UUID.randomUUID();
+        String plan = explain(() -> ticketRepository.findAdminViewBefore(SEEK_FROM, id, Limit.of(21)),
+                SEEK_FROM, SEEK_FROM, id, 21);
+
+        assertThat(plan).containsPattern(CREATED_AT_INDEX);
+        assertThat(plan).doesNotContain("support_tickets_p2025_02");
+    }
+
+    @Test
+    @DisplayName("findUserTickets -> Index Only Scan по idx_support_tickets_user_history, без join пресетов")
+    void userHistoryFirstPage() {
+        UUID userId = UUID.randomUUID();
+        String plan = explain(() -> ticketRepository.findUserTickets(userId, Limit.of(21)), userId, 21);
+
+        assertThat(plan).containsPattern(USER_HISTORY_INDEX);
+        assertThat(plan).doesNotContain("support_issue_presets");
+    }
+
+    @Test
+    @DisplayName("findUserTicketsBefore -> Index Only Scan, партиции новее курсора отсечены")
+    void userHistorySeek() {
+        UUID userId = UUID.randomUUID();
+        UUID id = UUID.randomUUID();
+        String plan = explain(() -> ticketRepository.findUserTicketsBefore(userId, SEEK_FROM, id, Limit.of(21)),
+                userId, SEEK_FROM, SEEK_FROM, id, 21);
+
+        assertThat(plan).containsPattern(USER_HISTORY_INDEX);
+        assertThat(plan).doesNotContain("support_tickets_p2025_02");
+        assertThat(plan).doesNotContain("support_issue_presets");
+    }
+
+    @Test
+    @DisplayName("findAllByRoleAndActiveTrueOrderBySortOrderAsc -> idx_support_issue_presets_active_role_sort")
+    void activePresetsByRole() {
+        String plan = explain(() -> presetRepository.findAllByRoleAndActiveTrueOrderBySortOrderAsc(UserRole.MENTOR),
+                UserRole.MENTOR);
+
+        assertThat(plan).contains("idx_support_issue_presets_active_role_sort");
+    }
+
+    @Test
+    @DisplayName("findAllByRoleOrderBySortOrderAsc -> индекс по role")
+    void presetsByRole() {
+        String plan = explain(() -> presetRepository.findAllByRoleOrderBySortOrderAsc(UserRole.HR), UserRole.HR);
+
+        assertThat(plan).containsPattern("Index (Only )?Scan|Bitmap Index Scan");
+    }
+
+    // Выполняет метод репозитория, перехватывает сгенерированный Hibernate SELECT
+    // и прогоняет его через EXPLAIN, подставив значения bind-параметров по порядку.
+    private String explain(Runnable repositoryCall, Object... binds) {
+        CapturingStatementInspector.clear();
+        repositoryCall.run();
+        String sql = CapturingStatementInspector.statements().stream()
+                .filter(s -> s.stripLeading().toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No SELECT captured"));
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + bind(sql, binds), String.class);
+        return String.join("\n", plan);
+    }
+
+    private static String bind(String sql, Object... binds) {
+        StringBuilder out = new StringBuilder(sql.length() + 64);
+        int next = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c != '?') {
+                out.append(c);
+                continue;
+            }
+            if (next >= binds.length) {
+                throw new AssertionError("Not enough bind values for: " + sql);
+            }
+            out.append(literal(binds[next++]));
+        }
+        if (next != binds.length) {
+            throw new AssertionError("Too many bind values for: " + sql);
+        }
+        return out.toString();
+    }
+
+    private static String literal(Object value) {
+        return switch (value) {
+            case Number n -> n.toString();
+            case Instant i -> "'" + i + "'::timestamptz";
+            case UUID u -> "'" + u + "'::uuid";
+            case Enum<?> e -> "'" + e.name() + "'";
+            default -> "'" + value.toString().replace("'", "''") + "'";
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package uz.consortgroup.support_service.it;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Сравнение режимов: запускать benchmarkTest и сравнивать строки [benchmark] двух наследников
+@Tag("benchmark")
+abstract class ThreadModeLoadBenchmark extends LoadTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeLoadBenchmark.class);
+
+    // Больше, чем 200 потоков Tomcat по умолчанию — иначе разницы между режимами не видно
+    private static final int CONCURRENCY = 400;
+    private static final int WARMUP = 1_000;
+    private static final int REQUESTS = 8_000;
+
+    abstract String mode();
+
+    @Test
+    @DisplayName("p99 POST /tickets и GET /presets под нагрузкой")
+    void latency() throws Exception {
+        driveClosed(Endpoint.CREATE, WARMUP, CONCURRENCY, new Stats());
+        driveClosed(Endpoint.PRESETS, WARMUP, CONCURRENCY, new Stats());
+        measure(Endpoint.CREATE);
+        measure(Endpoint.PRESETS);
+    }
+
+    private void measure(Endpoint endpoint) throws InterruptedException {
+        Stats stats = new Stats();
+        long elapsed = driveClosed(endpoint, REQUESTS, CONCURRENCY, stats);
+
+        Histogram h = stats.histograms.get(endpoint);
+        long errors = stats.errors.get(endpoint).get();
+        log.info("[benchmark] mode={} {} n={} errors={} p50={}ms p99={}ms max={}ms rps={}",
+                mode(), endpoint.label, h.getTotalCount(), errors,
+                String.format("%.1f", ms(h, 50)), String.format("%.1f", ms(h, 99)),
+                String.format("%.1f", h.getMaxValue() / 1e6), String.format("%.0f", h.getTotalCount() / (elapsed / 1e9)));
+        assertThat(errors).isZero();
+    }
+}
@@ -0,0 +1,120 @@
+package uz.consortgroup.support_service.it;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.archive.TicketArchiver;
+import uz.consortgroup.support_service.service.partition.TicketPartitionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+class TicketArchivalTest extends PostgresIntegrationTest {
+
+    private static final Path ARCHIVE_DIR = createTempDir();
+    private static final Instant NOW = Instant.parse("2025-03-15T00:00:00Z");
+
+    @DynamicPropertySource
+    static void archive(DynamicPropertyRegistry registry) {
+        registry.add("support.tickets.archive.enabled", () -> "true");
+        registry.add("support.tickets.archive.directory", ARCHIVE_DIR::toString);
+        registry.add("support.tickets.archive.older-than", () -> "30d");
+        registry.add("support.tickets.archive.chunk-size", () -> "4");
+        registry.add("support.tickets.archive.fetch-size", () -> "2");
+    }
+
+    @Autowired
+    private TicketArchiver archiver;
+
+    @Autowired
+    private TicketPartitionManager partitionManager;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void seed() {
+        supportTicketRepository.deleteAllInBatch();
+        partitionManager.ensurePartitions(YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+    }
+
+    @Test
+    @DisplayName("archive: старые закрытые тикеты выгружаются чанками в gzip NDJSON и удаляются, остальные остаются")
+    void archivesOnlyColdClosedTickets() throws IOException {
+        List<UUID> cold = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            cold.add(save(SupportTicketStatus.CLOSED, Instant.parse("2025-01-10T00:00:00Z").plusSeconds(i)).getId());
+        }
+        SupportTicket openOld = save(SupportTicketStatus.IN_PROGRESS, Instant.parse("2025-01-05T00:00:00Z"));
+        SupportTicket closedRecently = save(SupportTicketStatus.CLOSED, Instant.parse("2025-03-01T00:00:00Z"));
+
+        int archived = archiver.archive(NOW);
+
+        assertThat(archived).isEqualTo(10);
+        assertThat(supportTicketRepository.findAllById(cold)).isEmpty();
+        assertThat(supportTicketRepository.findById(openOld.getId())).isPresent();
+        assertThat(supportTicketRepository.findById(closedRecently.getId())).isPresent();
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(ARCHIVE_DIR)) {
+            files = list.sorted().toList();
+        }
+        assertThat(files).hasSize(3).allMatch(p -> p.getFileName().toString().endsWith(".ndjson.gz"));
+        assertThat(files.stream().flatMap(TicketArchivalTest::lines).map(l -> l.substring(7, 43)))
+                .containsExactlyInAnyOrderElementsOf(cold.stream().map(UUID::toString).toList());
+
+        assertThat(meterRegistry.get("support.tickets.archive.archived").counter().count()).isGreaterThanOrEqualTo(10);
+        assertThat(meterRegistry.get("support.tickets.archive.lag").gauge().value()).isZero();
+    }
+
+    private SupportTicket save(SupportTicketStatus status, Instant at) {
+        return supportTicketRepository.save(ticket()
+                .status(status)
+                .createdAt(at)
+                .updatedAt(at.plus(Duration.ofHours(1)))
+                .build());
+    }
+
+    private static Stream<String> lines(Path file) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList().stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path createTempDir() {
+        try {
+            return Files.createTempDirectory("ticket-archive");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
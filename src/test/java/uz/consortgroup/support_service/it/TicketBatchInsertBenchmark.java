@@ -0,0 +1,94 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uz.consortgroup.core.api.v1.dto.support.request.CreateTicketRequestDto;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.security.AuthHeaderFilter;
+import uz.consortgroup.support_service.security.RoleSet;
+import uz.consortgroup.support_service.service.SupportTicketService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class TicketBatchInsertBenchmark extends PostgresIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketBatchInsertBenchmark.class);
+
+    private static final int SINGLE_ROWS = 1_000;
+    private static final int BATCHES = 20;
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private SupportTicketService supportTicketService;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @BeforeEach
+    void authenticate() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(AuthHeaderFilter.ATTR_USER_ID, UUID.randomUUID());
+        request.setAttribute(AuthHeaderFilter.ATTR_USER_ROLES, RoleSet.of(UserRole.MENTOR));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        supportTicketRepository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void clear() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("createTickets (Hibernate + PgJDBC batching) vs createTicket per row: rows/sec")
+    void batchVsSingle() {
+        List<CreateTicketRequestDto> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(CreateTicketRequestDto.builder().comment("Benchmark ticket #" + i).build());
+        }
+
+        for (int i = 0; i < 200; i++) {
+            supportTicketService.createTicket(batch.get(i));
+        }
+        supportTicketService.createTickets(batch);
+        supportTicketRepository.deleteAllInBatch();
+
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            supportTicketService.createTicket(batch.get(i % BATCH_SIZE));
+        }
+        double singleRate = rate(SINGLE_ROWS, System.nanoTime() - singleStart);
+
+        long batchStart = System.nanoTime();
+        for (int i = 0; i < BATCHES; i++) {
+            supportTicketService.createTickets(batch);
+        }
+        int batchRows = BATCHES * BATCH_SIZE;
+        double batchRate = rate(batchRows, System.nanoTime() - batchStart);
+
+        log.info("[benchmark] createTicket x{}: {} rows/s", SINGLE_ROWS, String.format("%.0f", singleRate));
+        log.info("[benchmark] createTickets {}x{}: {} rows/s (x{})",
+                BATCHES, BATCH_SIZE, String.format("%.0f", batchRate), String.format("%.1f", batchRate / singleRate));
+
+        assertThat(supportTicketRepository.count()).isEqualTo(SINGLE_ROWS + batchRows);
+        assertThat(batchRate).isGreaterThan(singleRate);
+    }
+
+    private static double rate(int rows, long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,118 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateRequest;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateResponse;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.super_admin.SupportTicketSuperAdminService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+class TicketBulkStatusUpdateTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SupportTicketSuperAdminService superAdminService;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private SupportIssuePresetRepository presetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SupportIssuePreset preset;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("DELETE FROM support_schema.ticket_outbox");
+        supportTicketRepository.deleteAllInBatch();
+        preset = presetRepository.save(SupportIssuePreset.builder()
+                .role(UserRole.MENTOR).text("Bulk preset " + UUID.randomUUID()).sortOrder(1).active(true).build());
+    }
+
+    @Test
+    @DisplayName("по ticketIds: меняются только тикеты не в целевом статусе, в разных партициях; события outbox с previousStatus")
+    void byIds() {
+        SupportTicket fresh = save(SupportTicketStatus.NEW, null, 0);
+        SupportTicket old = save(SupportTicketStatus.IN_PROGRESS, null, 60);
+        SupportTicket alreadyClosed = save(SupportTicketStatus.CLOSED, null, 1);
+        SupportTicket untouched = save(SupportTicketStatus.NEW, null, 2);
+        Instant before = Instant.now();
+
+        BulkStatusUpdateResponse out = superAdminService.updateStatuses(new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED,
+                List.of(fresh.getId(), old.getId(), alreadyClosed.getId(), UUID.randomUUID()), null, null));
+
+        assertThat(out).isEqualTo(new BulkStatusUpdateResponse(2, false));
+        assertThat(status(fresh)).isEqualTo(SupportTicketStatus.CLOSED);
+        assertThat(status(old)).isEqualTo(SupportTicketStatus.CLOSED);
+        assertThat(status(untouched)).isEqualTo(SupportTicketStatus.NEW);
+        assertThat(reload(fresh).getUpdatedAt()).isAfterOrEqualTo(before.truncatedTo(ChronoUnit.MILLIS));
+        assertThat(reload(alreadyClosed).getUpdatedAt()).isEqualTo(alreadyClosed.getUpdatedAt());
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT aggregate_id FROM support_schema.ticket_outbox WHERE event_type = 'TICKET_STATUS_CHANGED'", UUID.class))
+                .containsExactlyInAnyOrder(fresh.getId(), old.getId());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT payload FROM support_schema.ticket_outbox WHERE aggregate_id = ?", String.class, old.getId()))
+                .contains("\"previousStatus\":\"IN_PROGRESS\"");
+    }
+
+    @Test
+    @DisplayName("по фильтру currentStatus + selectedIssueId: меняются только NEW-тикеты этого пресета")
+    void byFilter() {
+        SupportTicket first = save(SupportTicketStatus.NEW, preset, 0);
+        SupportTicket second = save(SupportTicketStatus.NEW, preset, 40);
+        SupportTicket inProgress = save(SupportTicketStatus.IN_PROGRESS, preset, 0);
+        SupportTicket custom = save(SupportTicketStatus.NEW, null, 0);
+
+        BulkStatusUpdateResponse out = superAdminService.updateStatuses(new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED,
+                null, SupportTicketStatus.NEW, preset.getId()));
+
+        assertThat(out).isEqualTo(new BulkStatusUpdateResponse(2, false));
+        assertThat(status(first)).isEqualTo(SupportTicketStatus.CLOSED);
+        assertThat(status(second)).isEqualTo(SupportTicketStatus.CLOSED);
+        assertThat(status(inProgress)).isEqualTo(SupportTicketStatus.IN_PROGRESS);
+        assertThat(status(custom)).isEqualTo(SupportTicketStatus.NEW);
+
+        assertThat(superAdminService.updateStatuses(new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED,
+                null, SupportTicketStatus.NEW, preset.getId())).updated()).isZero();
+    }
+
+    private SupportTicket save(SupportTicketStatus status, SupportIssuePreset selectedIssue, int daysAgo) {
+        Instant createdAt = Instant.now().minus(daysAgo, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS);
+        SupportTicket.SupportTicketBuilder builder = ticket().status(status);
+        if (selectedIssue != null) {
+            builder.issueType(SupportIssueType.PRESET).selectedIssue(selectedIssue).comment(null);
+        }
+        return supportTicketRepository.save(builder
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build());
+    }
+
+    private SupportTicket reload(SupportTicket ticket) {
+        return supportTicketRepository.findById(ticket.getId()).orElseThrow();
+    }
+
+    private SupportTicketStatus status(SupportTicket ticket) {
+        return reload(ticket).getStatus();
+    }
+}
@@ -0,0 +1,68 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+class TicketCoalescingTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clean() {
+        supportTicketRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("incrementDuplicates: счётчик растёт в партиции инцидента, updated_at не меняется")
+    void incrementsCounter() {
+        SupportTicket incident = save(SupportTicketStatus.NEW);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        assertThat(increment(incident, now.minusSeconds(1))).isEqualTo(1);
+        assertThat(increment(incident, now)).isEqualTo(1);
+
+        SupportTicket reloaded = supportTicketRepository.findById(incident.getId()).orElseThrow();
+        assertThat(reloaded.getDuplicateCount()).isEqualTo(2);
+        assertThat(reloaded.getLastDuplicateAt()).isEqualTo(now);
+        assertThat(reloaded.getUpdatedAt()).isEqualTo(incident.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("incrementDuplicates: закрытый инцидент -> 0 строк")
+    void closedIncidentNotExtended() {
+        SupportTicket incident = save(SupportTicketStatus.CLOSED);
+
+        assertThat(increment(incident, Instant.now())).isZero();
+        assertThat(supportTicketRepository.findById(incident.getId()).orElseThrow().getDuplicateCount()).isZero();
+    }
+
+    private SupportTicket save(SupportTicketStatus status) {
+        Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        return supportTicketRepository.save(ticket()
+                .status(status)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build());
+    }
+
+    private int increment(SupportTicket incident, Instant now) {
+        return transactionTemplate.execute(tx -> supportTicketRepository.incrementDuplicates(
+                incident.getId(), incident.getCreatedAt(), now, SupportTicketStatus.CLOSED));
+    }
+}
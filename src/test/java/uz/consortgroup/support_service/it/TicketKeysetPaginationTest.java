@@ -0,0 +1,127 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.dto.AdminTicketResponse;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.UserTicketResponse;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.super_admin.SupportTicketSuperAdminService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketKeysetPaginationTest extends PostgresIntegrationTest {
+
+    private static final UUID OWNER = UUID.randomUUID();
+
+    @Autowired
+    private SupportTicketSuperAdminService superAdminService;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private SupportIssuePresetRepository presetRepository;
+
+    @BeforeEach
+    void seed() {
+        supportTicketRepository.deleteAllInBatch();
+        SupportIssuePreset preset = presetRepository.save(SupportIssuePreset.builder()
+                .role(UserRole.MENTOR).text("Keyset preset " + UUID.randomUUID()).sortOrder(1).active(true).build());
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<SupportTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // каждые три тикета с одинаковым createdAt, чтобы проверить разрешение коллизий по id
+            Instant createdAt = base.minusSeconds(i / 3);
+            // каждый третий тикет — от OWNER, половина из них с пресетом
+            boolean own = i % 3 == 0;
+            boolean withPreset = own && i % 2 == 0;
+            tickets.add(SupportTicket.builder()
+                    .userId(own ? OWNER : UUID.randomUUID())
+                    .role(UserRole.MENTOR)
+                    .issueType(withPreset ? SupportIssueType.PRESET : SupportIssueType.CUSTOM)
+                    .selectedIssue(withPreset ? preset : null)
+                    .comment("Keyset #" + i)
+                    .status(i % 2 == 0 ? SupportTicketStatus.NEW : SupportTicketStatus.CLOSED)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        supportTicketRepository.saveAll(tickets);
+    }
+
+    @Test
+    @DisplayName("listTicketsByCursor: страницы идут по (createdAt, id) desc без пропусков и повторов")
+    void walksAllPages() {
+        List<AdminTicketResponse> seen = walk(null, 7);
+
+        assertThat(seen).hasSize(25);
+        assertThat(seen).extracting(AdminTicketResponse::id).doesNotHaveDuplicates();
+        for (int i = 1; i < seen.size(); i++) {
+            AdminTicketResponse prev = seen.get(i - 1);
+            AdminTicketResponse cur = seen.get(i);
+            // UUID.compareTo знаковый, а PostgreSQL сравнивает uuid побайтно — как строки в hex
+            int cmp = prev.createdAt().compareTo(cur.createdAt());
+            assertThat(cmp > 0 || (cmp == 0 && prev.id().toString().compareTo(cur.id().toString()) > 0)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("listTicketsByCursor(status): фильтр по статусу сохраняется между страницами")
+    void walksFilteredPages() {
+        List<AdminTicketResponse> seen = walk(SupportTicketStatus.NEW, 4);
+
+        assertThat(seen).hasSize(13);
+        assertThat(seen).extracting(AdminTicketResponse::status).containsOnly(SupportTicketStatus.NEW);
+        assertThat(seen).extracting(AdminTicketResponse::id).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("findUserTickets/findUserTicketsBefore: только тикеты владельца, с пресетом и без, без пропусков")
+    void walksUserHistory() {
+        List<UserTicketResponse> seen = new ArrayList<>();
+        List<UserTicketResponse> page = supportTicketRepository.findUserTickets(OWNER, Limit.of(3));
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            UserTicketResponse last = page.get(page.size() - 1);
+            page = supportTicketRepository.findUserTicketsBefore(OWNER, last.createdAt(), last.id(), Limit.of(3));
+        }
+
+        assertThat(seen).hasSize(9);
+        assertThat(seen).extracting(UserTicketResponse::id).doesNotHaveDuplicates();
+        assertThat(seen).filteredOn(r -> r.issueType() == SupportIssueType.PRESET)
+                .hasSize(5)
+                .allSatisfy(r -> assertThat(r.selectedIssueId()).isNotNull());
+        assertThat(seen).filteredOn(r -> r.issueType() == SupportIssueType.CUSTOM)
+                .hasSize(4)
+                .allSatisfy(r -> assertThat(r.selectedIssueId()).isNull());
+    }
+
+    private List<AdminTicketResponse> walk(SupportTicketStatus status, int size) {
+        List<AdminTicketResponse> seen = new ArrayList<>();
+        String cursor = null;
+        CursorSlice<AdminTicketResponse> slice;
+        do {
+            slice = superAdminService.listTicketsByCursor(status, cursor, size);
+            assertThat(slice.content().size()).isLessThanOrEqualTo(size);
+            seen.addAll(slice.content());
+            cursor = slice.nextCursor();
+        } while (slice.hasNext());
+        return seen;
+    }
+}
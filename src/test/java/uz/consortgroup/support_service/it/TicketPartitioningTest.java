@@ -0,0 +1,90 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.partition.TicketPartitionManager;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+class TicketPartitioningTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TicketPartitionManager partitionManager;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("maintain(): партиции текущего месяца и monthsAhead вперёд существуют после старта")
+    void upcomingPartitionsExist() {
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+
+        assertThat(partitionManager.listPartitions()).contains(
+                "support_tickets_default",
+                "support_tickets_p" + now.toString().replace('-', '_'),
+                "support_tickets_p" + now.plusMonths(3).toString().replace('-', '_'));
+    }
+
+    @Test
+    @DisplayName("тикет попадает в партицию своего месяца, а detachOlderThan уносит её в support_archive")
+    void routesAndDetaches() {
+        partitionManager.ensurePartitions(YearMonth.of(2019, 1), YearMonth.of(2019, 2));
+        SupportTicket old = supportTicketRepository.save(closedTicket(Instant.parse("2019-01-15T12:00:00Z")));
+        SupportTicket newer = supportTicketRepository.save(closedTicket(Instant.parse("2019-02-15T12:00:00Z")));
+
+        assertThat(partitionOf(old.getId())).isEqualTo("support_schema.support_tickets_p2019_01");
+        assertThat(partitionOf(newer.getId())).isEqualTo("support_schema.support_tickets_p2019_02");
+
+        assertThat(partitionManager.detachOlderThan(YearMonth.of(2019, 2))).containsExactly("support_tickets_p2019_01");
+
+        assertThat(supportTicketRepository.findById(old.getId())).isEmpty();
+        assertThat(supportTicketRepository.findById(newer.getId())).isPresent();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM support_archive.support_tickets_p2019_01 WHERE id = ?", Long.class, old.getId()))
+                .isEqualTo(1L);
+
+        supportTicketRepository.deleteById(newer.getId());
+        jdbcTemplate.execute("DROP TABLE support_archive.support_tickets_p2019_01");
+    }
+
+    @Test
+    @DisplayName("detachOlderThan: партиция с незакрытым тикетом остаётся, тикет виден")
+    void keepsPartitionWithOpenTickets() {
+        partitionManager.ensurePartitions(YearMonth.of(2018, 1), YearMonth.of(2018, 1));
+        Instant createdAt = Instant.parse("2018-01-15T12:00:00Z");
+        SupportTicket open = supportTicketRepository.save(
+                ticket().status(SupportTicketStatus.IN_PROGRESS).createdAt(createdAt).updatedAt(createdAt).build());
+
+        assertThat(partitionManager.detachOlderThan(YearMonth.of(2018, 2))).doesNotContain("support_tickets_p2018_01");
+        assertThat(partitionManager.listPartitions()).contains("support_tickets_p2018_01");
+        assertThat(supportTicketRepository.findById(open.getId())).isPresent();
+
+        supportTicketRepository.deleteById(open.getId());
+        assertThat(partitionManager.detachOlderThan(YearMonth.of(2018, 2))).containsExactly("support_tickets_p2018_01");
+        jdbcTemplate.execute("DROP TABLE support_archive.support_tickets_p2018_01");
+    }
+
+    private String partitionOf(UUID id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM support_schema.support_tickets WHERE id = ?", String.class, id);
+    }
+
+    // Закрытый: detachOlderThan не уносит партиции с незакрытыми тикетами
+    private static SupportTicket closedTicket(Instant createdAt) {
+        return ticket().status(SupportTicketStatus.CLOSED).createdAt(createdAt).updatedAt(createdAt).build();
+    }
+}
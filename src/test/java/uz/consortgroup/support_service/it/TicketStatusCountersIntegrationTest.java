@@ -0,0 +1,78 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateRequest;
+import uz.consortgroup.support_service.dto.TicketStatusCountsResponse;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.counters.TicketStatusCounters;
+import uz.consortgroup.support_service.service.super_admin.SupportTicketSuperAdminService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+class TicketStatusCountersIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TicketStatusCounters counters;
+
+    @Autowired
+    private SupportTicketSuperAdminService superAdminService;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clean() {
+        supportTicketRepository.deleteAllInBatch();
+        counters.reconcile();
+    }
+
+    @Test
+    @DisplayName("сверка по партициям совпадает с БД; переходы статусов видны в счётчиках только после коммита")
+    void tracksDatabase() {
+        SupportTicket fresh = save(SupportTicketStatus.NEW, 0);
+        SupportTicket old = save(SupportTicketStatus.NEW, 60);
+        save(SupportTicketStatus.IN_PROGRESS, 1);
+        counters.reconcile();
+        assertThat(counters.snapshot().counts())
+                .containsEntry(SupportTicketStatus.NEW, 2L)
+                .containsEntry(SupportTicketStatus.IN_PROGRESS, 1L)
+                .containsEntry(SupportTicketStatus.CLOSED, 0L);
+
+        superAdminService.updateStatus(fresh.getId(), SupportTicketStatus.IN_PROGRESS, SupportTicketStatus.NEW);
+        superAdminService.updateStatuses(new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED, List.of(old.getId()), null, null));
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            superAdminService.updateStatus(old.getId(), SupportTicketStatus.NEW, null);
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        TicketStatusCountsResponse out = counters.snapshot();
+        assertThat(out.counts())
+                .containsEntry(SupportTicketStatus.NEW, 0L)
+                .containsEntry(SupportTicketStatus.IN_PROGRESS, 2L)
+                .containsEntry(SupportTicketStatus.CLOSED, 1L);
+        assertThat(out.total()).isEqualTo(3);
+
+        counters.reconcile();
+        assertThat(counters.snapshot().counts()).isEqualTo(out.counts());
+    }
+
+    private SupportTicket save(SupportTicketStatus status, int daysAgo) {
+        Instant createdAt = Instant.now().minus(daysAgo, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS);
+        return supportTicketRepository.save(ticket().status(status).createdAt(createdAt).updatedAt(createdAt).build());
+    }
+}
@@ -0,0 +1,126 @@
+package uz.consortgroup.support_service.it;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.support.response.SupportTicketResponse;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.exception.TicketNotFoundException;
+import uz.consortgroup.support_service.exception.TicketStatusConflictException;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.service.super_admin.SupportTicketSuperAdminService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+class TicketStatusUpdateTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SupportTicketSuperAdminService superAdminService;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("DELETE FROM support_schema.ticket_outbox");
+        supportTicketRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("updateStatus: ответ из RETURNING совпадает с БД, updated_at сдвинут, событие в outbox")
+    void returnsUpdatedRow() {
+        SupportTicket ticket = save(SupportTicketStatus.NEW);
+
+        SupportTicketResponse out = superAdminService.updateStatus(ticket.getId(), SupportTicketStatus.IN_PROGRESS, SupportTicketStatus.NEW);
+
+        SupportTicket reloaded = supportTicketRepository.findById(ticket.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(SupportTicketStatus.IN_PROGRESS);
+        assertThat(out.getStatus()).isEqualTo(SupportTicketStatus.IN_PROGRESS);
+        assertThat(out.getComment()).isEqualTo(ticket.getComment());
+        assertThat(out.getCreatedAt()).isEqualTo(ticket.getCreatedAt());
+        assertThat(out.getUpdatedAt()).isEqualTo(reloaded.getUpdatedAt()).isAfter(ticket.getUpdatedAt());
+        assertThat(outboxEvents(ticket)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("updateStatus: тот же статус -> updated_at не меняется, события нет")
+    void sameStatusIsNoOp() {
+        SupportTicket ticket = save(SupportTicketStatus.NEW);
+
+        SupportTicketResponse out = superAdminService.updateStatus(ticket.getId(), SupportTicketStatus.NEW, null);
+
+        assertThat(out.getUpdatedAt()).isEqualTo(ticket.getUpdatedAt());
+        assertThat(outboxEvents(ticket)).isZero();
+    }
+
+    @Test
+    @DisplayName("updateStatus: expectedStatus не совпал -> 409, строка не изменена; нет тикета -> 404")
+    void preconditionFailed() {
+        SupportTicket ticket = save(SupportTicketStatus.IN_PROGRESS);
+
+        assertThatThrownBy(() -> superAdminService.updateStatus(ticket.getId(), SupportTicketStatus.CLOSED, SupportTicketStatus.NEW))
+                .isInstanceOf(TicketStatusConflictException.class);
+        assertThatThrownBy(() -> superAdminService.updateStatus(UUID.randomUUID(), SupportTicketStatus.CLOSED, SupportTicketStatus.NEW))
+                .isInstanceOf(TicketNotFoundException.class);
+
+        assertThat(supportTicketRepository.findById(ticket.getId()).orElseThrow().getStatus()).isEqualTo(SupportTicketStatus.IN_PROGRESS);
+        assertThat(outboxEvents(ticket)).isZero();
+    }
+
+    @Test
+    @DisplayName("два администратора с одним expectedStatus: второй ждёт блокировку и получает 409, а не перезапись")
+    void concurrentAdminsDoNotOverwrite() throws Exception {
+        SupportTicket ticket = save(SupportTicketStatus.NEW);
+
+        CompletableFuture<SupportTicketResponse> second = transactionTemplate.execute(status -> {
+            superAdminService.updateStatus(ticket.getId(), SupportTicketStatus.IN_PROGRESS, SupportTicketStatus.NEW);
+            CompletableFuture<SupportTicketResponse> other = CompletableFuture.supplyAsync(() ->
+                    superAdminService.updateStatus(ticket.getId(), SupportTicketStatus.CLOSED, SupportTicketStatus.NEW));
+            // второй UPDATE стоит на блокировке строки, пока первая транзакция не зафиксирована
+            assertThatThrownBy(() -> other.get(300, TimeUnit.MILLISECONDS))
+                    .isInstanceOf(TimeoutException.class);
+            return other;
+        });
+
+        assertThatThrownBy(() -> second.join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TicketStatusConflictException.class);
+        assertThat(supportTicketRepository.findById(ticket.getId()).orElseThrow().getStatus()).isEqualTo(SupportTicketStatus.IN_PROGRESS);
+    }
+
+    private SupportTicket save(SupportTicketStatus status) {
+        Instant createdAt = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+        return supportTicketRepository.save(ticket()
+                .status(status)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build());
+    }
+
+    private int outboxEvents(SupportTicket ticket) {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM support_schema.ticket_outbox
+                WHERE aggregate_id = ? AND event_type = 'TICKET_STATUS_CHANGED'
+                """, Integer.class, ticket.getId());
+    }
+}
@@ -0,0 +1,15 @@
+package uz.consortgroup.support_service.it;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "support.db.admission.enabled=true"
+})
+class VirtualThreadLoadBenchmark extends ThreadModeLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
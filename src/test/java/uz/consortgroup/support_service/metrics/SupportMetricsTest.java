@@ -0,0 +1,88 @@
+package uz.consortgroup.support_service.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.exception.TicketNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SupportMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SupportMetrics metrics = new SupportMetrics(registry);
+
+    @Nested
+    class Time {
+
+        @Test
+        @DisplayName("time: успешная операция -> результат и таймер outcome=success, exception=none")
+        void success() {
+            String out = metrics.time(SupportMetrics.TICKET_LIST, Tags.of(SupportMetrics.status(null)), () -> "ok");
+
+            assertThat(out).isEqualTo("ok");
+            Timer timer = registry.get(SupportMetrics.TICKET_LIST)
+                    .tags("status", "ALL", "outcome", "success", "exception", "none").timer();
+            assertThat(timer.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("time: исключение -> пробрасывается, таймер outcome=error с именем класса")
+        void error() {
+            assertThatThrownBy(() -> metrics.time(SupportMetrics.PRESETS_ADMIN, Tags.of(SupportMetrics.operation("delete")),
+                    () -> {
+                        throw new TicketNotFoundException("nope");
+                    }))
+                    .isInstanceOf(TicketNotFoundException.class);
+
+            Timer timer = registry.get(SupportMetrics.PRESETS_ADMIN)
+                    .tags("operation", "delete", "outcome", "error", "exception", "TicketNotFoundException").timer();
+            assertThat(timer.count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class Counters {
+
+        @Test
+        @DisplayName("ticketsCreated / ticketStatusChanged / error -> счётчики с тегами из перечислений")
+        void counters() {
+            metrics.ticketsCreated(SupportIssueType.PRESET, UserRole.STUDENT, 3);
+            metrics.ticketStatusChanged(null, SupportTicketStatus.NEW);
+            metrics.error(new IllegalArgumentException("bad"), 400);
+
+            assertThat(registry.get(SupportMetrics.TICKETS_SUBMITTED).tags("issueType", "PRESET", "role", "STUDENT").counter().count())
+                    .isEqualTo(3.0);
+            assertThat(registry.get(SupportMetrics.TICKET_STATUS_CHANGED).tags("from", "none", "to", "NEW").counter().count())
+                    .isEqualTo(1.0);
+            assertThat(registry.get(SupportMetrics.ERRORS).tags("exception", "IllegalArgumentException", "status", "400").counter().count())
+                    .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("ticketsCreated в транзакции -> счётчик растёт только после коммита, при откате не растёт")
+        void ticketsCreated_afterCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            metrics.ticketsCreated(SupportIssueType.CUSTOM, UserRole.HR, 2);
+            assertThat(registry.find(SupportMetrics.TICKETS_SUBMITTED).counter()).isNull();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationManager.clearSynchronization();
+            assertThat(registry.get(SupportMetrics.TICKETS_SUBMITTED).tags("issueType", "CUSTOM", "role", "HR").counter().count())
+                    .isEqualTo(2.0);
+
+            TransactionSynchronizationManager.initSynchronization();
+            metrics.ticketsCreated(SupportIssueType.CUSTOM, UserRole.HR, 1);
+            TransactionSynchronizationManager.clearSynchronization();
+            assertThat(registry.get(SupportMetrics.TICKETS_SUBMITTED).counter().count()).isEqualTo(2.0);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package uz.consortgroup.support_service.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.support_service.config.OutboxProperties;
+import uz.consortgroup.support_service.repository.TicketOutboxRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private TicketOutboxRepository repository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxProperties properties = new OutboxProperties();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRelay().setBatchSize(3);
+        properties.getRelay().setMaxBatchesPerRun(5);
+        relay = new OutboxRelay(repository, sink, new TransactionTemplate(transactionManager), properties, meterRegistry);
+    }
+
+    private static List<OutboxMessage> messages(long fromId, int count) {
+        return LongStream.range(fromId, fromId + count)
+                .mapToObj(id -> new OutboxMessage(id, OutboxEventType.TICKET_CREATED, UUID.randomUUID(), "{}", Instant.now()))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("relay: полные пачки выбираются подряд до неполной, каждая публикуется и удаляется")
+    void drainsFullBatches() {
+        List<OutboxMessage> first = messages(1, 3);
+        List<OutboxMessage> second = messages(4, 1);
+        when(repository.lockBatch(3)).thenReturn(first).thenReturn(second);
+
+        assertThat(relay.relay()).isEqualTo(4);
+
+        verify(sink).publish(first);
+        verify(sink).publish(second);
+        verify(repository).deleteAll(List.of(1L, 2L, 3L));
+        verify(repository).deleteAll(List.of(4L));
+        assertThat(meterRegistry.counter("support.outbox.published").count()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("support.outbox.delivery.lag").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("relay: за запуск не больше maxBatchesPerRun пачек")
+    void boundedPerRun() {
+        when(repository.lockBatch(3)).thenAnswer(inv -> messages(1, 3));
+
+        assertThat(relay.relay()).isEqualTo(15);
+        verify(repository, times(5)).lockBatch(3);
+    }
+
+    @Test
+    @DisplayName("scheduledRun: sink упал -> строки не удаляются, ошибка посчитана")
+    void sinkFailureKeepsRows() {
+        when(repository.lockBatch(anyInt())).thenReturn(messages(1, 2));
+        doThrow(new IllegalStateException("broker down")).when(sink).publish(anyList());
+        when(repository.findOldestCreatedAt()).thenReturn(Optional.of(Instant.now().minusSeconds(30)));
+
+        relay.scheduledRun();
+
+        verify(repository, never()).deleteAll(anyList());
+        assertThat(meterRegistry.counter("support.outbox.failed").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("support.outbox.lag").gauge().value()).isGreaterThanOrEqualTo(30.0);
+    }
+
+    @Test
+    @DisplayName("refreshLag: outbox пуст -> лаг 0")
+    void emptyOutboxNoLag() {
+        when(repository.findOldestCreatedAt()).thenReturn(Optional.empty());
+
+        relay.refreshLag(Instant.now());
+
+        assertThat(meterRegistry.get("support.outbox.lag").gauge().value()).isZero();
+    }
+}
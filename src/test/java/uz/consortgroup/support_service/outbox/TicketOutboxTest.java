@@ -0,0 +1,147 @@
+package uz.consortgroup.support_service.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.config.OutboxProperties;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketStatusRepository;
+import uz.consortgroup.support_service.repository.TicketOutboxRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static uz.consortgroup.support_service.TicketFixtures.transition;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+@ExtendWith(MockitoExtension.class)
+class TicketOutboxTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Mock
+    private TicketOutboxRepository repository;
+
+    @Captor
+    private ArgumentCaptor<List<TicketOutboxRepository.Entry>> captor;
+
+    private final OutboxProperties properties = new OutboxProperties();
+
+    private TicketOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new TicketOutbox(repository, objectMapper, properties);
+    }
+
+    private List<TicketOutboxRepository.Entry> captured() {
+        verify(repository).insertAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("ticketCreated: TICKET_CREATED с ключом = id тикета и полями тикета в JSON")
+    void created() throws Exception {
+        SupportTicket ticket = ticket()
+                .id(UUID.randomUUID())
+                .issueType(SupportIssueType.PRESET)
+                .selectedIssue(SupportIssuePreset.builder().id(UUID.randomUUID()).build())
+                .createdAt(Instant.parse("2026-03-01T10:15:30Z"))
+                .build();
+
+        outbox.ticketCreated(ticket);
+
+        TicketOutboxRepository.Entry entry = captured().get(0);
+        assertThat(entry.type()).isEqualTo(OutboxEventType.TICKET_CREATED);
+        assertThat(entry.aggregateId()).isEqualTo(ticket.getId());
+        JsonNode json = objectMapper.readTree(entry.payload());
+        assertThat(json.get("type").asText()).isEqualTo("TICKET_CREATED");
+        assertThat(json.get("ticketId").asText()).isEqualTo(ticket.getId().toString());
+        assertThat(json.get("selectedIssueId").asText()).isEqualTo(ticket.getSelectedIssue().getId().toString());
+        assertThat(json.get("status").asText()).isEqualTo("NEW");
+        assertThat(json.get("previousStatus").isNull()).isTrue();
+        assertThat(json.get("occurredAt").asText()).isEqualTo("2026-03-01T10:15:30Z");
+    }
+
+    @Test
+    @DisplayName("ticketsCreated: пачка -> одна вставка со всеми событиями")
+    void createdBatch() {
+        outbox.ticketsCreated(List.of(ticket().build(), ticket().build()));
+
+        assertThat(captured()).hasSize(2).extracting(TicketOutboxRepository.Entry::type)
+                .containsOnly(OutboxEventType.TICKET_CREATED);
+    }
+
+    @Test
+    @DisplayName("ticketStatusChanged: статус изменился -> событие с previousStatus")
+    void statusChanged() throws Exception {
+        Instant updatedAt = Instant.parse("2025-01-01T10:00:00Z");
+        outbox.ticketStatusChanged(transition(SupportTicketStatus.IN_PROGRESS, SupportTicketStatus.CLOSED), updatedAt);
+
+        TicketOutboxRepository.Entry entry = captured().get(0);
+        assertThat(entry.type()).isEqualTo(OutboxEventType.TICKET_STATUS_CHANGED);
+        JsonNode json = objectMapper.readTree(entry.payload());
+        assertThat(json.get("status").asText()).isEqualTo("CLOSED");
+        assertThat(json.get("previousStatus").asText()).isEqualTo("IN_PROGRESS");
+        assertThat(Instant.parse(json.get("occurredAt").asText())).isEqualTo(updatedAt);
+    }
+
+    @Test
+    @DisplayName("ticketStatusChanged: тот же статус -> события нет")
+    void statusUnchanged() {
+        outbox.ticketStatusChanged(transition(SupportTicketStatus.NEW, SupportTicketStatus.NEW), Instant.now());
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("ticketStatusesChanged: переходы bulk-обновления -> одна вставка с previousStatus каждого тикета")
+    void statusesChangedBatch() throws Exception {
+        var first = new SupportTicketStatusRepository.Transition(UUID.randomUUID(), UUID.randomUUID(), UserRole.HR,
+                SupportIssueType.CUSTOM, null, SupportTicketStatus.CLOSED, SupportTicketStatus.NEW);
+        var second = new SupportTicketStatusRepository.Transition(UUID.randomUUID(), UUID.randomUUID(), UserRole.MENTOR,
+                SupportIssueType.PRESET, UUID.randomUUID(), SupportTicketStatus.CLOSED, SupportTicketStatus.IN_PROGRESS);
+
+        outbox.ticketStatusesChanged(List.of(first, second), Instant.now());
+
+        List<TicketOutboxRepository.Entry> entries = captured();
+        assertThat(entries).extracting(TicketOutboxRepository.Entry::aggregateId).containsExactly(first.id(), second.id());
+        JsonNode json = objectMapper.readTree(entries.get(1).payload());
+        assertThat(json.get("type").asText()).isEqualTo("TICKET_STATUS_CHANGED");
+        assertThat(json.get("selectedIssueId").asText()).isEqualTo(second.selectedIssueId().toString());
+        assertThat(json.get("status").asText()).isEqualTo("CLOSED");
+        assertThat(json.get("previousStatus").asText()).isEqualTo("IN_PROGRESS");
+    }
+
+    @Test
+    @DisplayName("outbox выключен -> ничего не пишется")
+    void disabled() {
+        properties.setEnabled(false);
+        outbox = new TicketOutbox(repository, objectMapper, properties);
+
+        outbox.ticketCreated(ticket().build());
+        outbox.ticketStatusChanged(transition(SupportTicketStatus.NEW, SupportTicketStatus.CLOSED), Instant.now());
+        outbox.ticketStatusesChanged(List.of(transition(SupportTicketStatus.NEW, SupportTicketStatus.CLOSED)), Instant.now());
+
+        verifyNoInteractions(repository);
+    }
+}
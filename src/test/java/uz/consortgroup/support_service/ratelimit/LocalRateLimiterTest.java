@@ -0,0 +1,105 @@
+package uz.consortgroup.support_service.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private static final TokenBucketSpec SPEC = new TokenBucketSpec(3, 0.5);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("tryAcquire: новый бакет полный -> capacity запросов проходят, следующий ждёт 1/refill")
+    void burstThenWait() {
+        LocalRateLimiter limiter = new LocalRateLimiter(1000, clock::get);
+
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isZero();
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isZero();
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isZero();
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: токены пополняются со временем, но не выше capacity")
+    void refill() {
+        LocalRateLimiter limiter = new LocalRateLimiter(1000, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("u1", SPEC, 1);
+        }
+
+        advanceMillis(1500);
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isEqualTo(500);
+
+        advanceMillis(500);
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isZero();
+
+        advanceMillis(60_000);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("u1", SPEC, 1)).isZero();
+        }
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isPositive();
+    }
+
+    @Test
+    @DisplayName("tryAcquire: бакеты разных ключей независимы")
+    void keysIndependent() {
+        LocalRateLimiter limiter = new LocalRateLimiter(1000, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("u1", SPEC, 1);
+        }
+
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isPositive();
+        assertThat(limiter.tryAcquire("u2", SPEC, 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire: сверх maxKeys старые бакеты вытесняются -> память ограничена")
+    void boundedKeys() {
+        LocalRateLimiter limiter = new LocalRateLimiter(64, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("u0", SPEC, 1);
+        }
+        assertThat(limiter.tryAcquire("u0", SPEC, 1)).isPositive();
+
+        for (int i = 1; i <= 10_000; i++) {
+            limiter.tryAcquire("u" + i, SPEC, 1);
+        }
+
+        // бакет u0 вытеснен и создаётся заново полным
+        assertThat(limiter.tryAcquire("u0", SPEC, 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire(n): берёт n токенов разом, ожидание считается до накопления n")
+    void multiplePermits() {
+        LocalRateLimiter limiter = new LocalRateLimiter(1000, clock::get);
+
+        assertThat(limiter.tryAcquire("u1", SPEC, 2)).isZero();
+        assertThat(limiter.tryAcquire("u1", SPEC, 2)).isEqualTo(2000);
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("release: возвращённые токены снова доступны, но не выше capacity")
+    void releaseCappedAtCapacity() {
+        LocalRateLimiter limiter = new LocalRateLimiter(1000, clock::get);
+        limiter.tryAcquire("u1", SPEC, 3);
+
+        limiter.release("u1", SPEC, 2);
+        assertThat(limiter.tryAcquire("u1", SPEC, 2)).isZero();
+
+        limiter.release("u1", SPEC, 10);
+        assertThat(limiter.tryAcquire("u1", SPEC, 3)).isZero();
+        assertThat(limiter.tryAcquire("u1", SPEC, 1)).isPositive();
+    }
+}
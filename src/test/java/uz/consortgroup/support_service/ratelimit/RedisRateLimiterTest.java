@@ -0,0 +1,65 @@
+package uz.consortgroup.support_service.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisRateLimiterTest {
+
+    private static final TokenBucketSpec SPEC = new TokenBucketSpec(5, 0.2);
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private RateLimiter fallback;
+
+    @Test
+    @DisplayName("tryAcquire: ключ с префиксом, ёмкость, пополнение в мс и число токенов передаются в скрипт")
+    void scriptArguments() {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, "support:ratelimit:", fallback);
+        when(redis.execute(eq(RedisRateLimiter.SCRIPT), eq(List.of("support:ratelimit:tickets:user:1")), eq("5"), eq("2.0E-4"), eq("2")))
+                .thenReturn(3000L);
+
+        assertThat(limiter.tryAcquire("tickets:user:1", SPEC, 2)).isEqualTo(3000L);
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    @DisplayName("release: тот же скрипт с отрицательным числом токенов")
+    void releaseNegativePermits() {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, "support:ratelimit:", fallback);
+
+        limiter.release("tickets:user:1", SPEC, 3);
+
+        verify(redis).execute(RedisRateLimiter.SCRIPT, List.of("support:ratelimit:tickets:user:1"), "5", "2.0E-4", "-3");
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: Redis недоступен -> решение принимают локальные бакеты")
+    void fallbackOnRedisFailure() {
+        RedisRateLimiter limiter = new RedisRateLimiter(redis, "support:ratelimit:", fallback);
+        when(redis.execute(eq(RedisRateLimiter.SCRIPT), anyList(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(fallback.tryAcquire("tickets:global", SPEC, 1)).thenReturn(700L);
+
+        assertThat(limiter.tryAcquire("tickets:global", SPEC, 1)).isEqualTo(700L);
+        verify(fallback).tryAcquire("tickets:global", SPEC, 1);
+    }
+}
@@ -0,0 +1,157 @@
+package uz.consortgroup.support_service.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.consortgroup.support_service.config.TicketRateLimitProperties;
+import uz.consortgroup.support_service.exception.RateLimitExceededException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.security.AuthContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketRateLimiterTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final String USER_KEY = TicketRateLimiter.USER_KEY_PREFIX + USER_ID;
+    private static final String BATCH_KEY = TicketRateLimiter.BATCH_KEY_PREFIX + USER_ID;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private AuthContext authContext;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TicketRateLimitProperties properties = new TicketRateLimitProperties();
+
+    private TicketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new TicketRateLimiter(rateLimiter, authContext, new SupportMetrics(meterRegistry), properties);
+    }
+
+    @Test
+    @DisplayName("checkCreate: оба бакета дали токен -> без исключения")
+    void allowed() {
+        when(authContext.getCurrentUserId()).thenReturn(USER_ID);
+        when(rateLimiter.tryAcquire(anyString(), any(), eq(1))).thenReturn(0L);
+
+        limiter.checkCreate();
+
+        verify(rateLimiter).tryAcquire(USER_KEY, properties.getPerUser().toSpec(), 1);
+        verify(rateLimiter).tryAcquire(TicketRateLimiter.GLOBAL_KEY, properties.getGlobal().toSpec(), 1);
+    }
+
+    @Test
+    @DisplayName("checkCreateBatch(n): один токен из бакета запросов и общего, n — из бакета тикетов в пачках")
+    void batchChargesItemsBucket() {
+        when(authContext.getCurrentUserId()).thenReturn(USER_ID);
+        when(rateLimiter.tryAcquire(anyString(), any(), anyInt())).thenReturn(0L);
+
+        limiter.checkCreateBatch(40);
+
+        verify(rateLimiter).tryAcquire(USER_KEY, properties.getPerUser().toSpec(), 1);
+        verify(rateLimiter).tryAcquire(BATCH_KEY, properties.getBatchItems().toSpec(), 40);
+        verify(rateLimiter).tryAcquire(TicketRateLimiter.GLOBAL_KEY, properties.getGlobal().toSpec(), 1);
+    }
+
+    @Test
+    @DisplayName("checkCreateBatch(n): пачка больше ёмкости бакета тикетов в пачках -> 400, бакеты не трогаются")
+    void batchLargerThanBucket() {
+        assertThatThrownBy(() -> limiter.checkCreateBatch(501))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batch size must be <= 500 while rate limiting is enabled");
+
+        verifyNoInteractions(rateLimiter);
+    }
+
+    @Test
+    @DisplayName("checkCreateBatch(n): бакет тикетов в пачках пуст -> 429, токен запроса возвращается")
+    void batchItemsLimited() {
+        when(authContext.getCurrentUserId()).thenReturn(USER_ID);
+        when(rateLimiter.tryAcquire(eq(USER_KEY), any(), eq(1))).thenReturn(0L);
+        when(rateLimiter.tryAcquire(eq(BATCH_KEY), any(), eq(30))).thenReturn(2500L);
+
+        assertThatThrownBy(() -> limiter.checkCreateBatch(30))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterSeconds").isEqualTo(3L);
+
+        verify(rateLimiter).release(USER_KEY, properties.getPerUser().toSpec(), 1);
+        verify(rateLimiter, never()).tryAcquire(eq(TicketRateLimiter.GLOBAL_KEY), any(), anyInt());
+        assertThat(meterRegistry.get(SupportMetrics.RATE_LIMITED).tag("scope", "batch").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("checkCreateBatch(n): общий бакет пуст -> 429, токены пачки и запроса возвращаются")
+    void batchGlobalLimited() {
+        when(authContext.getCurrentUserId()).thenReturn(USER_ID);
+        when(rateLimiter.tryAcquire(eq(USER_KEY), any(), eq(1))).thenReturn(0L);
+        when(rateLimiter.tryAcquire(eq(BATCH_KEY), any(), eq(30))).thenReturn(0L);
+        when(rateLimiter.tryAcquire(eq(TicketRateLimiter.GLOBAL_KEY), any(), eq(1))).thenReturn(10L);
+
+        assertThatThrownBy(() -> limiter.checkCreateBatch(30))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        verify(rateLimiter).release(BATCH_KEY, properties.getBatchItems().toSpec(), 30);
+        verify(rateLimiter).release(USER_KEY, properties.getPerUser().toSpec(), 1);
+    }
+
+    @Test
+    @DisplayName("checkCreate: бакет пользователя пуст -> 429 с округлением Retry-After вверх, общий бакет не трогается")
+    void userLimited() {
+        when(authContext.getCurrentUserId()).thenReturn(USER_ID);
+        when(rateLimiter.tryAcquire(eq(USER_KEY), any(), eq(1))).thenReturn(4200L);
+
+        assertThatThrownBy(() -> limiter.checkCreate())
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+
+        verify(rateLimiter, never()).tryAcquire(eq(TicketRateLimiter.GLOBAL_KEY), any(), anyInt());
+        assertThat(meterRegistry.get(SupportMetrics.RATE_LIMITED).tag("scope", "user").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("checkCreate: общий бакет пуст -> 429 не меньше 1 секунды, токены пользователя возвращаются")
+    void globalLimited() {
+        when(authContext.getCurrentUserId()).thenReturn(USER_ID);
+        when(rateLimiter.tryAcquire(eq(USER_KEY), any(), eq(1))).thenReturn(0L);
+        when(rateLimiter.tryAcquire(eq(TicketRateLimiter.GLOBAL_KEY), any(), eq(1))).thenReturn(10L);
+
+        assertThatThrownBy(() -> limiter.checkCreate())
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterSeconds").isEqualTo(1L);
+
+        verify(rateLimiter).release(USER_KEY, properties.getPerUser().toSpec(), 1);
+
+        assertThat(meterRegistry.get(SupportMetrics.RATE_LIMITED).tag("scope", "global").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("checkCreate: лимит выключен -> ни контекст, ни бакеты не используются")
+    void disabled() {
+        properties.setEnabled(false);
+        limiter = new TicketRateLimiter(rateLimiter, authContext, new SupportMetrics(meterRegistry), properties);
+
+        limiter.checkCreate();
+
+        verifyNoInteractions(rateLimiter, authContext);
+    }
+}
@@ -0,0 +1,156 @@
+package uz.consortgroup.support_service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.config.IdentityCacheProperties;
+import uz.consortgroup.support_service.exception.UnauthorizedException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthHeaderFilterTest {
+
+    private final AuthHeaderFilter filter = new AuthHeaderFilter(new IdentityCache(new IdentityCacheProperties(), new SimpleMeterRegistry()));
+
+    private MockHttpServletRequest filtered(String validated, String userId, String roles) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/support/presets");
+        if (validated != null) request.addHeader(AuthHeaders.AUTH_VALIDATED, validated);
+        if (userId != null) request.addHeader(AuthHeaders.USER_ID, userId);
+        if (roles != null) request.addHeader(AuthHeaders.ROLES, roles);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+
+    @Nested
+    class Filter {
+
+        @Test
+        @DisplayName("doFilter: валидные заголовки -> userId и RoleSet в атрибутах")
+        void validated() throws Exception {
+            UUID userId = UUID.randomUUID();
+
+            MockHttpServletRequest request = filtered("true", " " + userId + " ", "MENTOR, hr");
+
+            assertThat(request.getAttribute(AuthHeaderFilter.ATTR_VALIDATED)).isEqualTo(Boolean.TRUE);
+            assertThat(request.getAttribute(AuthHeaderFilter.ATTR_USER_ID)).isEqualTo(userId);
+            assertThat(request.getAttribute(AuthHeaderFilter.ATTR_USER_ROLES)).isSameAs(RoleSet.of(UserRole.MENTOR, UserRole.HR));
+        }
+
+        @Test
+        @DisplayName("doFilter: без X-Auth-Validated -> userId не выставляется, роли разобраны из заголовка")
+        void notValidated() throws Exception {
+            MockHttpServletRequest request = filtered(null, UUID.randomUUID().toString(), "MENTOR");
+
+            assertThat(request.getAttribute(AuthHeaderFilter.ATTR_VALIDATED)).isNull();
+            assertThat(request.getAttribute(AuthHeaderFilter.ATTR_USER_ID)).isNull();
+            assertThat(request.getAttribute(AuthHeaderFilter.ATTR_USER_ROLES)).isSameAs(RoleSet.of(UserRole.MENTOR));
+        }
+
+        @Test
+        @DisplayName("doFilter: нет известных ролей -> userId есть, атрибут ролей пустой")
+        void unknownRoles() throws Exception {
+            MockHttpServletRequest request = filtered("true", UUID.randomUUID().toString(), "GUEST");
+
+            assertThat(request.getAttribute(AuthHeaderFilter.ATTR_USER_ID)).isNotNull();
+            assertThat(request.getAttribute(AuthHeaderFilter.ATTR_USER_ROLES)).isSameAs(RoleSet.EMPTY);
+        }
+    }
+
+    @Nested
+    class Context {
+
+        @Test
+        @DisplayName("AuthContext: роль берётся из атрибута фильтра")
+        void fromAttribute() throws Exception {
+            MockHttpServletRequest request = filtered("true", UUID.randomUUID().toString(), "STUDENT, mentor");
+            // Заголовок после фильтра контекст не читает
+            request.removeHeader(AuthHeaders.ROLES);
+
+            AuthContextImpl context = new AuthContextImpl(request);
+
+            assertThat(context.getCurrentUserRole()).isEqualTo(UserRole.STUDENT);
+        }
+
+        @Test
+        @DisplayName("AuthContext: запрос не прошёл фильтр -> заголовок не читается, роли нет")
+        void headerWithoutFilter() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(AuthHeaders.ROLES, "MENTOR");
+
+            AuthContextImpl context = new AuthContextImpl(request);
+
+            assertThatThrownBy(context::getCurrentUserRole)
+                    .isInstanceOf(UnauthorizedException.class)
+                    .hasMessageContaining("role");
+        }
+    }
+
+    // Прежний разбор до RoleSet: роли в фильтре и роль в AuthContextImpl, перенесены без изменений
+    @Nested
+    class BaselineCompatibility {
+
+        private static List<UserRole> baselineRoles(String hdr) {
+            List<UserRole> out = new ArrayList<>();
+            if (hdr == null) return out;
+            for (String p : hdr.split("[,;\\s]+")) {
+                if (p.isBlank()) continue;
+                try {
+                    out.add(UserRole.valueOf(p.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+            return out;
+        }
+
+        private static UserRole baselineRole(String rolesHeader) {
+            if (rolesHeader != null && !rolesHeader.isBlank()) {
+                String first = rolesHeader.split(",")[0].trim();
+                try {
+                    return UserRole.valueOf(first);
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+            return null;
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"MENTOR", " MENTOR , ADMIN", "mentor", "Mentor", "FOO,MENTOR", ",MENTOR", "MENTOR;ADMIN",
+                "MENTOR ADMIN", "student;mentor", "SUPER_ADMIN, hr", "ADMIN,,HR", "hr\tmentor", "GUEST", "ROLE_MENTOR",
+                "MENTORS,HRX", "\u0001MENTOR", "MENTOR\u2003HR", "\u00A0MENTOR", "\uFB06udent", "adm\u0131n,STUDENT",
+                "  ", ";;"})
+        @DisplayName("старые случаи заголовка: фильтр и AuthContext дают то же, что прежний разбор")
+        void sameAsBaseline(String header) throws Exception {
+            MockHttpServletRequest request = filtered("true", UUID.randomUUID().toString(), header);
+            AuthContextImpl context = new AuthContextImpl(request);
+
+            List<UserRole> expectedRoles = baselineRoles(header.trim());
+            RoleSet roles = (RoleSet) request.getAttribute(AuthHeaderFilter.ATTR_USER_ROLES);
+            if (expectedRoles.isEmpty()) {
+                assertThat(roles.isEmpty()).isTrue();
+            } else {
+                assertThat(roles.toEnumSet()).isEqualTo(EnumSet.copyOf(expectedRoles));
+            }
+
+            UserRole expectedRole = baselineRole(header);
+            if (expectedRole == null) {
+                assertThatThrownBy(context::getCurrentUserRole).isInstanceOf(UnauthorizedException.class);
+            } else {
+                assertThat(context.getCurrentUserRole()).isEqualTo(expectedRole);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package uz.consortgroup.support_service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.config.IdentityCacheProperties;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private IdentityCache cache(IdentityCacheProperties properties) {
+        return new IdentityCache(properties, registry);
+    }
+
+    @Test
+    @DisplayName("resolve: повтор тех же заголовков -> тот же экземпляр, hit в метриках")
+    void hit() {
+        IdentityCache cache = cache(new IdentityCacheProperties());
+        String userId = UUID.randomUUID().toString();
+
+        AuthenticatedUser first = cache.resolve(userId, "MENTOR,HR");
+        AuthenticatedUser second = cache.resolve(new String(userId), "MENTOR,HR");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getUserId()).isEqualTo(UUID.fromString(userId));
+        assertThat(first.getRole()).isEqualTo(UserRole.MENTOR);
+        assertThat(registry.get("cache.gets").tags("cache", "auth.identity", "result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tags("cache", "auth.identity", "result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("resolve: у пользователя сменились роли -> запись перезаписывается")
+    void rolesChanged() {
+        IdentityCache cache = cache(new IdentityCacheProperties());
+        String userId = UUID.randomUUID().toString();
+
+        AuthenticatedUser before = cache.resolve(userId, "STUDENT");
+        AuthenticatedUser after = cache.resolve(userId, "MENTOR");
+
+        assertThat(after.getRole()).isEqualTo(UserRole.MENTOR);
+        assertThat(after).isNotSameAs(before);
+        assertThat(cache.resolve(userId, "MENTOR")).isSameAs(after);
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("resolve: X-User-Id не UUID -> null, в кэш не попадает")
+    void invalidUuid() {
+        IdentityCache cache = cache(new IdentityCacheProperties());
+
+        assertThat(cache.resolve("not-a-uuid", "MENTOR")).isNull();
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("resolve: заголовок длиннее max-header-length -> разбирается, но не кэшируется")
+    void oversizedNotCached() {
+        IdentityCacheProperties properties = new IdentityCacheProperties();
+        properties.setMaxHeaderLength(16);
+        IdentityCache cache = cache(properties);
+        String userId = UUID.randomUUID().toString();
+
+        AuthenticatedUser user = cache.resolve(userId, "MENTOR");
+
+        assertThat(user.getRole()).isEqualTo(UserRole.MENTOR);
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("resolve: enabled=false -> каждый раз новый разбор")
+    void disabled() {
+        IdentityCacheProperties properties = new IdentityCacheProperties();
+        properties.setEnabled(false);
+        IdentityCache cache = cache(properties);
+        String userId = UUID.randomUUID().toString();
+
+        assertThat(cache.resolve(userId, "HR")).isNotSameAs(cache.resolve(userId, "HR"));
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("max-size: суммарный вес записей не превышает предел")
+    void boundedByWeight() {
+        IdentityCacheProperties properties = new IdentityCacheProperties();
+        properties.setMaxSize(DataSize.ofKilobytes(32));
+        IdentityCache cache = cache(properties);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.resolve(UUID.randomUUID().toString(), "STUDENT");
+        }
+        cache.cleanUp();
+
+        long entryWeight = IdentityCache.weigh(UUID.randomUUID().toString(), "STUDENT");
+        assertThat(cache.estimatedSize() * entryWeight).isLessThanOrEqualTo(DataSize.ofKilobytes(32).toBytes());
+        assertThat(registry.get("cache.evictions").tags("cache", "auth.identity").functionCounter().count()).isPositive();
+    }
+}
@@ -0,0 +1,82 @@
+package uz.consortgroup.support_service.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleSetTest {
+
+    @Test
+    @DisplayName("parse: одна роль -> primary и маска из одного бита")
+    void single() {
+        RoleSet roles = RoleSet.parse("MENTOR");
+
+        assertThat(roles.primary()).isEqualTo(UserRole.MENTOR);
+        assertThat(roles.toEnumSet()).containsExactly(UserRole.MENTOR);
+        assertThat(roles.mask()).isEqualTo(1 << UserRole.MENTOR.ordinal());
+    }
+
+    @Test
+    @DisplayName("parse: разделители , ; и пробелы, любой регистр -> все роли в маске")
+    void mixedDelimitersAndCase() {
+        RoleSet roles = RoleSet.parse(" STUDENT , mentor;HR\tAdmin ,, ");
+
+        assertThat(roles.primary()).isEqualTo(UserRole.STUDENT);
+        assertThat(roles.toEnumSet()).isEqualTo(EnumSet.of(UserRole.STUDENT, UserRole.MENTOR, UserRole.HR, UserRole.ADMIN));
+        assertThat(roles.contains(UserRole.SUPER_ADMIN)).isFalse();
+    }
+
+    @Test
+    @DisplayName("parse: неизвестные роли и префиксы пропускаются")
+    void unknownSkipped() {
+        RoleSet roles = RoleSet.parse("GUEST,MENTORS,HRX,SUPER_ADMIN");
+
+        assertThat(roles.primary()).isNull();
+        assertThat(roles.toEnumSet()).containsExactly(UserRole.SUPER_ADMIN);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mentor", "Mentor,MENTOR", "MENTOR;HR", "MENTOR HR", ",MENTOR", "GUEST,MENTOR"})
+    @DisplayName("parse: primary только из первого токена до ',' с точным регистром, роль при этом остаётся в маске")
+    void primaryFromFirstCommaToken(String header) {
+        RoleSet roles = RoleSet.parse(header);
+
+        assertThat(roles.primary()).isNull();
+        assertThat(roles.contains(UserRole.MENTOR)).isTrue();
+    }
+
+    @Test
+    @DisplayName("parse: не-ASCII токен сравнивается через toUpperCase(Locale.ROOT), пробелы вне ASCII не разделяют")
+    void nonAscii() {
+        assertThat(RoleSet.parse("\uFB06udent").toEnumSet()).containsExactly(UserRole.STUDENT);
+        assertThat(RoleSet.parse("MENTOR\u2003HR").isEmpty()).isTrue();
+        assertThat(RoleSet.parse("\u0001MENTOR").primary()).isEqualTo(UserRole.MENTOR);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   ", ",;,", "GUEST", "ROLE_MENTOR"})
+    @DisplayName("parse: нет распознанных ролей -> EMPTY")
+    void empty(String header) {
+        RoleSet roles = RoleSet.parse(header);
+
+        assertThat(roles).isSameAs(RoleSet.EMPTY);
+        assertThat(roles.isEmpty()).isTrue();
+        assertThat(roles.primary()).isNull();
+    }
+
+    @Test
+    @DisplayName("parse: одинаковый набор -> один и тот же предвычисленный экземпляр")
+    void canonicalInstances() {
+        assertThat(RoleSet.parse("HR, mentor")).isSameAs(RoleSet.of(UserRole.HR, UserRole.MENTOR));
+        assertThat(RoleSet.parse("HR,MENTOR,HR")).isSameAs(RoleSet.parse("HR ,mentor;hr"));
+        assertThat(RoleSet.parse("MENTOR,HR")).isNotSameAs(RoleSet.parse("HR,MENTOR"));
+    }
+}
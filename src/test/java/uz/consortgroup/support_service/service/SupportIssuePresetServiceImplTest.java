@@ -1,15 +1,20 @@
 package uz.consortgroup.support_service.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uz.consortgroup.core.api.v1.dto.support.response.IssuePresetResponse;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.cache.CachedPreset;
+import uz.consortgroup.support_service.cache.PresetSnapshot;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
 import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
 import uz.consortgroup.support_service.security.AuthContext;
 
@@ -27,52 +32,46 @@ class SupportIssuePresetServiceImplTest {
     @Mock
     private SupportIssuePresetRepository repository;
 
+    @Mock
+    private PresetSnapshot presetSnapshot;
+
     @Mock
     private AuthContext authContext;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SupportMetrics supportMetrics = new SupportMetrics(meterRegistry);
+
     @InjectMocks
     private SupportIssuePresetServiceImpl service;
 
     @Nested
-    class FindSelectedIssueId {
+    class PresetIndex {
 
         @Test
-        @DisplayName("findSelectedIssueId -> returns Optional with entity when present")
-        void returns_present() {
+        @DisplayName("findIndexedPreset -> served from snapshot without repository")
+        void findIndexed_fromSnapshot() {
             UUID id = UUID.randomUUID();
-            var preset = SupportIssuePreset.builder()
-                    .id(id)
-                    .role(UserRole.MENTOR)
-                    .text("Не получается сохранить курс")
-                    .sortOrder(1)
-                    .active(true)
-                    .build();
-
-            when(repository.findById(eq(id))).thenReturn(Optional.of(preset));
+            var indexed = new CachedPreset(id, UserRole.MENTOR, "T", 1, true);
+            when(presetSnapshot.find(eq(id))).thenReturn(Optional.of(indexed));
 
-            Optional<SupportIssuePreset> out = service.findSelectedIssueId(id);
+            assertThat(service.findIndexedPreset(id)).contains(indexed);
 
-            assertThat(out).isPresent();
-            assertThat(out.get().getId()).isEqualTo(id);
-
-            verify(repository).findById(eq(id));
-            verifyNoMoreInteractions(repository);
-            verifyNoInteractions(authContext);
+            verifyNoInteractions(repository, authContext);
         }
 
         @Test
-        @DisplayName("findSelectedIssueId -> returns Optional.empty when not found")
-        void returns_empty() {
+        @DisplayName("getPresetReference -> returns lazy reference from repository")
+        void getReference_usesReferenceById() {
             UUID id = UUID.randomUUID();
-            when(repository.findById(eq(id))).thenReturn(Optional.empty());
+            var reference = SupportIssuePreset.builder().id(id).build();
+            when(repository.getReferenceById(eq(id))).thenReturn(reference);
 
-            Optional<SupportIssuePreset> out = service.findSelectedIssueId(id);
+            assertThat(service.getPresetReference(id)).isSameAs(reference);
 
-            assertThat(out).isEmpty();
-
-            verify(repository).findById(eq(id));
+            verify(repository).getReferenceById(eq(id));
             verifyNoMoreInteractions(repository);
-            verifyNoInteractions(authContext);
         }
     }
 
@@ -80,57 +79,41 @@ class SupportIssuePresetServiceImplTest {
     class GetActivePresetsForCurrentUserRole {
 
         @Test
-        @DisplayName("getActivePresetsForCurrentUserRole -> maps list for role from AuthContext")
-        void returns_mapped_list() {
+        @DisplayName("getActivePresetsForCurrentUserRole -> serves list for role from snapshot without repository")
+        void returns_snapshot_list() {
             UserRole role = UserRole.MENTOR;
             when(authContext.getCurrentUserRole()).thenReturn(role);
 
-            var p1 = SupportIssuePreset.builder()
-                    .id(UUID.randomUUID())
-                    .role(role)
-                    .text("Не можем добавить материалы")
-                    .sortOrder(1)
-                    .active(true)
-                    .build();
-            var p2 = SupportIssuePreset.builder()
-                    .id(UUID.randomUUID())
-                    .role(role)
-                    .text("Не получается сохранить курс")
-                    .sortOrder(2)
-                    .active(true)
-                    .build();
-
-            when(repository.findAllByRoleAndActiveTrueOrderBySortOrderAsc(eq(role)))
-                    .thenReturn(List.of(p1, p2));
+            var p1 = new IssuePresetResponse(UUID.randomUUID(), "Не можем добавить материалы");
+            var p2 = new IssuePresetResponse(UUID.randomUUID(), "Не получается сохранить курс");
+            List<IssuePresetResponse> cached = List.of(p1, p2);
+
+            when(presetSnapshot.activeFor(eq(role))).thenReturn(cached);
 
             List<IssuePresetResponse> out = service.getActivePresetsForCurrentUserRole();
 
-            assertThat(out).hasSize(2);
-            assertThat(out.get(0).getId()).isEqualTo(p1.getId());
-            assertThat(out.get(0).getText()).isEqualTo(p1.getText());
-            assertThat(out.get(1).getId()).isEqualTo(p2.getId());
-            assertThat(out.get(1).getText()).isEqualTo(p2.getText());
+            assertThat(out).isSameAs(cached);
 
             verify(authContext).getCurrentUserRole();
-            verify(repository).findAllByRoleAndActiveTrueOrderBySortOrderAsc(eq(role));
-            verifyNoMoreInteractions(repository, authContext);
+            verify(presetSnapshot).activeFor(eq(role));
+            verifyNoInteractions(repository);
+            verifyNoMoreInteractions(presetSnapshot, authContext);
         }
 
         @Test
-        @DisplayName("getActivePresetsForCurrentUserRole -> returns empty list when repo returns empty")
+        @DisplayName("getActivePresetsForCurrentUserRole -> returns empty list when snapshot has no presets for role")
         void returns_empty_list() {
             UserRole role = UserRole.HR;
             when(authContext.getCurrentUserRole()).thenReturn(role);
-            when(repository.findAllByRoleAndActiveTrueOrderBySortOrderAsc(eq(role)))
-                    .thenReturn(List.of());
+            when(presetSnapshot.activeFor(eq(role))).thenReturn(List.of());
 
             List<IssuePresetResponse> out = service.getActivePresetsForCurrentUserRole();
 
             assertThat(out).isEmpty();
 
             verify(authContext).getCurrentUserRole();
-            verify(repository).findAllByRoleAndActiveTrueOrderBySortOrderAsc(eq(role));
-            verifyNoMoreInteractions(repository, authContext);
+            verify(presetSnapshot).activeFor(eq(role));
+            verifyNoInteractions(repository);
         }
     }
 }
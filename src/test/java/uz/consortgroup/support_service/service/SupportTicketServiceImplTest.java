@@ -1,5 +1,6 @@
 package uz.consortgroup.support_service.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -7,27 +8,45 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.TicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.request.CreateTicketRequestDto;
 import uz.consortgroup.core.api.v1.dto.support.response.TicketCreatedResponse;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.UserTicketResponse;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
 import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.exception.TicketQueueFullException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.outbox.TicketOutbox;
 import uz.consortgroup.support_service.repository.SupportTicketRepository;
 import uz.consortgroup.support_service.security.AuthContext;
+import uz.consortgroup.support_service.service.coalescing.TicketCoalescer;
+import uz.consortgroup.support_service.service.counters.TicketStatusCounters;
+import uz.consortgroup.support_service.service.ingestion.TicketIngestionQueue;
 import uz.consortgroup.support_service.validator.SupportTicketValidator;
 
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -43,12 +62,71 @@ class SupportTicketServiceImplTest {
     @Mock
     private AuthContext authContext;
 
+    @Mock
+    private TicketIngestionQueue ticketIngestionQueue;
+
+    @Mock
+    private TicketCoalescer ticketCoalescer;
+
+    @Mock
+    private TicketOutbox ticketOutbox;
+
+    @Mock
+    private TicketStatusCounters ticketStatusCounters;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SupportMetrics supportMetrics = new SupportMetrics(meterRegistry);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private SupportTicketServiceImpl service;
 
     @Nested
     class CreateTicket {
 
+        @Test
+        @DisplayName("createTicket: open incident for the preset -> coalesced, nothing saved or queued")
+        void preset_coalesced() {
+            UUID presetId = UUID.randomUUID();
+            when(authContext.getCurrentUserId()).thenReturn(UUID.randomUUID());
+            when(authContext.getCurrentUserRole()).thenReturn(UserRole.MENTOR);
+            when(validator.validatePresetOrThrow(presetId, UserRole.MENTOR))
+                    .thenReturn(SupportIssuePreset.builder().id(presetId).role(UserRole.MENTOR).build());
+            when(ticketCoalescer.tryCoalesce(any(SupportTicket.class))).thenReturn(true);
+
+            TicketCreatedResponse resp = service.createTicket(CreateTicketRequestDto.builder().selectedIssueId(presetId).build());
+
+            assertThat(resp.getTicketStatus()).isEqualTo(TicketStatus.SUCCESS);
+            verify(repository, never()).save(any());
+            verify(ticketIngestionQueue, never()).enqueue(any());
+            verify(ticketCoalescer, never()).opened(any());
+            verifyNoInteractions(ticketOutbox, ticketStatusCounters);
+            assertThat(meterRegistry.get(SupportMetrics.TICKETS_COALESCED).counter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.find(SupportMetrics.TICKETS_SUBMITTED).counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("createTicket: no open incident -> saved and registered as a new incident")
+        void preset_opensIncident() {
+            UUID presetId = UUID.randomUUID();
+            when(authContext.getCurrentUserId()).thenReturn(UUID.randomUUID());
+            when(authContext.getCurrentUserRole()).thenReturn(UserRole.MENTOR);
+            when(validator.validatePresetOrThrow(presetId, UserRole.MENTOR))
+                    .thenReturn(SupportIssuePreset.builder().id(presetId).role(UserRole.MENTOR).build());
+
+            service.createTicket(CreateTicketRequestDto.builder().selectedIssueId(presetId).build());
+
+            ArgumentCaptor<SupportTicket> captor = ArgumentCaptor.forClass(SupportTicket.class);
+            verify(repository).save(captor.capture());
+            verify(ticketOutbox).ticketCreated(captor.getValue());
+            verify(ticketStatusCounters).ticketCreated(captor.getValue());
+            verify(ticketCoalescer).opened(captor.getValue());
+        }
+
         @Test
         @DisplayName("createTicket: PRESET + note -> saved with PRESET and trimmed comment")
         void preset_withNote_ok() {
@@ -181,6 +259,11 @@ class SupportTicketServiceImplTest {
             verify(validator).validateRoleAllowed(role);
             verify(validator).normalizeCommentOrThrow("  help me  ");
             verifyNoMoreInteractions(validator);
+
+            assertThat(meterRegistry.get(SupportMetrics.TICKETS_SUBMITTED).tags("issueType", "CUSTOM", "role", "ADMIN").counter().count())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get(SupportMetrics.TICKET_CREATE).tags("role", "ADMIN", "outcome", "success").timer().count())
+                    .isEqualTo(1);
         }
 
         @Test
@@ -204,6 +287,10 @@ class SupportTicketServiceImplTest {
                     .hasMessageContaining("Super Admin");
 
             verify(repository, never()).save(any());
+            assertThat(meterRegistry.get(SupportMetrics.TICKET_CREATE)
+                    .tags("role", "SUPER_ADMIN", "outcome", "error", "exception", "IllegalArgumentException").timer().count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.find(SupportMetrics.TICKETS_SUBMITTED).counter()).isNull();
         }
 
         @Test
@@ -253,5 +340,213 @@ class SupportTicketServiceImplTest {
 
             verify(repository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("createTicket: queued ingestion -> enqueued, not saved synchronously")
+        void queued_enqueuedNotSaved() {
+            UUID userId = UUID.randomUUID();
+            UserRole role = UserRole.MENTOR;
+
+            when(authContext.getCurrentUserId()).thenReturn(userId);
+            when(authContext.getCurrentUserRole()).thenReturn(role);
+            when(ticketIngestionQueue.isEnabled()).thenReturn(true);
+
+            var dto = CreateTicketRequestDto.builder()
+                    .comment("  help me  ")
+                    .build();
+
+            when(validator.normalizeCommentOrThrow("  help me  ")).thenReturn("help me");
+
+            TicketCreatedResponse resp = service.createTicket(dto);
+
+            assertThat(resp.getTicketStatus()).isEqualTo(TicketStatus.SUCCESS);
+
+            ArgumentCaptor<SupportTicket> captor = ArgumentCaptor.forClass(SupportTicket.class);
+            verify(ticketIngestionQueue).enqueue(captor.capture());
+            assertThat(captor.getValue().getIssueType()).isEqualTo(SupportIssueType.CUSTOM);
+            assertThat(captor.getValue().getUserId()).isEqualTo(userId);
+            verify(repository, never()).save(any());
+            // ни транзакции в запросе, ни инцидента до того, как writer запишет строку
+            verifyNoInteractions(transactionTemplate);
+            verify(ticketCoalescer, never()).opened(any());
+            // submitted считает writer очереди после записи
+            assertThat(meterRegistry.find(SupportMetrics.TICKETS_SUBMITTED).counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("createTicket: queued ingestion full -> TicketQueueFullException propagates")
+        void queued_full_throws() {
+            when(authContext.getCurrentUserId()).thenReturn(UUID.randomUUID());
+            when(authContext.getCurrentUserRole()).thenReturn(UserRole.HR);
+            when(ticketIngestionQueue.isEnabled()).thenReturn(true);
+            when(validator.normalizeCommentOrThrow("x")).thenReturn("x");
+            doThrow(new TicketQueueFullException("full")).when(ticketIngestionQueue).enqueue(any());
+
+            var dto = CreateTicketRequestDto.builder().comment("x").build();
+
+            assertThatThrownBy(() -> service.createTicket(dto))
+                    .isInstanceOf(TicketQueueFullException.class);
+
+            verify(repository, never()).save(any());
+        }
+    }
+
+    @Nested
+    class CreateTickets {
+
+        @Test
+        @DisplayName("createTickets: mixed PRESET/CUSTOM -> single saveAll with all tickets")
+        void batch_ok() {
+            UUID userId = UUID.randomUUID();
+            UserRole role = UserRole.MENTOR;
+            UUID presetId = UUID.randomUUID();
+
+            when(authContext.getCurrentUserId()).thenReturn(userId);
+            when(authContext.getCurrentUserRole()).thenReturn(role);
+
+            var preset = SupportIssuePreset.builder().id(presetId).build();
+            when(validator.validatePresetOrThrow(presetId, role)).thenReturn(preset);
+            when(validator.normalizeOptionalComment(null)).thenReturn(null);
+            when(validator.normalizeCommentOrThrow("  help  ")).thenReturn("help");
+
+            var dtos = List.of(
+                    CreateTicketRequestDto.builder().selectedIssueId(presetId).build(),
+                    CreateTicketRequestDto.builder().comment("  help  ").build());
+
+            TicketCreatedResponse resp = service.createTickets(dtos);
+
+            assertThat(resp.getTicketStatus()).isEqualTo(TicketStatus.SUCCESS);
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<SupportTicket>> captor = ArgumentCaptor.forClass(List.class);
+            verify(repository).saveAll(captor.capture());
+            List<SupportTicket> saved = captor.getValue();
+
+            assertThat(saved).hasSize(2);
+            assertThat(saved.get(0).getIssueType()).isEqualTo(SupportIssueType.PRESET);
+            assertThat(saved.get(0).getSelectedIssue()).isSameAs(preset);
+            assertThat(saved.get(1).getIssueType()).isEqualTo(SupportIssueType.CUSTOM);
+            assertThat(saved.get(1).getComment()).isEqualTo("help");
+            assertThat(saved).allSatisfy(t -> {
+                assertThat(t.getUserId()).isEqualTo(userId);
+                assertThat(t.getStatus()).isEqualTo(SupportTicketStatus.NEW);
+            });
+
+            verify(validator).validateRoleAllowed(role);
+            verify(repository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("createTickets: empty list -> IllegalArgumentException")
+        void batch_empty_throws() {
+            assertThatThrownBy(() -> service.createTickets(List.of()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("At least one");
+
+            verify(repository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("createTickets: more than MAX_BATCH_SIZE -> IllegalArgumentException")
+        void batch_tooLarge_throws() {
+            var dto = CreateTicketRequestDto.builder().comment("x").build();
+            var dtos = Collections.nCopies(SupportTicketServiceImpl.MAX_BATCH_SIZE + 1, dto);
+
+            assertThatThrownBy(() -> service.createTickets(dtos))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Batch size");
+
+            verify(repository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("createTickets: one invalid element -> nothing saved")
+        void batch_invalidElement_throws() {
+            UserRole role = UserRole.HR;
+            when(authContext.getCurrentUserId()).thenReturn(UUID.randomUUID());
+            when(authContext.getCurrentUserRole()).thenReturn(role);
+            when(validator.normalizeCommentOrThrow("ok")).thenReturn("ok");
+            when(validator.normalizeCommentOrThrow(" "))
+                    .thenThrow(new IllegalArgumentException("Either selectedIssueId or comment is required"));
+
+            var dtos = List.of(
+                    CreateTicketRequestDto.builder().comment("ok").build(),
+                    CreateTicketRequestDto.builder().comment(" ").build());
+
+            assertThatThrownBy(() -> service.createTickets(dtos))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verify(repository, never()).saveAll(any());
+        }
+    }
+
+    @Nested
+    class ListMyTickets {
+
+        private UserTicketResponse row(Instant createdAt) {
+            return new UserTicketResponse(UUID.randomUUID(), SupportIssueType.CUSTOM, null,
+                    SupportTicketStatus.NEW, createdAt, createdAt);
+        }
+
+        @Test
+        @DisplayName("listMyTickets(null, 2) -> первая страница текущего пользователя, лишняя строка даёт курсор")
+        void firstPage_hasNext() {
+            UUID userId = UUID.randomUUID();
+            when(authContext.getCurrentUserId()).thenReturn(userId);
+            when(authContext.getCurrentUserRole()).thenReturn(UserRole.STUDENT);
+            Instant now = Instant.parse("2025-01-01T10:00:00.123456Z");
+            var r1 = row(now);
+            var r2 = row(now.minusSeconds(1));
+            var r3 = row(now.minusSeconds(2));
+            when(repository.findUserTickets(eq(userId), eq(Limit.of(3)))).thenReturn(List.of(r1, r2, r3));
+
+            CursorSlice<UserTicketResponse> out = service.listMyTickets(null, 2);
+
+            assertThat(out.content()).containsExactly(r1, r2);
+            assertThat(out.hasNext()).isTrue();
+            assertThat(TicketCursor.decode(out.nextCursor())).isEqualTo(new TicketCursor(r2.createdAt(), r2.id()));
+            assertThat(meterRegistry.get(SupportMetrics.TICKET_HISTORY).tag("role", "STUDENT").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("listMyTickets(cursor, 10) -> seek от курсора по user_id, последняя страница")
+        void nextPage_lastPage() {
+            UUID userId = UUID.randomUUID();
+            when(authContext.getCurrentUserId()).thenReturn(userId);
+            when(authContext.getCurrentUserRole()).thenReturn(UserRole.MENTOR);
+            var after = new TicketCursor(Instant.parse("2025-01-01T10:00:00Z"), UUID.randomUUID());
+            var r = row(after.createdAt().minusSeconds(5));
+            when(repository.findUserTicketsBefore(eq(userId), eq(after.createdAt()), eq(after.id()), eq(Limit.of(11))))
+                    .thenReturn(List.of(r));
+
+            CursorSlice<UserTicketResponse> out = service.listMyTickets(after.encode(), 10);
+
+            assertThat(out.content()).containsExactly(r);
+            assertThat(out.hasNext()).isFalse();
+            assertThat(out.nextCursor()).isNull();
+            verifyNoMoreInteractions(repository);
+        }
+
+        @Test
+        @DisplayName("listMyTickets -> битый курсор: IllegalArgumentException")
+        void invalidCursor() {
+            when(authContext.getCurrentUserId()).thenReturn(UUID.randomUUID());
+            when(authContext.getCurrentUserRole()).thenReturn(UserRole.HR);
+
+            assertThatThrownBy(() -> service.listMyTickets("not-a-cursor", 10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+            verifyNoInteractions(repository);
+        }
+
+        @Test
+        @DisplayName("listMyTickets -> size вне 1..100: IllegalArgumentException")
+        void invalidSize() {
+            assertThatThrownBy(() -> service.listMyTickets(null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.listMyTickets(null, SupportTicketServiceImpl.MAX_HISTORY_PAGE_SIZE + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(repository, authContext);
+        }
     }
 }
@@ -0,0 +1,89 @@
+package uz.consortgroup.support_service.service.archive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NdjsonArchiveFileTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("publish: строки пишутся как gzip NDJSON, временный файл заменяется целевым")
+    void publish_writesGzipNdjson() throws Exception {
+        UUID id = UUID.randomUUID();
+        Path target = dir.resolve("nested/chunk-1.ndjson.gz");
+
+        try (NdjsonArchiveFile file = new NdjsonArchiveFile(objectMapper.getFactory(), target)) {
+            file.writeRow(row(id, "Первый"));
+            file.writeRow(row(UUID.randomUUID(), null));
+            assertThat(file.rows()).isEqualTo(2);
+            file.publish();
+        }
+
+        assertThat(target).exists();
+        assertThat(target.resolveSibling("chunk-1.ndjson.gz.tmp")).doesNotExist();
+
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(target)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+        assertThat(lines).hasSize(2).allMatch(l -> l.startsWith("{\"id\":"));
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asText()).isEqualTo(id.toString());
+        assertThat(first.get("comment").asText()).isEqualTo("Первый");
+        assertThat(first.get("createdAt").asText()).isEqualTo("2024-01-01T10:00:00Z");
+        assertThat(objectMapper.readTree(lines.get(1)).get("comment").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("close без publish: временный файл удаляется, целевой не появляется")
+    void close_withoutPublish_discards() throws Exception {
+        Path target = dir.resolve("chunk-2.ndjson.gz");
+
+        try (NdjsonArchiveFile file = new NdjsonArchiveFile(objectMapper.getFactory(), target)) {
+            file.writeRow(row(UUID.randomUUID(), "x"));
+        }
+
+        try (var files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static ResultSet row(UUID id, String comment) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        OffsetDateTime at = OffsetDateTime.of(2024, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        when(rs.getString("id")).thenReturn(id.toString());
+        when(rs.getString("user_id")).thenReturn(UUID.randomUUID().toString());
+        when(rs.getString("role")).thenReturn("STUDENT");
+        when(rs.getString("issue_type")).thenReturn("CUSTOM");
+        when(rs.getString("selected_issue_id")).thenReturn(null);
+        when(rs.getString("comment")).thenReturn(comment);
+        when(rs.getString("status")).thenReturn("CLOSED");
+        when(rs.getObject("created_at", OffsetDateTime.class)).thenReturn(at);
+        when(rs.getObject("updated_at", OffsetDateTime.class)).thenReturn(at);
+        return rs;
+    }
+}
@@ -0,0 +1,124 @@
+package uz.consortgroup.support_service.service.coalescing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.config.TicketCoalescingProperties;
+import uz.consortgroup.support_service.entity.SupportIssuePreset;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketCoalescerTest {
+
+    private static final UUID PRESET_ID = UUID.randomUUID();
+
+    @Mock
+    private SupportTicketRepository repository;
+
+    private TicketCoalescer coalescer(TicketCoalescingProperties.Key key) {
+        TicketCoalescingProperties properties = new TicketCoalescingProperties();
+        properties.setEnabled(true);
+        properties.setKey(key);
+        return new TicketCoalescer(repository, properties);
+    }
+
+    private static SupportTicket presetTicket(UUID userId, String comment) {
+        return SupportTicket.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .role(UserRole.MENTOR)
+                .issueType(SupportIssueType.PRESET)
+                .selectedIssue(SupportIssuePreset.builder().id(PRESET_ID).build())
+                .comment(comment)
+                .status(SupportTicketStatus.NEW)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("tryCoalesce: открытый инцидент по пресету -> счётчик увеличен по PK инцидента")
+    void coalescesIntoOpenIncident() {
+        TicketCoalescer coalescer = coalescer(TicketCoalescingProperties.Key.PRESET);
+        SupportTicket incident = presetTicket(UUID.randomUUID(), null);
+        when(repository.incrementDuplicates(eq(incident.getId()), eq(incident.getCreatedAt()), any(), eq(SupportTicketStatus.CLOSED)))
+                .thenReturn(1);
+
+        assertThat(coalescer.tryCoalesce(incident)).isFalse();
+        coalescer.opened(incident);
+
+        assertThat(coalescer.tryCoalesce(presetTicket(UUID.randomUUID(), null))).isTrue();
+        assertThat(coalescer.tryCoalesce(presetTicket(UUID.randomUUID(), null))).isTrue();
+        verify(repository, times(2)).incrementDuplicates(eq(incident.getId()), eq(incident.getCreatedAt()), any(), eq(SupportTicketStatus.CLOSED));
+    }
+
+    @Test
+    @DisplayName("tryCoalesce: USER_PRESET -> повторы другого пользователя не сворачиваются")
+    void userPresetKey() {
+        TicketCoalescer coalescer = coalescer(TicketCoalescingProperties.Key.USER_PRESET);
+        UUID userId = UUID.randomUUID();
+        SupportTicket incident = presetTicket(userId, null);
+        coalescer.opened(incident);
+        when(repository.incrementDuplicates(any(), any(), any(), any())).thenReturn(1);
+
+        assertThat(coalescer.tryCoalesce(presetTicket(UUID.randomUUID(), null))).isFalse();
+        assertThat(coalescer.tryCoalesce(presetTicket(userId, null))).isTrue();
+    }
+
+    @Test
+    @DisplayName("tryCoalesce: инцидент закрыт (UPDATE 0 строк) -> false, запись из индекса удалена")
+    void closedIncidentEvicted() {
+        TicketCoalescer coalescer = coalescer(TicketCoalescingProperties.Key.PRESET);
+        coalescer.opened(presetTicket(UUID.randomUUID(), null));
+        when(repository.incrementDuplicates(any(), any(), any(), any())).thenReturn(0);
+
+        assertThat(coalescer.tryCoalesce(presetTicket(UUID.randomUUID(), null))).isFalse();
+        assertThat(coalescer.tryCoalesce(presetTicket(UUID.randomUUID(), null))).isFalse();
+
+        verify(repository).incrementDuplicates(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("tryCoalesce: пресет с пояснением или CUSTOM -> не сворачивается и не открывает инцидент")
+    void onlyPresetWithoutNote() {
+        TicketCoalescer coalescer = coalescer(TicketCoalescingProperties.Key.PRESET);
+        coalescer.opened(presetTicket(UUID.randomUUID(), "подробности"));
+        SupportTicket custom = SupportTicket.builder()
+                .id(UUID.randomUUID())
+                .issueType(SupportIssueType.CUSTOM)
+                .comment("Не работает")
+                .build();
+        coalescer.opened(custom);
+
+        assertThat(coalescer.tryCoalesce(presetTicket(UUID.randomUUID(), null))).isFalse();
+        assertThat(coalescer.tryCoalesce(custom)).isFalse();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("tryCoalesce: режим выключен -> всегда false")
+    void disabled() {
+        TicketCoalescer coalescer = new TicketCoalescer(repository, new TicketCoalescingProperties());
+        SupportTicket ticket = presetTicket(UUID.randomUUID(), null);
+        coalescer.opened(ticket);
+
+        assertThat(coalescer.tryCoalesce(presetTicket(UUID.randomUUID(), null))).isFalse();
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,146 @@
+package uz.consortgroup.support_service.service.counters;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
+import uz.consortgroup.support_service.dto.TicketStatusCountsResponse;
+import uz.consortgroup.support_service.repository.SupportTicketRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uz.consortgroup.support_service.TicketFixtures.transition;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+@ExtendWith(MockitoExtension.class)
+class TicketStatusCountersTest {
+
+    @Mock
+    private SupportTicketRepository repository;
+
+    private TicketStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new TicketStatusCounters(repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static SupportTicketRepository.StatusCount row(SupportTicketStatus status, long count) {
+        return new SupportTicketRepository.StatusCount() {
+            @Override
+            public SupportTicketStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("первое чтение сверяется с БД, дальше снимок без запросов; статусы без строк -> 0")
+    void snapshot_reconcilesOnce() {
+        when(repository.countByStatus()).thenReturn(List.of(row(SupportTicketStatus.NEW, 5), row(SupportTicketStatus.CLOSED, 2)));
+
+        TicketStatusCountsResponse first = counters.snapshot();
+        TicketStatusCountsResponse second = counters.snapshot();
+
+        assertThat(first.counts())
+                .containsEntry(SupportTicketStatus.NEW, 5L)
+                .containsEntry(SupportTicketStatus.IN_PROGRESS, 0L)
+                .containsEntry(SupportTicketStatus.CLOSED, 2L);
+        assertThat(first.total()).isEqualTo(7);
+        assertThat(first.reconciledAt()).isNotNull();
+        assertThat(second).isEqualTo(first);
+        verify(repository, times(1)).countByStatus();
+    }
+
+    @Test
+    @DisplayName("создание и переходы сдвигают счётчики; переход в тот же статус не меняет ничего")
+    void deltasOnTopOfBase() {
+        when(repository.countByStatus()).thenReturn(List.of(row(SupportTicketStatus.NEW, 5)));
+        counters.reconcile();
+
+        counters.ticketsCreated(List.of(ticket().build(), ticket().build()));
+        counters.ticketStatusesChanged(List.of(
+                transition(SupportTicketStatus.NEW, SupportTicketStatus.IN_PROGRESS),
+                transition(SupportTicketStatus.NEW, SupportTicketStatus.CLOSED),
+                transition(SupportTicketStatus.CLOSED, SupportTicketStatus.CLOSED)));
+
+        TicketStatusCountsResponse out = counters.snapshot();
+        assertThat(out.counts())
+                .containsEntry(SupportTicketStatus.NEW, 5L)
+                .containsEntry(SupportTicketStatus.IN_PROGRESS, 1L)
+                .containsEntry(SupportTicketStatus.CLOSED, 1L);
+        assertThat(out.total()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("в транзакции дельта применяется только после коммита; откат не оставляет следов")
+    void appliedAfterCommit() {
+        when(repository.countByStatus()).thenReturn(List.of());
+        counters.reconcile();
+
+        TransactionSynchronizationManager.initSynchronization();
+        counters.ticketCreated(ticket().build());
+        assertThat(counters.snapshot().total()).isZero();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(counters.snapshot().counts()).containsEntry(SupportTicketStatus.NEW, 1L);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        counters.ticketCreated(ticket().build());
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(counters.snapshot().total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("сверка заменяет базу и не считает дважды дельты, уже попавшие в GROUP BY")
+    void reconcileAbsorbsAppliedDeltas() {
+        when(repository.countByStatus()).thenReturn(List.of(row(SupportTicketStatus.NEW, 5)));
+        counters.reconcile();
+        counters.ticketsCreated(List.of(ticket().build(), ticket().build()));
+
+        // БД видит оба новых тикета и ещё один, созданный другим инстансом
+        when(repository.countByStatus()).thenReturn(List.of(row(SupportTicketStatus.NEW, 8)));
+        counters.reconcile();
+        assertThat(counters.snapshot().counts()).containsEntry(SupportTicketStatus.NEW, 8L);
+
+        counters.ticketCreated(ticket().build());
+        assertThat(counters.snapshot().counts()).containsEntry(SupportTicketStatus.NEW, 9L);
+    }
+
+    @Test
+    @DisplayName("scheduledRun: ошибка БД -> предыдущие значения остаются")
+    void scheduledRun_keepsPreviousOnFailure() {
+        when(repository.countByStatus())
+                .thenReturn(List.of(row(SupportTicketStatus.NEW, 4)))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        counters.scheduledRun();
+        TicketStatusCountsResponse before = counters.snapshot();
+
+        counters.scheduledRun();
+
+        assertThat(counters.snapshot()).isEqualTo(before);
+    }
+}
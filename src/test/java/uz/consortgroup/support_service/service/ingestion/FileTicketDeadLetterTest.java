@@ -0,0 +1,46 @@
+package uz.consortgroup.support_service.service.ingestion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uz.consortgroup.support_service.entity.SupportTicket;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+class FileTicketDeadLetterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("accept: one JSON line per ticket, appended across calls, parent directory created")
+    void appendsJsonLines() throws Exception {
+        Path file = dir.resolve("nested").resolve("tickets.jsonl");
+        FileTicketDeadLetter deadLetter = new FileTicketDeadLetter(file, objectMapper);
+        SupportTicket first = ticket().id(UUID.randomUUID()).createdAt(Instant.parse("2025-01-01T10:00:00Z")).build();
+        SupportTicket second = ticket().id(UUID.randomUUID()).comment("second").build();
+
+        deadLetter.accept(List.of(first), "row error");
+        deadLetter.accept(List.of(second), "shutdown timeout");
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode line = objectMapper.readTree(lines.get(0));
+        assertThat(line.get("id").asText()).isEqualTo(first.getId().toString());
+        assertThat(line.get("comment").asText()).isEqualTo("Test ticket");
+        assertThat(line.get("reason").asText()).isEqualTo("row error");
+        assertThat(objectMapper.readTree(lines.get(1)).get("comment").asText()).isEqualTo("second");
+    }
+}
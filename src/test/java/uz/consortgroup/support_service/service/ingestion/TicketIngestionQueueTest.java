@@ -0,0 +1,215 @@
+package uz.consortgroup.support_service.service.ingestion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.support_service.config.TicketIngestionProperties;
+import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.support_service.exception.TicketQueueFullException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.outbox.TicketOutbox;
+import uz.consortgroup.support_service.repository.SupportTicketBatchRepository;
+import uz.consortgroup.support_service.service.coalescing.TicketCoalescer;
+import uz.consortgroup.support_service.service.counters.TicketStatusCounters;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uz.consortgroup.support_service.TicketFixtures.ticket;
+
+@ExtendWith(MockitoExtension.class)
+class TicketIngestionQueueTest {
+
+    @Mock
+    private SupportTicketBatchRepository batchRepository;
+
+    @Mock
+    private TicketOutbox ticketOutbox;
+
+    @Mock
+    private TicketStatusCounters ticketStatusCounters;
+
+    @Mock
+    private TicketCoalescer ticketCoalescer;
+
+    @Mock
+    private TicketDeadLetter ticketDeadLetter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TicketIngestionProperties properties = new TicketIngestionProperties();
+    private TicketIngestionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMode(TicketIngestionProperties.Mode.BEST_EFFORT_QUEUE);
+        properties.setQueueCapacity(2);
+        properties.setBatchSize(10);
+        properties.setLinger(Duration.ofMillis(10));
+        properties.setShutdownTimeout(Duration.ofSeconds(5));
+        queue = new TicketIngestionQueue(batchRepository, properties, ticketOutbox, ticketStatusCounters,
+                ticketCoalescer, ticketDeadLetter, new TransactionTemplate(transactionManager), new SupportMetrics(meterRegistry),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    @DisplayName("enqueue: not started -> rejected")
+    void enqueue_notStarted_rejected() {
+        assertThatThrownBy(() -> queue.enqueue(ticket().build()))
+                .isInstanceOf(TicketQueueFullException.class);
+    }
+
+    @Test
+    @DisplayName("enqueue: assigns id and timestamps before the ticket is queued")
+    void enqueue_assignsIdentity() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        when(batchRepository.insertAll(anyList())).thenAnswer(inv -> {
+            written.countDown();
+            return new int[]{1};
+        });
+        queue.start();
+
+        SupportTicket t = ticket().build();
+        queue.enqueue(t);
+
+        assertThat(t.getId()).isNotNull();
+        assertThat(t.getCreatedAt()).isNotNull();
+        assertThat(t.getUpdatedAt()).isEqualTo(t.getCreatedAt());
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("enqueue: full queue -> TicketQueueFullException and rejected counter; queued tickets are flushed")
+    void enqueue_full_backpressure() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchRepository.insertAll(anyList())).thenAnswer(inv -> {
+            firstBatchStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new int[0];
+        });
+        queue.start();
+
+        queue.enqueue(ticket().build());
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        queue.enqueue(ticket().build());
+        queue.enqueue(ticket().build());
+        assertThat(queue.depth()).isEqualTo(2);
+
+        assertThatThrownBy(() -> queue.enqueue(ticket().build()))
+                .isInstanceOf(TicketQueueFullException.class);
+        assertThat(meterRegistry.counter("support.tickets.ingestion.rejected").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("support.tickets.ingestion.queue.depth").gauge().value()).isEqualTo(2.0);
+
+        release.countDown();
+        queue.stop();
+
+        assertThat(queue.depth()).isZero();
+        assertThat(meterRegistry.counter("support.tickets.ingestion.written").count()).isEqualTo(3.0);
+        verify(batchRepository, atLeastOnce()).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("flush: batch failure -> retried row by row, bad rows counted as failed and dead-lettered")
+    void flush_fallsBackToSingleRows() {
+        SupportTicket good = ticket().build();
+        SupportTicket bad = ticket().build();
+        List<SupportTicket> batch = List.of(good, bad);
+
+        when(batchRepository.insertAll(batch)).thenThrow(new DataIntegrityViolationException("batch"));
+        when(batchRepository.insertAll(List.of(good))).thenReturn(new int[]{1});
+        when(batchRepository.insertAll(List.of(bad))).thenThrow(new DataIntegrityViolationException("row"));
+
+        queue.flush(batch);
+
+        assertThat(meterRegistry.counter("support.tickets.ingestion.written").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("support.tickets.ingestion.failed").count()).isEqualTo(1.0);
+        // событие пишется только для строк, которые реально вставлены
+        verify(ticketOutbox).ticketsCreated(List.of(good));
+        verify(ticketStatusCounters).ticketsCreated(List.of(good));
+        verify(ticketOutbox, never()).ticketsCreated(batch);
+        verify(ticketOutbox, never()).ticketsCreated(List.of(bad));
+        // инцидент свёртки — только для записанной строки
+        verify(ticketCoalescer).opened(good);
+        verify(ticketCoalescer, never()).opened(bad);
+        assertThat(meterRegistry.get(SupportMetrics.TICKETS_SUBMITTED).counter().count()).isEqualTo(1.0);
+        verify(ticketDeadLetter).accept(List.of(bad), "row");
+        assertThat(meterRegistry.counter("support.tickets.ingestion.dead_lettered").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("support.tickets.ingestion.dropped").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("flush: dead letter also fails -> ticket counted as dropped")
+    void flush_deadLetterFails_dropped() {
+        SupportTicket bad = ticket().build();
+        when(batchRepository.insertAll(List.of(bad))).thenThrow(new DataIntegrityViolationException("row"));
+        doThrow(new IllegalStateException("disk full")).when(ticketDeadLetter).accept(eq(List.of(bad)), anyString());
+
+        queue.flush(List.of(bad));
+
+        assertThat(meterRegistry.counter("support.tickets.ingestion.failed").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("support.tickets.ingestion.dead_lettered").count()).isZero();
+        assertThat(meterRegistry.counter("support.tickets.ingestion.dropped").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find(SupportMetrics.TICKETS_SUBMITTED).counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("stop: writer misses the shutdown timeout -> queued tickets go to the dead letter")
+    void stop_timeout_deadLettersLeftover() throws Exception {
+        properties.setShutdownTimeout(Duration.ofMillis(100));
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchRepository.insertAll(anyList())).thenAnswer(inv -> {
+            firstBatchStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new int[]{1};
+        });
+        queue.start();
+
+        queue.enqueue(ticket().build());
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        SupportTicket second = ticket().build();
+        SupportTicket third = ticket().build();
+        queue.enqueue(second);
+        queue.enqueue(third);
+
+        try {
+            queue.stop();
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(queue.depth()).isZero();
+        verify(ticketDeadLetter).accept(List.of(second, third), "shutdown timeout");
+        assertThat(meterRegistry.counter("support.tickets.ingestion.failed").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("support.tickets.ingestion.dead_lettered").count()).isEqualTo(2.0);
+    }
+}
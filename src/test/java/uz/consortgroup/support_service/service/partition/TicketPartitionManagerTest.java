@@ -0,0 +1,114 @@
+package uz.consortgroup.support_service.service.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.consortgroup.support_service.config.TicketPartitionProperties;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TicketPartitionProperties properties;
+    private TicketPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TicketPartitionProperties();
+        properties.setMonthsAhead(2);
+        properties.setRetentionMonths(12);
+        manager = new TicketPartitionManager(jdbcTemplate, properties, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("partitionName/monthOf: support_tickets_pYYYY_MM в обе стороны")
+    void naming() {
+        assertThat(TicketPartitionManager.partitionName(YearMonth.of(2025, 3))).isEqualTo("support_tickets_p2025_03");
+        assertThat(TicketPartitionManager.monthOf("support_tickets_p2025_03")).contains(YearMonth.of(2025, 3));
+        assertThat(TicketPartitionManager.monthOf("support_tickets_default")).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("ensurePartitions: по одному CREATE ... PARTITION OF на месяц с границами в UTC")
+    void ensurePartitions() {
+        manager.ensurePartitions(YearMonth.of(2024, 12), YearMonth.of(2025, 1));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).execute(sql.capture());
+        assertThat(sql.getAllValues().get(0)).isEqualTo(
+                "CREATE TABLE IF NOT EXISTS support_schema.support_tickets_p2024_12 PARTITION OF support_schema.support_tickets"
+                        + " FOR VALUES FROM ('2024-12-01T00:00:00Z') TO ('2025-01-01T00:00:00Z')");
+        assertThat(sql.getAllValues().get(1)).contains("support_tickets_p2025_01")
+                .contains("TO ('2025-02-01T00:00:00Z')");
+    }
+
+    @Test
+    @DisplayName("maintain: создаёт партиции на monthsAhead вперёд и отсоединяет старше retentionMonths")
+    void maintain_createsAndDetaches() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of(
+                "support_tickets_default", "support_tickets_p2024_01", "support_tickets_p2024_02", "support_tickets_p2025_02"));
+
+        when(jdbcTemplate.queryForObject(contains("support_tickets_p2024_01 WHERE status <> ?"), eq(Boolean.class), eq("CLOSED")))
+                .thenReturn(false);
+
+        manager.maintain(YearMonth.of(2025, 2));
+
+        verify(jdbcTemplate).execute(contains("support_tickets_p2025_04 PARTITION OF"));
+        verify(jdbcTemplate).execute("ALTER TABLE support_schema.support_tickets DETACH PARTITION support_schema.support_tickets_p2024_01");
+        verify(jdbcTemplate).execute("ALTER TABLE support_schema.support_tickets_p2024_01 SET SCHEMA support_archive");
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION support_schema.support_tickets_p2024_02"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION support_schema.support_tickets_default"));
+    }
+
+    @Test
+    @DisplayName("detachOlderThan: в партиции есть незакрытые тикеты -> остаётся на месте")
+    void detach_keepsPartitionWithOpenTickets() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of(
+                "support_tickets_p2024_01", "support_tickets_p2024_02"));
+        when(jdbcTemplate.queryForObject(contains("support_tickets_p2024_01 WHERE status <> ?"), eq(Boolean.class), eq("CLOSED")))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains("support_tickets_p2024_02 WHERE status <> ?"), eq(Boolean.class), eq("CLOSED")))
+                .thenReturn(false);
+
+        assertThat(manager.detachOlderThan(YearMonth.of(2024, 3))).containsExactly("support_tickets_p2024_02");
+
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION support_schema.support_tickets_p2024_01"));
+    }
+
+    @Test
+    @DisplayName("maintain: advisory-lock занят другим инстансом -> ничего не делает")
+    void maintain_lockedElsewhere() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyLong())).thenReturn(false);
+
+        manager.maintain(YearMonth.of(2025, 2));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
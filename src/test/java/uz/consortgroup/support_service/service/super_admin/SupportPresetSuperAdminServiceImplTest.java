@@ -1,5 +1,6 @@
 package uz.consortgroup.support_service.service.super_admin;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -7,14 +8,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import uz.consortgroup.core.api.v1.dto.support.request.CreatePresetRequestDto;
 import uz.consortgroup.core.api.v1.dto.support.request.UpdatePresetRequestDto;
 import uz.consortgroup.core.api.v1.dto.support.response.PresetResponse;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.cache.PresetsChangedEvent;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
 import uz.consortgroup.support_service.exception.PresetNotFoundExecption;
 import uz.consortgroup.support_service.mapper.SupportMapper;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
 import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
 import uz.consortgroup.support_service.validator.SupportPresetValidator;
 
@@ -26,8 +32,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -45,6 +49,14 @@ class SupportPresetSuperAdminServiceImplTest {
     @Mock
     private SupportPresetValidator validator;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SupportMetrics supportMetrics = new SupportMetrics(meterRegistry);
+
     @InjectMocks
     private SupportPresetSuperAdminServiceImpl service;
 
@@ -61,7 +73,6 @@ class SupportPresetSuperAdminServiceImplTest {
                     .build();
 
             when(validator.normalizeTextOrThrow("  Text  ")).thenReturn("Text");
-            doNothing().when(validator).ensureUniqueOnCreate(UserRole.MENTOR, "Text");
 
             var saved = SupportIssuePreset.builder()
                     .id(UUID.randomUUID())
@@ -71,7 +82,7 @@ class SupportPresetSuperAdminServiceImplTest {
                     .active(true)
                     .build();
 
-            when(repository.save(any(SupportIssuePreset.class))).thenReturn(saved);
+            when(repository.saveAndFlush(any(SupportIssuePreset.class))).thenReturn(saved);
 
             PresetResponse resp = mock(PresetResponse.class);
             when(mapper.toPresetDto(saved)).thenReturn(resp);
@@ -81,14 +92,13 @@ class SupportPresetSuperAdminServiceImplTest {
             assertThat(result).isSameAs(resp);
 
             ArgumentCaptor<SupportIssuePreset> captor = ArgumentCaptor.forClass(SupportIssuePreset.class);
-            verify(repository).save(captor.capture());
+            verify(repository).saveAndFlush(captor.capture());
             assertThat(captor.getValue().getRole()).isEqualTo(UserRole.MENTOR);
             assertThat(captor.getValue().getText()).isEqualTo("Text");
             assertThat(captor.getValue().getSortOrder()).isEqualTo(5);
             assertThat(captor.getValue().isActive()).isTrue();
-
-            verify(validator).ensureUniqueOnCreate(UserRole.MENTOR, "Text");
             verify(mapper).toPresetDto(saved);
+            verify(eventPublisher).publishEvent(new PresetsChangedEvent(saved.getId()));
         }
 
         @Test
@@ -100,7 +110,6 @@ class SupportPresetSuperAdminServiceImplTest {
                     .build();
 
             when(validator.normalizeTextOrThrow("Preset")).thenReturn("Preset");
-            doNothing().when(validator).ensureUniqueOnCreate(UserRole.HR, "Preset");
 
             var saved = SupportIssuePreset.builder()
                     .id(UUID.randomUUID())
@@ -110,7 +119,7 @@ class SupportPresetSuperAdminServiceImplTest {
                     .active(true)
                     .build();
 
-            when(repository.save(any(SupportIssuePreset.class))).thenReturn(saved);
+            when(repository.saveAndFlush(any(SupportIssuePreset.class))).thenReturn(saved);
             PresetResponse resp = mock(PresetResponse.class);
             when(mapper.toPresetDto(saved)).thenReturn(resp);
 
@@ -118,7 +127,7 @@ class SupportPresetSuperAdminServiceImplTest {
 
             assertThat(result).isSameAs(resp);
             ArgumentCaptor<SupportIssuePreset> captor = ArgumentCaptor.forClass(SupportIssuePreset.class);
-            verify(repository).save(captor.capture());
+            verify(repository).saveAndFlush(captor.capture());
             assertThat(captor.getValue().getSortOrder()).isEqualTo(0);
             assertThat(captor.getValue().isActive()).isTrue();
         }
@@ -137,7 +146,8 @@ class SupportPresetSuperAdminServiceImplTest {
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining("blank");
 
-            verify(repository, never()).save(any());
+            verify(repository, never()).saveAndFlush(any());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
         }
 
         @Test
@@ -149,14 +159,15 @@ class SupportPresetSuperAdminServiceImplTest {
                     .build();
 
             when(validator.normalizeTextOrThrow("Duplicate")).thenReturn("Duplicate");
-            doThrow(new IllegalArgumentException("already exists"))
-                    .when(validator).ensureUniqueOnCreate(UserRole.ADMIN, "Duplicate");
+            var violation = new DataIntegrityViolationException("ux_support_issue_presets_role_lower_text");
+            when(repository.saveAndFlush(any(SupportIssuePreset.class))).thenThrow(violation);
+            when(validator.translateUniqueViolation(violation)).thenReturn(new IllegalArgumentException("already exists"));
 
             assertThatThrownBy(() -> service.create(req))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining("already");
 
-            verify(repository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
         }
     }
 
@@ -184,7 +195,6 @@ class SupportPresetSuperAdminServiceImplTest {
                     .build();
 
             when(validator.normalizeTextOrThrow(" New  ")).thenReturn("New");
-            doNothing().when(validator).ensureUniqueOnUpdate(existing, "New");
 
             var saved = SupportIssuePreset.builder()
                     .id(id)
@@ -194,7 +204,7 @@ class SupportPresetSuperAdminServiceImplTest {
                     .active(false)
                     .build();
 
-            when(repository.save(existing)).thenReturn(saved);
+            when(repository.saveAndFlush(existing)).thenReturn(saved);
             PresetResponse resp = mock(PresetResponse.class);
             when(mapper.toPresetDto(saved)).thenReturn(resp);
 
@@ -204,8 +214,7 @@ class SupportPresetSuperAdminServiceImplTest {
             assertThat(existing.getText()).isEqualTo("New");
             assertThat(existing.getSortOrder()).isEqualTo(10);
             assertThat(existing.isActive()).isFalse();
-
-            verify(validator).ensureUniqueOnUpdate(existing, "New");
+            verify(eventPublisher).publishEvent(new PresetsChangedEvent(id));
         }
 
         @Test
@@ -236,7 +245,7 @@ class SupportPresetSuperAdminServiceImplTest {
                     .active(false)
                     .build();
 
-            when(repository.save(existing)).thenReturn(saved);
+            when(repository.saveAndFlush(existing)).thenReturn(saved);
             PresetResponse resp = mock(PresetResponse.class);
             when(mapper.toPresetDto(saved)).thenReturn(resp);
 
@@ -248,7 +257,6 @@ class SupportPresetSuperAdminServiceImplTest {
             assertThat(existing.isActive()).isFalse();
 
             verify(validator, never()).normalizeTextOrThrow(anyString());
-            verify(validator, never()).ensureUniqueOnUpdate(any(), anyString());
         }
 
         @Test
@@ -262,7 +270,7 @@ class SupportPresetSuperAdminServiceImplTest {
             assertThatThrownBy(() -> service.update(id, req))
                     .isInstanceOf(PresetNotFoundExecption.class);
 
-            verify(repository, never()).save(any());
+            verify(repository, never()).saveAndFlush(any());
         }
 
         @Test
@@ -283,14 +291,15 @@ class SupportPresetSuperAdminServiceImplTest {
             var req = UpdatePresetRequestDto.builder().text("New").build();
 
             when(validator.normalizeTextOrThrow("New")).thenReturn("New");
-            doThrow(new IllegalArgumentException("already exists"))
-                    .when(validator).ensureUniqueOnUpdate(existing, "New");
+            var violation = new DataIntegrityViolationException("ux_support_issue_presets_role_lower_text");
+            when(repository.saveAndFlush(existing)).thenThrow(violation);
+            when(validator.translateUniqueViolation(violation)).thenReturn(new IllegalArgumentException("already exists"));
 
             assertThatThrownBy(() -> service.update(id, req))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining("already");
 
-            verify(repository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
         }
     }
 
@@ -305,6 +314,7 @@ class SupportPresetSuperAdminServiceImplTest {
             service.delete(id);
 
             verify(repository).deleteById(id);
+            verify(eventPublisher).publishEvent(new PresetsChangedEvent(id));
         }
 
         @Test
@@ -317,6 +327,7 @@ class SupportPresetSuperAdminServiceImplTest {
                     .isInstanceOf(PresetNotFoundExecption.class);
 
             verify(repository, never()).deleteById(any());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
         }
     }
 
@@ -1,5 +1,6 @@
 package uz.consortgroup.support_service.service.super_admin;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -7,20 +8,36 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportIssueType;
 import uz.consortgroup.core.api.v1.dto.support.enumeration.SupportTicketStatus;
 import uz.consortgroup.core.api.v1.dto.support.response.SupportTicketResponse;
-import uz.consortgroup.support_service.entity.SupportTicket;
+import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.dto.AdminTicketResponse;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateRequest;
+import uz.consortgroup.support_service.dto.BulkStatusUpdateResponse;
+import uz.consortgroup.support_service.dto.CursorSlice;
+import uz.consortgroup.support_service.dto.TicketStatusCountsResponse;
 import uz.consortgroup.support_service.exception.TicketNotFoundException;
-import uz.consortgroup.support_service.mapper.SupportMapper;
+import uz.consortgroup.support_service.exception.TicketStatusConflictException;
+import uz.consortgroup.support_service.metrics.SupportMetrics;
+import uz.consortgroup.support_service.outbox.TicketOutbox;
 import uz.consortgroup.support_service.repository.SupportTicketRepository;
+import uz.consortgroup.support_service.repository.SupportTicketStatusRepository;
+import uz.consortgroup.support_service.service.TicketCursor;
+import uz.consortgroup.support_service.service.counters.TicketStatusCounters;
 
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,13 +45,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.same;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static uz.consortgroup.support_service.TicketFixtures.transition;
 
 @ExtendWith(MockitoExtension.class)
 class SupportTicketSuperAdminServiceImplTest {
@@ -43,120 +59,287 @@ class SupportTicketSuperAdminServiceImplTest {
     private SupportTicketRepository repository;
 
     @Mock
-    private SupportMapper mapper;
+    private SupportTicketStatusRepository statusRepository;
+
+    @Mock
+    private TicketOutbox ticketOutbox;
+
+    @Mock
+    private TicketStatusCounters ticketStatusCounters;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SupportMetrics supportMetrics = new SupportMetrics(meterRegistry);
 
     @InjectMocks
     private SupportTicketSuperAdminServiceImpl service;
 
+    private static AdminTicketResponse view(SupportTicketStatus status, Instant createdAt) {
+        return new AdminTicketResponse(UUID.randomUUID(), UUID.randomUUID(), UserRole.MENTOR, SupportIssueType.CUSTOM,
+                null, null, "comment", status, createdAt, createdAt);
+    }
+
     @Nested
     class ListTickets {
 
         @Test
-        @DisplayName("listTickets(null, pageable) -> repository.findAll(pageable)")
+        @DisplayName("listTickets(null, pageable) -> repository.findAdminView(pageable), без маппинга сущностей")
         void list_all_whenStatusNull() {
             Pageable pageable = PageRequest.of(0, 10);
+            Instant now = Instant.now();
+            var v1 = view(SupportTicketStatus.NEW, now);
+            var v2 = view(SupportTicketStatus.IN_PROGRESS, now);
 
-            var e1 = new SupportTicket(); e1.setId(UUID.randomUUID()); e1.setStatus(SupportTicketStatus.NEW);
-            var e2 = new SupportTicket(); e2.setId(UUID.randomUUID()); e2.setStatus(SupportTicketStatus.IN_PROGRESS);
+            when(repository.findAdminView(eq(pageable)))
+                    .thenReturn(new PageImpl<>(List.of(v1, v2), pageable, 2));
 
-            when(repository.findAll(eq(pageable)))
-                    .thenReturn(new PageImpl<>(List.of(e1, e2), pageable, 2));
+            Page<AdminTicketResponse> out = service.listTickets(null, pageable);
 
-            var d1 = mock(SupportTicketResponse.class);
-            var d2 = mock(SupportTicketResponse.class);
-            when(mapper.toDto(e1)).thenReturn(d1);
-            when(mapper.toDto(e2)).thenReturn(d2);
-
-            Page<SupportTicketResponse> out = service.listTickets(null, pageable);
-
-            assertThat(out.getContent()).containsExactly(d1, d2);
+            assertThat(out.getContent()).containsExactly(v1, v2);
             assertThat(out.getNumber()).isEqualTo(0);
             assertThat(out.getSize()).isEqualTo(10);
 
-            verify(repository).findAll(eq(pageable));
-            verify(repository, never()).findAllByStatus(any(), any());
-            verify(mapper).toDto(e1);
-            verify(mapper).toDto(e2);
-            verifyNoMoreInteractions(repository, mapper);
+            verify(repository).findAdminView(eq(pageable));
+            verifyNoMoreInteractions(repository);
         }
 
         @Test
-        @DisplayName("listTickets(status, pageable) -> repository.findAllByStatus(status, pageable)")
+        @DisplayName("listTickets(status, pageable) -> repository.findAdminViewByStatus(status, pageable)")
         void list_byStatus() {
             Pageable pageable = PageRequest.of(1, 5, Sort.by(Sort.Order.desc("createdAt")));
             var status = SupportTicketStatus.NEW;
+            var v = view(status, Instant.now());
 
-            var entity = new SupportTicket();
-            entity.setId(UUID.randomUUID());
-            entity.setStatus(status);
-
-            when(repository.findAllByStatus(eq(status), eq(pageable)))
-                    .thenReturn(new PageImpl<>(List.of(entity), pageable, 1));
-
-            var dto = mock(SupportTicketResponse.class);
-            when(mapper.toDto(entity)).thenReturn(dto);
+            when(repository.findAdminViewByStatus(eq(status), eq(pageable)))
+                    .thenReturn(new PageImpl<>(List.of(v), pageable, 6));
 
-            Page<SupportTicketResponse> out = service.listTickets(status, pageable);
+            Page<AdminTicketResponse> out = service.listTickets(status, pageable);
 
-            assertThat(out.getContent()).containsExactly(dto);
+            assertThat(out.getContent()).containsExactly(v);
             assertThat(out.getNumber()).isEqualTo(1);
             assertThat(out.getSize()).isEqualTo(5);
 
-            verify(repository).findAllByStatus(eq(status), eq(pageable));
-            verify(repository, never()).findAll(any(Pageable.class));
-            verify(mapper).toDto(entity);
-            verifyNoMoreInteractions(repository, mapper);
+            verify(repository).findAdminViewByStatus(eq(status), eq(pageable));
+            verifyNoMoreInteractions(repository);
         }
     }
 
     @Nested
-    class UpdateStatus {
+    class ListTicketsByCursor {
 
         @Test
-        @DisplayName("updateStatus -> OK: статус меняется, сохраняется и маппится")
-        void update_ok() {
-            UUID id = UUID.randomUUID();
-            var newStatus = SupportTicketStatus.CLOSED;
+        @DisplayName("listTicketsByCursor(null, null, 2) -> первая страница, лишняя строка даёт hasNext и курсор")
+        void firstPage_hasNext() {
+            Instant now = Instant.parse("2025-01-01T10:00:00.123456Z");
+            var v1 = view(SupportTicketStatus.NEW, now);
+            var v2 = view(SupportTicketStatus.NEW, now.minusSeconds(1));
+            var v3 = view(SupportTicketStatus.NEW, now.minusSeconds(2));
+            when(repository.findAdminViewLatest(eq(Limit.of(3)))).thenReturn(List.of(v1, v2, v3));
+
+            CursorSlice<AdminTicketResponse> out = service.listTicketsByCursor(null, null, 2);
+
+            assertThat(out.content()).containsExactly(v1, v2);
+            assertThat(out.hasNext()).isTrue();
+            assertThat(TicketCursor.decode(out.nextCursor())).isEqualTo(new TicketCursor(v2.createdAt(), v2.id()));
+        }
 
-            var existing = new SupportTicket();
-            existing.setId(id);
-            existing.setStatus(SupportTicketStatus.IN_PROGRESS);
+        @Test
+        @DisplayName("listTicketsByCursor(status, cursor, 10) -> seek-запрос от курсора, последняя страница")
+        void nextPage_byStatus_lastPage() {
+            var status = SupportTicketStatus.IN_PROGRESS;
+            var after = new TicketCursor(Instant.parse("2025-01-01T10:00:00Z"), UUID.randomUUID());
+            var v = view(status, after.createdAt().minusSeconds(5));
+            when(repository.findAdminViewBeforeByStatus(eq(status), eq(after.createdAt()), eq(after.id()), eq(Limit.of(11))))
+                    .thenReturn(List.of(v));
+
+            CursorSlice<AdminTicketResponse> out = service.listTicketsByCursor(status, after.encode(), 10);
+
+            assertThat(out.content()).containsExactly(v);
+            assertThat(out.hasNext()).isFalse();
+            assertThat(out.nextCursor()).isNull();
+            verifyNoMoreInteractions(repository);
+        }
 
-            when(repository.findById(eq(id))).thenReturn(Optional.of(existing));
+        @Test
+        @DisplayName("listTicketsByCursor -> битый курсор: IllegalArgumentException")
+        void invalidCursor() {
+            assertThatThrownBy(() -> service.listTicketsByCursor(null, "not-a-cursor", 10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+            verifyNoInteractions(repository);
+        }
 
-            var saved = new SupportTicket();
-            saved.setId(id);
-            saved.setStatus(newStatus);
-            when(repository.save(same(existing))).thenReturn(saved);
+        @Test
+        @DisplayName("listTicketsByCursor -> size вне 1..100: IllegalArgumentException")
+        void invalidSize() {
+            assertThatThrownBy(() -> service.listTicketsByCursor(null, null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.listTicketsByCursor(null, null, 101))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(repository);
+        }
+    }
 
-            var resp = mock(SupportTicketResponse.class);
-            when(mapper.toDto(eq(saved))).thenReturn(resp);
+    @Test
+    @DisplayName("countByStatus -> снимок из TicketStatusCounters, без запросов к репозиторию")
+    void countByStatus_fromCounters() {
+        var counts = new TicketStatusCountsResponse(Map.of(SupportTicketStatus.NEW, 3L), 3, Instant.now());
+        when(ticketStatusCounters.snapshot()).thenReturn(counts);
 
-            var out = service.updateStatus(id, newStatus);
+        assertThat(service.countByStatus()).isSameAs(counts);
+        verifyNoInteractions(repository, statusRepository);
+    }
 
-            assertThat(existing.getStatus()).isEqualTo(newStatus);
-            assertThat(out).isSameAs(resp);
+    @Nested
+    class UpdateStatus {
 
-            ArgumentCaptor<SupportTicket> captor = ArgumentCaptor.forClass(SupportTicket.class);
-            verify(repository).save(captor.capture());
-            assertThat(captor.getValue().getStatus()).isEqualTo(newStatus);
+        private SupportTicketStatusRepository.UpdatedTicket updated(UUID id, SupportTicketStatus previous,
+                                                                    SupportTicketStatus status) {
+            Instant createdAt = Instant.parse("2025-01-01T10:00:00Z");
+            return new SupportTicketStatusRepository.UpdatedTicket(
+                    new SupportTicketStatusRepository.Transition(id, UUID.randomUUID(), UserRole.MENTOR,
+                            SupportIssueType.PRESET, UUID.randomUUID(), status, previous),
+                    "note", createdAt, createdAt.plusSeconds(60));
+        }
 
-            verify(mapper).toDto(saved);
-            verifyNoMoreInteractions(repository, mapper);
+        @Test
+        @DisplayName("updateStatus -> OK: один UPDATE ... RETURNING, ответ собирается из возвращённой строки")
+        void update_ok() {
+            UUID id = UUID.randomUUID();
+            var newStatus = SupportTicketStatus.CLOSED;
+            var row = updated(id, SupportTicketStatus.IN_PROGRESS, newStatus);
+            when(statusRepository.updateStatus(eq(id), eq(newStatus), isNull(), any(Instant.class)))
+                    .thenReturn(Optional.of(row));
+
+            SupportTicketResponse out = service.updateStatus(id, newStatus, null);
+
+            assertThat(out.getId()).isEqualTo(id);
+            assertThat(out.getStatus()).isEqualTo(newStatus);
+            assertThat(out.getSelectedIssueId()).isEqualTo(row.transition().selectedIssueId());
+            assertThat(out.getComment()).isEqualTo("note");
+            assertThat(out.getUpdatedAt()).isEqualTo(row.updatedAt());
+
+            verify(ticketOutbox).ticketStatusChanged(row.transition(), row.updatedAt());
+            verify(ticketStatusCounters).ticketStatusChanged(row.transition());
+            verifyNoMoreInteractions(statusRepository);
+            verifyNoInteractions(repository);
+
+            assertThat(meterRegistry.get(SupportMetrics.TICKET_STATUS_CHANGED).tags("from", "IN_PROGRESS", "to", "CLOSED").counter().count())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get(SupportMetrics.TICKET_STATUS_UPDATE).tags("status", "CLOSED", "outcome", "success").timer().count())
+                    .isEqualTo(1);
         }
 
         @Test
         @DisplayName("updateStatus -> not found: кидаем TicketNotFoundException")
         void update_notFound() {
             UUID id = UUID.randomUUID();
-            when(repository.findById(eq(id))).thenReturn(Optional.empty());
+            when(statusRepository.updateStatus(eq(id), eq(SupportTicketStatus.NEW), isNull(), any(Instant.class)))
+                    .thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.updateStatus(id, SupportTicketStatus.NEW, null))
+                    .isInstanceOf(TicketNotFoundException.class);
+
+            verifyNoMoreInteractions(statusRepository);
+            verifyNoInteractions(ticketOutbox);
+            assertThat(meterRegistry.get(SupportMetrics.TICKET_STATUS_UPDATE)
+                    .tags("outcome", "error", "exception", "TicketNotFoundException").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("updateStatus(expectedStatus) -> статус уже другой: TicketStatusConflictException")
+        void update_conflict() {
+            UUID id = UUID.randomUUID();
+            when(statusRepository.updateStatus(eq(id), eq(SupportTicketStatus.CLOSED), eq(SupportTicketStatus.NEW), any(Instant.class)))
+                    .thenReturn(Optional.empty());
+            when(statusRepository.findStatus(id)).thenReturn(Optional.of(SupportTicketStatus.IN_PROGRESS));
+
+            assertThatThrownBy(() -> service.updateStatus(id, SupportTicketStatus.CLOSED, SupportTicketStatus.NEW))
+                    .isInstanceOf(TicketStatusConflictException.class)
+                    .hasMessage("Ticket %s has status IN_PROGRESS, expected NEW", id);
+
+            verifyNoInteractions(ticketOutbox);
+        }
+
+        @Test
+        @DisplayName("updateStatus(expectedStatus) -> тикета нет: TicketNotFoundException, а не конфликт")
+        void update_expected_notFound() {
+            UUID id = UUID.randomUUID();
+            when(statusRepository.updateStatus(eq(id), eq(SupportTicketStatus.CLOSED), eq(SupportTicketStatus.NEW), any(Instant.class)))
+                    .thenReturn(Optional.empty());
+            when(statusRepository.findStatus(id)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> service.updateStatus(id, SupportTicketStatus.NEW))
+            assertThatThrownBy(() -> service.updateStatus(id, SupportTicketStatus.CLOSED, SupportTicketStatus.NEW))
                     .isInstanceOf(TicketNotFoundException.class);
+        }
+    }
+
+    @Nested
+    class UpdateStatuses {
+
+        @Test
+        @DisplayName("updateStatuses(ids) -> один UPDATE по id, события outbox и метрики по каждому переходу")
+        void byIds() {
+            List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+            var changed = List.of(
+                    transition(SupportTicketStatus.NEW, SupportTicketStatus.CLOSED),
+                    transition(SupportTicketStatus.IN_PROGRESS, SupportTicketStatus.CLOSED));
+            when(statusRepository.updateStatusByIds(eq(ids), eq(SupportTicketStatus.CLOSED), any(Instant.class)))
+                    .thenReturn(changed);
+
+            BulkStatusUpdateResponse out = service.updateStatuses(
+                    new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED, ids, null, null));
+
+            assertThat(out).isEqualTo(new BulkStatusUpdateResponse(2, false));
+            ArgumentCaptor<Instant> updatedAt = ArgumentCaptor.forClass(Instant.class);
+            verify(statusRepository).updateStatusByIds(eq(ids), eq(SupportTicketStatus.CLOSED), updatedAt.capture());
+            verify(ticketOutbox).ticketStatusesChanged(changed, updatedAt.getValue());
+            verify(ticketStatusCounters).ticketStatusesChanged(changed);
+            verifyNoInteractions(repository);
+            assertThat(meterRegistry.get(SupportMetrics.TICKET_STATUS_CHANGED).tags("from", "NEW", "to", "CLOSED").counter().count())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get(SupportMetrics.TICKET_STATUS_BULK_UPDATE).tags("status", "CLOSED", "outcome", "success").timer().count())
+                    .isEqualTo(1);
+        }
 
-            verify(repository).findById(eq(id));
-            verify(repository, never()).save(any());
-            verifyNoInteractions(mapper);
+        @Test
+        @DisplayName("updateStatuses(filter) -> UPDATE по статусу и пресету с лимитом; полный лимит даёт hasMore")
+        void byFilter_hasMore() {
+            UUID presetId = UUID.randomUUID();
+            int limit = SupportTicketSuperAdminServiceImpl.MAX_BULK_STATUS_SIZE;
+            var changed = Collections.nCopies(limit, transition(SupportTicketStatus.NEW, SupportTicketStatus.CLOSED));
+            when(statusRepository.updateStatusByFilter(eq(SupportTicketStatus.NEW), eq(presetId), eq(SupportTicketStatus.CLOSED),
+                    any(Instant.class), eq(limit))).thenReturn(changed);
+
+            BulkStatusUpdateResponse out = service.updateStatuses(
+                    new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED, null, SupportTicketStatus.NEW, presetId));
+
+            assertThat(out).isEqualTo(new BulkStatusUpdateResponse(limit, true));
+            verify(ticketOutbox).ticketStatusesChanged(eq(changed), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("updateStatuses -> неоднозначный или пустой выбор тикетов: IllegalArgumentException, без запросов")
+        void invalidRequests() {
+            UUID id = UUID.randomUUID();
+            var tooMany = Collections.nCopies(SupportTicketSuperAdminServiceImpl.MAX_BULK_STATUS_SIZE + 1, id);
+
+            assertThatThrownBy(() -> service.updateStatuses(new BulkStatusUpdateRequest(null, List.of(id), null, null)))
+                    .isInstanceOf(IllegalArgumentException.class).hasMessage("Status is required");
+            assertThatThrownBy(() -> service.updateStatuses(new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED, List.of(), null, null)))
+                    .isInstanceOf(IllegalArgumentException.class).hasMessage("Either ticketIds or currentStatus is required");
+            assertThatThrownBy(() -> service.updateStatuses(new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED, List.of(id),
+                    SupportTicketStatus.NEW, null)))
+                    .isInstanceOf(IllegalArgumentException.class).hasMessage("Either ticketIds or currentStatus is required");
+            assertThatThrownBy(() -> service.updateStatuses(new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED, List.of(id),
+                    null, UUID.randomUUID())))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.updateStatuses(new BulkStatusUpdateRequest(SupportTicketStatus.CLOSED, tooMany, null, null)))
+                    .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("<= 500");
+
+            verifyNoInteractions(statusRepository, ticketOutbox);
         }
     }
 }
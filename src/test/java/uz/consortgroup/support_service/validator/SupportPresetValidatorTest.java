@@ -4,27 +4,19 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
-import uz.consortgroup.support_service.entity.SupportIssuePreset;
-import uz.consortgroup.support_service.repository.SupportIssuePresetRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
-import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class SupportPresetValidatorTest {
 
-    @Mock
-    private SupportIssuePresetRepository repository;
-
     @InjectMocks
     private SupportPresetValidator validator;
 
@@ -65,80 +57,29 @@ class SupportPresetValidatorTest {
     }
 
     @Nested
-    class EnsureUniqueOnCreate {
+    class TranslateUniqueViolation {
 
         @Test
-        @DisplayName("unique -> OK (no exception)")
-        void unique_ok() {
-            when(repository.existsByRoleAndTextIgnoreCase(UserRole.MENTOR, "abc")).thenReturn(false);
-            validator.ensureUniqueOnCreate(UserRole.MENTOR, "abc");
-            verify(repository).existsByRoleAndTextIgnoreCase(UserRole.MENTOR, "abc");
-            verifyNoMoreInteractions(repository);
-        }
+        @DisplayName("violation of ux_support_issue_presets_role_lower_text -> IllegalArgumentException")
+        void uniqueText_translated() {
+            var cause = new ConstraintViolationException("duplicate key", new SQLException("duplicate key"),
+                    "ux_support_issue_presets_role_lower_text");
+            var ex = new DataIntegrityViolationException("could not execute statement", cause);
 
-        @Test
-        @DisplayName("duplicate -> throws")
-        void duplicate_throw() {
-            when(repository.existsByRoleAndTextIgnoreCase(UserRole.MENTOR, "abc")).thenReturn(true);
+            RuntimeException out = validator.translateUniqueViolation(ex);
 
-            assertThatThrownBy(() -> validator.ensureUniqueOnCreate(UserRole.MENTOR, "abc"))
+            assertThat(out)
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("Preset with same text already exists for this role");
-
-            verify(repository).existsByRoleAndTextIgnoreCase(UserRole.MENTOR, "abc");
-            verifyNoMoreInteractions(repository);
         }
-    }
-
-    @Nested
-    class EnsureUniqueOnUpdate {
 
         @Test
-        @DisplayName("same text (case-insensitive) -> does NOT query repo, OK")
-        void sameText_ok() {
-            var existing = SupportIssuePreset.builder()
-                    .role(UserRole.ADMIN)
-                    .text("One Text")
-                    .build();
-
-            validator.ensureUniqueOnUpdate(existing, "one text");
-
-            verify(repository, never()).existsByRoleAndTextIgnoreCase(any(), any());
-            verifyNoMoreInteractions(repository);
-        }
-
-        @Test
-        @DisplayName("changed text and unique -> queries repo, OK")
-        void changed_unique_ok() {
-            var existing = SupportIssuePreset.builder()
-                    .role(UserRole.HR)
-                    .text("Old")
-                    .build();
-
-            when(repository.existsByRoleAndTextIgnoreCase(UserRole.HR, "New")).thenReturn(false);
-
-            validator.ensureUniqueOnUpdate(existing, "New");
-
-            verify(repository).existsByRoleAndTextIgnoreCase(UserRole.HR, "New");
-            verifyNoMoreInteractions(repository);
-        }
-
-        @Test
-        @DisplayName("changed text but duplicate -> throws")
-        void changed_duplicate_throw() {
-            var existing = SupportIssuePreset.builder()
-                    .role(UserRole.MENTOR)
-                    .text("Old")
-                    .build();
-
-            when(repository.existsByRoleAndTextIgnoreCase(UserRole.MENTOR, "New")).thenReturn(true);
-
-            assertThatThrownBy(() -> validator.ensureUniqueOnUpdate(existing, "New"))
-                    .isInstanceOf(IllegalArgumentException.class)
-                    .hasMessage("Preset with same text already exists for this role");
+        @DisplayName("other constraint -> original exception")
+        void otherConstraint_passThrough() {
+            var cause = new ConstraintViolationException("not null", new SQLException("not null"), "support_issue_presets_pkey");
+            var ex = new DataIntegrityViolationException("could not execute statement", cause);
 
-            verify(repository).existsByRoleAndTextIgnoreCase(UserRole.MENTOR, "New");
-            verifyNoMoreInteractions(repository);
+            assertThat(validator.translateUniqueViolation(ex)).isSameAs(ex);
         }
     }
 }
@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uz.consortgroup.core.api.v1.dto.user.enumeration.UserRole;
+import uz.consortgroup.support_service.cache.CachedPreset;
 import uz.consortgroup.support_service.entity.SupportIssuePreset;
 import uz.consortgroup.support_service.service.SupportIssuePresetService;
 
@@ -48,13 +49,13 @@ class SupportTicketValidatorTest {
     @DisplayName("validatePresetOrThrow: not found -> throws 'Preset not found'")
     void validatePreset_notFound_throws() {
         UUID id = UUID.randomUUID();
-        when(presetService.findSelectedIssueId(id)).thenReturn(Optional.empty());
+        when(presetService.findIndexedPreset(id)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> validator.validatePresetOrThrow(id, UserRole.MENTOR))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Preset not found");
 
-        verify(presetService).findSelectedIssueId(eq(id));
+        verify(presetService).findIndexedPreset(eq(id));
         verifyNoMoreInteractions(presetService);
     }
 
@@ -62,20 +63,14 @@ class SupportTicketValidatorTest {
     @DisplayName("validatePresetOrThrow: inactive -> throws 'Preset is not available for this role'")
     void validatePreset_inactive_throws() {
         UUID id = UUID.randomUUID();
-        var preset = SupportIssuePreset.builder()
-                .id(id)
-                .role(UserRole.MENTOR)
-                .text("T")
-                .sortOrder(1)
-                .active(false)
-                .build();
-        when(presetService.findSelectedIssueId(id)).thenReturn(Optional.of(preset));
+        var preset = new CachedPreset(id, UserRole.MENTOR, "T", 1, false);
+        when(presetService.findIndexedPreset(id)).thenReturn(Optional.of(preset));
 
         assertThatThrownBy(() -> validator.validatePresetOrThrow(id, UserRole.MENTOR))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Preset is not available for this role");
 
-        verify(presetService).findSelectedIssueId(eq(id));
+        verify(presetService).findIndexedPreset(eq(id));
         verifyNoMoreInteractions(presetService);
     }
 
@@ -83,40 +78,31 @@ class SupportTicketValidatorTest {
     @DisplayName("validatePresetOrThrow: role mismatch -> throws 'Preset is not available for this role'")
     void validatePreset_roleMismatch_throws() {
         UUID id = UUID.randomUUID();
-        var preset = SupportIssuePreset.builder()
-                .id(id)
-                .role(UserRole.ADMIN)
-                .text("T")
-                .sortOrder(1)
-                .active(true)
-                .build();
-        when(presetService.findSelectedIssueId(id)).thenReturn(Optional.of(preset));
+        var preset = new CachedPreset(id, UserRole.ADMIN, "T", 1, true);
+        when(presetService.findIndexedPreset(id)).thenReturn(Optional.of(preset));
 
         assertThatThrownBy(() -> validator.validatePresetOrThrow(id, UserRole.HR))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Preset is not available for this role");
 
-        verify(presetService).findSelectedIssueId(eq(id));
+        verify(presetService).findIndexedPreset(eq(id));
         verifyNoMoreInteractions(presetService);
     }
 
     @Test
-    @DisplayName("validatePresetOrThrow: ok (active + same role) -> returns preset")
+    @DisplayName("validatePresetOrThrow: ok (active + same role) -> returns reference without loading preset")
     void validatePreset_ok() {
         UUID id = UUID.randomUUID();
-        var preset = SupportIssuePreset.builder()
-                .id(id)
-                .role(UserRole.MENTOR)
-                .text("T")
-                .sortOrder(1)
-                .active(true)
-                .build();
-        when(presetService.findSelectedIssueId(id)).thenReturn(Optional.of(preset));
+        var indexed = new CachedPreset(id, UserRole.MENTOR, "T", 1, true);
+        var reference = SupportIssuePreset.builder().id(id).build();
+        when(presetService.findIndexedPreset(id)).thenReturn(Optional.of(indexed));
+        when(presetService.getPresetReference(id)).thenReturn(reference);
 
         var out = validator.validatePresetOrThrow(id, UserRole.MENTOR);
 
-        assertThat(out).isSameAs(preset);
-        verify(presetService).findSelectedIssueId(eq(id));
+        assertThat(out).isSameAs(reference);
+        verify(presetService).findIndexedPreset(eq(id));
+        verify(presetService).getPresetReference(eq(id));
         verifyNoMoreInteractions(presetService);
     }
 